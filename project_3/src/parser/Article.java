@@ -14,6 +14,8 @@ class Article {
     private final String urlToImage;
     private final String publishedAt;
     private final String content;
+    // The text fields as they were in the feed, kept only when normalization changed at least one of them.
+    private final String[] raw;
 
     // Could make Private if not testing for each field of the Article class in the test cases
     @JsonCreator
@@ -26,7 +28,18 @@ class Article {
             @JsonProperty("urlToImage") String urlToImage,
             @JsonProperty("publishedAt") String publishedAt,
             @JsonProperty("content") String content) {
+        this(source, author, title, description, url, urlToImage, publishedAt, content, null);
+    }
 
+    /**
+     * Creates an article whose text fields were cleaned by TextNormalizer while it was read.
+     *
+     * @param raw the author, title, description and content as they were in the feed, at the
+     *            TextNormalizer.AUTHOR, TITLE, DESCRIPTION and CONTENT indexes; null if cleaning changed none of them.
+     */
+    Article(Source source, String author, String title, String description, String url, String urlToImage,
+            String publishedAt, String content, String[] raw) {
+        this.raw = raw;
         this.source = source;
         this.author = author;
         this.title = title;
@@ -37,6 +50,146 @@ class Article {
         this.content = content;
     }
 
+    /**
+     * Retrieves the source of the article.
+     *
+     * @return the Source of the article; may be null.
+     */
+    Source getSource() {
+        return source;
+    }
+
+    /**
+     * Retrieves the author of the article.
+     *
+     * @return the author; may be null.
+     */
+    String getAuthor() {
+        return author;
+    }
+
+    /**
+     * Retrieves the title of the article.
+     *
+     * @return the title; may be null.
+     */
+    String getTitle() {
+        return title;
+    }
+
+    /**
+     * Retrieves the description of the article.
+     *
+     * @return the description; may be null.
+     */
+    String getDescription() {
+        return description;
+    }
+
+    /**
+     * Retrieves the URL of the article.
+     *
+     * @return the URL; may be null.
+     */
+    String getUrl() {
+        return url;
+    }
+
+    /**
+     * Retrieves the URL of the article's image.
+     *
+     * @return the image URL; may be null.
+     */
+    String getUrlToImage() {
+        return urlToImage;
+    }
+
+    /**
+     * Retrieves the published date of the article as sent by the source.
+     *
+     * @return the published date text; may be null.
+     */
+    String getPublishedAt() {
+        return publishedAt;
+    }
+
+    /**
+     * Retrieves the content of the article.
+     *
+     * @return the content; may be null.
+     */
+    String getContent() {
+        return content;
+    }
+
+    /**
+     * Retrieves the author as it was in the feed, before tags and entities were cleaned out.
+     *
+     * @return the raw author; the same as getAuthor() if it needed no cleaning.
+     */
+    String getRawAuthor() {
+        return raw == null || raw[TextNormalizer.AUTHOR] == null ? author : raw[TextNormalizer.AUTHOR];
+    }
+
+    /**
+     * Retrieves the title as it was in the feed, before tags and entities were cleaned out.
+     *
+     * @return the raw title; the same as getTitle() if it needed no cleaning.
+     */
+    String getRawTitle() {
+        return raw == null || raw[TextNormalizer.TITLE] == null ? title : raw[TextNormalizer.TITLE];
+    }
+
+    /**
+     * Retrieves the description as it was in the feed, before tags and entities were cleaned out.
+     *
+     * @return the raw description; the same as getDescription() if it needed no cleaning.
+     */
+    String getRawDescription() {
+        return raw == null || raw[TextNormalizer.DESCRIPTION] == null ? description : raw[TextNormalizer.DESCRIPTION];
+    }
+
+    /**
+     * Retrieves the content as it was in the feed, before tags, entities and the truncation marker
+     * were cleaned out.
+     *
+     * @return the raw content; the same as getContent() if it needed no cleaning.
+     */
+    String getRawContent() {
+        return raw == null || raw[TextNormalizer.CONTENT] == null ? content : raw[TextNormalizer.CONTENT];
+    }
+
+    /**
+     * Cleans the text fields of an article that was bound without normalization, such as by databind.
+     *
+     * @return an article with the author, title, description and content cleaned by TextNormalizer
+     *         and the originals kept as its raw values, or this article if none of them needed cleaning.
+     */
+    Article normalized() {
+        return normalized(TextNormalizer.clean(title));
+    }
+
+    /**
+     * Cleans the text fields as normalized() does, reusing a title that was already cleaned.
+     *
+     * @param cleanedTitle the result of TextNormalizer.clean(getTitle()).
+     * @return the normalized article, or this article if none of its text fields needed cleaning.
+     */
+    Article normalized(String cleanedTitle) {
+        String[] original = {author, title, description, content};
+        String[] cleaned = new String[original.length];
+        boolean changed = false;
+        for (int i = 0; i < original.length; i++) {
+            cleaned[i] = i == TextNormalizer.TITLE ? cleanedTitle : TextNormalizer.clean(original[i]);
+            changed |= cleaned[i] != original[i];
+        }
+        if (!changed) {
+            return this;
+        }
+        return new Article(source, cleaned[TextNormalizer.AUTHOR], cleaned[TextNormalizer.TITLE],
+                cleaned[TextNormalizer.DESCRIPTION], url, urlToImage, publishedAt, cleaned[TextNormalizer.CONTENT], original);
+    }
+
     /**
      * Checks whether the article has all the required fields.
      *
@@ -86,7 +239,8 @@ class Article {
      * Compares this Article object to another object for equality (for testing).
      *
      * Two Article objects are considered equal if all their fields (source, author,
-     * title, description, URL, urlToImage, publishedAt, and content) are equal.
+     * title, description, URL, urlToImage, publishedAt, and content) are equal. The raw values
+     * kept from normalization are not compared.
      *
      * @param o the object to compare this Article against
      * @return true if the given object is an Article and is equal to this Article;
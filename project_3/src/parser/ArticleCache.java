@@ -0,0 +1,449 @@
+package parser;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+class ArticleCache {
+    private static final int BLOCK_SIZE = 128;
+    private static final int NONE = -1;
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * Creates a cache striped over enough segments for the available processors.
+     *
+     * @param maxEntries the most articles the cache holds.
+     * @param maxBytes   the most off-heap bytes the serialized articles may take.
+     */
+    ArticleCache(int maxEntries, long maxBytes) {
+        this(maxEntries, maxBytes, defaultStripes(maxEntries));
+    }
+
+    /**
+     * Creates a cache with a given number of segments, each guarded by its own lock.
+     *
+     * @param maxEntries the most articles the cache holds.
+     * @param maxBytes   the most off-heap bytes the serialized articles may take.
+     * @param stripes    the number of segments; a power of two.
+     */
+    ArticleCache(int maxEntries, long maxBytes, int stripes) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripes must be a power of two: " + stripes);
+        }
+        long blocks = maxBytes / BLOCK_SIZE / stripes;
+        if (maxEntries < stripes || blocks < 1 || blocks * BLOCK_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cannot split " + maxEntries + " entries and " + maxBytes
+                    + " bytes over " + stripes + " segments");
+        }
+        segments = new Segment[stripes];
+        for (int i = 0; i < stripes; i++) {
+            segments[i] = new Segment(maxEntries / stripes, (int) blocks);
+        }
+    }
+
+    /**
+     * Looks up an article by its URL.
+     *
+     * @param url the article URL.
+     * @return the cached article, or null if it is not cached.
+     */
+    Article get(String url) {
+        long hash = hash(url);
+        byte[] record = segmentFor(hash).read(hash);
+        Article article = record == null ? null : ArticleCodec.decode(record, 0);
+        // Two URLs with the same 64-bit hash share a slot; the stored URL decides which one it holds.
+        if (article == null || !url.equals(article.getUrl())) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return article;
+    }
+
+    /**
+     * Stores an article under its URL, replacing any article cached for the same URL.
+     *
+     * @param article the article to cache; must have a URL.
+     * @return true if the article was stored; false if it is larger than a whole segment.
+     */
+    boolean put(Article article) {
+        long hash = hash(article.getUrl());
+        byte[] record = ArticleCodec.encode(article);
+        if (!segmentFor(hash).write(hash, record)) {
+            rejections.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the number of cached articles.
+     *
+     * @return the number of entries across all segments.
+     */
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Retrieves the number of lookups that found an article.
+     *
+     * @return the hit count.
+     */
+    long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Retrieves the number of lookups that found nothing.
+     *
+     * @return the miss count.
+     */
+    long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieves the fraction of lookups that found an article.
+     *
+     * @return the hit ratio from 0 to 1, or 0 if there were no lookups.
+     */
+    double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Retrieves the number of articles removed to make room, including newcomers that lost admission.
+     *
+     * @return the eviction count.
+     */
+    long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Retrieves the number of articles that were too large to cache at all.
+     *
+     * @return the rejection count.
+     */
+    long getRejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * Retrieves the number of bytes reserved off-heap for serialized articles.
+     *
+     * @return the total capacity of the segment buffers.
+     */
+    long offHeapBytes() {
+        long total = 0;
+        for (Segment segment : segments) {
+            total += segment.data.capacity();
+        }
+        return total;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) hash & (segments.length - 1)];
+    }
+
+    private static int defaultStripes(int maxEntries) {
+        int stripes = 1;
+        while (stripes < 4 * Runtime.getRuntime().availableProcessors() && maxEntries / (stripes * 2) >= 64) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    /**
+     * Hashes a URL to 64 bits with FNV-1a followed by a finalizing mix.
+     *
+     * @param url the URL to hash.
+     * @return the hash.
+     */
+    static long hash(String url) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < url.length(); i++) {
+            h = (h ^ url.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ h >>> 33;
+    }
+
+    /**
+     * One lock-guarded part of the cache. Records live in fixed-size off-heap blocks chained together;
+     * the index, queues and block chains are primitive arrays, so a cached article costs the heap only a
+     * few dozen bytes.
+     *
+     * Eviction follows W-TinyLFU: newcomers enter a small LRU window, and when room is needed the
+     * window's oldest entry is admitted to the main space only if the frequency sketch has seen it more
+     * often than the main space's victim. The main space is a segmented LRU whose protected part holds
+     * entries read again after admission.
+     */
+    private final class Segment {
+        private final ByteBuffer data;
+        private final ByteBuffer view;
+        private final int[] nextBlock;
+        private final int totalBlocks;
+        private int freeBlockHead;
+        private int freeBlocks;
+
+        private final long[] hashes;
+        private final int[] firstBlocks;
+        private final int[] lengths;
+        private final int[] prev;
+        private final int[] next;
+        private final byte[] queues;
+        private int freeEntryHead;
+        private int size;
+
+        private final int[] heads = {NONE, NONE, NONE};
+        private final int[] tails = {NONE, NONE, NONE};
+        private final int[] sizes = new int[3];
+        private final int windowMax;
+        private final int protectedMax;
+
+        private final long[] tableHashes;
+        private final int[] tableEntries;
+        private final FrequencySketch sketch;
+
+        Segment(int maxEntries, int blocks) {
+            data = ByteBuffer.allocateDirect(blocks * BLOCK_SIZE);
+            view = data.duplicate();
+            totalBlocks = blocks;
+            nextBlock = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                nextBlock[i] = i + 1 < blocks ? i + 1 : NONE;
+            }
+            freeBlocks = blocks;
+
+            hashes = new long[maxEntries];
+            firstBlocks = new int[maxEntries];
+            lengths = new int[maxEntries];
+            prev = new int[maxEntries];
+            next = new int[maxEntries];
+            queues = new byte[maxEntries];
+            for (int i = 0; i < maxEntries; i++) {
+                next[i] = i + 1 < maxEntries ? i + 1 : NONE;
+            }
+
+            windowMax = Math.max(1, maxEntries / 100);
+            protectedMax = (maxEntries - windowMax) * 4 / 5;
+
+            int tableSize = Integer.highestOneBit(Math.max(maxEntries, 2) * 2 - 1) << 1;
+            tableHashes = new long[tableSize];
+            tableEntries = new int[tableSize];
+            Arrays.fill(tableEntries, NONE);
+            sketch = new FrequencySketch(maxEntries);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized byte[] read(long hash) {
+            sketch.increment(hash);
+            int entry = find(hash);
+            if (entry == NONE) {
+                return null;
+            }
+            onAccess(entry);
+            byte[] record = new byte[lengths[entry]];
+            int position = 0;
+            for (int block = firstBlocks[entry]; block != NONE; block = nextBlock[block]) {
+                int length = Math.min(BLOCK_SIZE, record.length - position);
+                view.position(block * BLOCK_SIZE);
+                view.get(record, position, length);
+                position += length;
+            }
+            return record;
+        }
+
+        synchronized boolean write(long hash, byte[] record) {
+            int blocksNeeded = Math.max(1, (record.length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+            if (blocksNeeded > totalBlocks) {
+                return false;
+            }
+            sketch.increment(hash);
+            byte queue = WINDOW;
+            int entry = find(hash);
+            if (entry != NONE) {
+                queue = queues[entry];
+                remove(entry);
+            }
+            while (freeEntryHead == NONE || freeBlocks < blocksNeeded) {
+                evictOne();
+            }
+
+            entry = freeEntryHead;
+            freeEntryHead = next[entry];
+            size++;
+            hashes[entry] = hash;
+            lengths[entry] = record.length;
+            firstBlocks[entry] = store(record, blocksNeeded);
+            indexPut(hash, entry);
+            pushHead(queue, entry);
+            while (sizes[WINDOW] > windowMax) {
+                int overflow = tails[WINDOW];
+                unlink(overflow);
+                pushHead(PROBATION, overflow);
+            }
+            return true;
+        }
+
+        private void onAccess(int entry) {
+            switch (queues[entry]) {
+                case PROBATION:
+                    unlink(entry);
+                    pushHead(PROTECTED, entry);
+                    if (sizes[PROTECTED] > protectedMax) {
+                        int demoted = tails[PROTECTED];
+                        unlink(demoted);
+                        pushHead(PROBATION, demoted);
+                    }
+                    break;
+                default:
+                    unlink(entry);
+                    pushHead(queues[entry], entry);
+            }
+        }
+
+        private void evictOne() {
+            int candidate = sizes[WINDOW] >= windowMax ? tails[WINDOW] : NONE;
+            int victim = tails[PROBATION] != NONE ? tails[PROBATION] : tails[PROTECTED];
+            if (candidate == NONE && victim == NONE) {
+                candidate = tails[WINDOW];
+            }
+            if (candidate != NONE && victim != NONE) {
+                if (sketch.frequency(hashes[candidate]) > sketch.frequency(hashes[victim])) {
+                    remove(victim);
+                    unlink(candidate);
+                    pushHead(PROBATION, candidate);
+                } else {
+                    remove(candidate);
+                }
+            } else {
+                remove(candidate != NONE ? candidate : victim);
+            }
+            evictions.increment();
+        }
+
+        private void remove(int entry) {
+            unlink(entry);
+            indexRemove(hashes[entry]);
+            int block = firstBlocks[entry];
+            while (block != NONE) {
+                int following = nextBlock[block];
+                nextBlock[block] = freeBlockHead;
+                freeBlockHead = block;
+                freeBlocks++;
+                block = following;
+            }
+            next[entry] = freeEntryHead;
+            freeEntryHead = entry;
+            size--;
+        }
+
+        private int store(byte[] record, int blocksNeeded) {
+            int first = freeBlockHead;
+            int block = NONE;
+            for (int i = 0; i < blocksNeeded; i++) {
+                block = freeBlockHead;
+                freeBlockHead = nextBlock[block];
+                int offset = i * BLOCK_SIZE;
+                view.position(block * BLOCK_SIZE);
+                view.put(record, offset, Math.min(BLOCK_SIZE, record.length - offset));
+            }
+            nextBlock[block] = NONE;
+            freeBlocks -= blocksNeeded;
+            return first;
+        }
+
+        private void pushHead(byte queue, int entry) {
+            queues[entry] = queue;
+            prev[entry] = NONE;
+            next[entry] = heads[queue];
+            if (heads[queue] != NONE) {
+                prev[heads[queue]] = entry;
+            } else {
+                tails[queue] = entry;
+            }
+            heads[queue] = entry;
+            sizes[queue]++;
+        }
+
+        private void unlink(int entry) {
+            byte queue = queues[entry];
+            if (prev[entry] != NONE) {
+                next[prev[entry]] = next[entry];
+            } else {
+                heads[queue] = next[entry];
+            }
+            if (next[entry] != NONE) {
+                prev[next[entry]] = prev[entry];
+            } else {
+                tails[queue] = prev[entry];
+            }
+            sizes[queue]--;
+        }
+
+        private int home(long hash) {
+            return (int) (hash >>> 32) & (tableEntries.length - 1);
+        }
+
+        private int find(long hash) {
+            int mask = tableEntries.length - 1;
+            for (int slot = home(hash); tableEntries[slot] != NONE; slot = (slot + 1) & mask) {
+                if (tableHashes[slot] == hash) {
+                    return tableEntries[slot];
+                }
+            }
+            return NONE;
+        }
+
+        private void indexPut(long hash, int entry) {
+            int mask = tableEntries.length - 1;
+            int slot = home(hash);
+            while (tableEntries[slot] != NONE) {
+                slot = (slot + 1) & mask;
+            }
+            tableHashes[slot] = hash;
+            tableEntries[slot] = entry;
+        }
+
+        private void indexRemove(long hash) {
+            int mask = tableEntries.length - 1;
+            int gap = home(hash);
+            while (tableHashes[gap] != hash || tableEntries[gap] == NONE) {
+                gap = (gap + 1) & mask;
+            }
+            tableEntries[gap] = NONE;
+            // Shift later entries of the probe run back so that lookups never stop at the hole.
+            for (int slot = (gap + 1) & mask; tableEntries[slot] != NONE; slot = (slot + 1) & mask) {
+                if (((slot - home(tableHashes[slot])) & mask) >= ((slot - gap) & mask)) {
+                    tableHashes[gap] = tableHashes[slot];
+                    tableEntries[gap] = tableEntries[slot];
+                    tableEntries[slot] = NONE;
+                    gap = slot;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class ArticleCacheTest {
+
+    /**
+     * Tests that cached articles come back unchanged, including null fields, and that lookups are counted.
+     */
+    @Test
+    void testPutAndGet() throws IOException {
+        List<Article> articles = new NewsParser(fromFile("inputs/newsapi.txt")).parse();
+        ArticleCache cache = new ArticleCache(1000, 1 << 20);
+        articles.forEach(cache::put);
+        Article noSource = new Article(null, null, "t", null, "https://example.com/x", null, "p", null);
+        cache.put(noSource);
+
+        for (Article article : articles) {
+            assertEquals(article, cache.get(article.getUrl()));
+        }
+        assertEquals(noSource, cache.get(noSource.getUrl()));
+        assertNull(cache.get("https://example.com/missing"));
+        assertEquals(articles.size() + 1, cache.size());
+        assertEquals(articles.size() + 1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    /**
+     * Tests that cached articles keep the raw text that normalization replaced.
+     */
+    @Test
+    void testKeepsRawValues() throws IOException {
+        ArticleCache cache = new ArticleCache(1000, 1 << 20);
+        Article article = new Article(null, "By <b>Ann</b>", "Title &amp; more", "Plain", "https://example.com/raw",
+                null, "p", "<p>Body</p>").normalized();
+        cache.put(article);
+
+        Article cached = cache.get(article.getUrl());
+        assertEquals("By Ann", cached.getAuthor());
+        assertEquals("By <b>Ann</b>", cached.getRawAuthor());
+        assertEquals("Title &amp; more", cached.getRawTitle());
+        assertSame(cached.getDescription(), cached.getRawDescription());
+        assertEquals("<p>Body</p>", cached.getRawContent());
+        for (Article parsed : new NewsParser(fromFile("inputs/newsapi.txt")).parse()) {
+            cache.put(parsed);
+            assertEquals(parsed.getRawAuthor(), cache.get(parsed.getUrl()).getRawAuthor());
+        }
+    }
+
+    /**
+     * Tests that the cache stays within its entry and byte bounds, and that oversized articles are rejected.
+     */
+    @Test
+    void testBounds() {
+        ArticleCache byEntries = new ArticleCache(100, 1 << 20, 1);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(byEntries.put(article(i, 10)));
+        }
+        assertEquals(100, byEntries.size());
+        assertEquals(900, byEntries.getEvictions());
+
+        ArticleCache byBytes = new ArticleCache(1000, 128 * 20, 1);
+        for (int i = 0; i < 100; i++) {
+            byBytes.put(article(i, 200));
+        }
+        int blocksPerArticle = (ArticleCodec.encode(article(0, 200)).length + 127) / 128;
+        assertEquals(20 / blocksPerArticle, byBytes.size());
+
+        assertFalse(byBytes.put(article(0, 5000)));
+        assertEquals(1, byBytes.getRejections());
+    }
+
+    /**
+     * Tests that frequently read articles survive a scan of articles that are only seen once.
+     */
+    @Test
+    void testFrequentArticlesSurviveScan() {
+        ArticleCache cache = new ArticleCache(200, 1 << 20, 1);
+        for (int i = 0; i < 100; i++) {
+            cache.put(article(i, 10));
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 100; i++) {
+                assertNotNull(cache.get(url(i)));
+            }
+        }
+        for (int i = 1000; i < 3000; i++) {
+            cache.put(article(i, 10));
+        }
+
+        int survivors = 0;
+        for (int i = 0; i < 100; i++) {
+            survivors += cache.get(url(i)) != null ? 1 : 0;
+        }
+        assertEquals(100, survivors);
+    }
+
+    /**
+     * Tests that random replacements and evictions never return another URL's article or a stale version.
+     */
+    @Test
+    void testRandomOperations() {
+        ArticleCache cache = new ArticleCache(64, 128 * 200, 1);
+        Map<String, Article> latest = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(300);
+            if (random.nextBoolean()) {
+                Article article = article(key, random.nextInt(400));
+                cache.put(article);
+                latest.put(article.getUrl(), article);
+            } else {
+                Article cached = cache.get(url(key));
+                if (cached != null) {
+                    assertEquals(latest.get(url(key)), cached);
+                }
+            }
+        }
+        assertTrue(cache.size() <= 64);
+    }
+
+    /**
+     * Tests concurrent access from several threads.
+     */
+    @Test
+    void testConcurrentAccess() throws InterruptedException {
+        ArticleCache cache = new ArticleCache(1000, 1 << 20, 4);
+        AtomicInteger wrong = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int seed = t;
+            Thread thread = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 20_000; i++) {
+                    int key = random.nextInt(2000);
+                    Article cached = cache.get(url(key));
+                    if (cached == null) {
+                        cache.put(article(key, 50));
+                    } else if (!cached.getUrl().equals(url(key))) {
+                        wrong.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, wrong.get());
+        assertTrue(cache.size() <= 1000);
+        assertEquals(80_000, cache.getHits() + cache.getMisses());
+    }
+
+    private static String url(int key) {
+        return "https://example.com/articles/" + key;
+    }
+
+    private static Article article(int key, int contentLength) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < contentLength; i++) {
+            content.append((char) ('a' + (key + i) % 26));
+        }
+        return new Article(new Source("s" + key % 5, "Source"), null, "Title " + key, "Description",
+                url(key), null, "2021-03-24T20:00:00Z", content.toString());
+    }
+}
@@ -0,0 +1,145 @@
+package parser;
+
+import java.nio.charset.StandardCharsets;
+
+class ArticleCodec {
+    private static final int FIELDS = 9;
+    private static final int RAW_FIELDS = 4;
+    private static final int HAS_SOURCE = 1;
+    private static final int HAS_RAW = 2 << FIELDS;
+
+    private ArticleCodec() {
+    }
+
+    /**
+     * Serializes an article into a compact record.
+     *
+     * The record starts with a two-byte mask telling whether the article has a source, which fields
+     * are null and whether raw values follow, then each non-null field as a varint length and its UTF-8
+     * bytes. If normalization changed any text field, a byte telling which raw values are kept follows,
+     * then each of them the same way, so the decoded article keeps its raw text. Field names are not
+     * written.
+     *
+     * @param article the article to serialize.
+     * @return the record bytes.
+     */
+    static byte[] encode(Article article) {
+        Source source = article.getSource();
+        String[] values = {
+                source == null ? null : source.getId(), source == null ? null : source.getName(),
+                article.getAuthor(), article.getTitle(), article.getDescription(), article.getUrl(),
+                article.getUrlToImage(), article.getPublishedAt(), article.getContent()
+        };
+        // Raw values are only kept where they differ, so an unchanged field is the same instance.
+        String[] raw = {
+                article.getRawAuthor() == article.getAuthor() ? null : article.getRawAuthor(),
+                article.getRawTitle() == article.getTitle() ? null : article.getRawTitle(),
+                article.getRawDescription() == article.getDescription() ? null : article.getRawDescription(),
+                article.getRawContent() == article.getContent() ? null : article.getRawContent()
+        };
+        byte[][] encoded = new byte[FIELDS + RAW_FIELDS][];
+        int mask = source == null ? 0 : HAS_SOURCE;
+        int rawMask = 0;
+        int length = 2;
+        for (int field = 0; field < FIELDS; field++) {
+            if (values[field] == null) {
+                mask |= 2 << field;
+            } else {
+                encoded[field] = values[field].getBytes(StandardCharsets.UTF_8);
+                length += varintLength(encoded[field].length) + encoded[field].length;
+            }
+        }
+        for (int field = 0; field < RAW_FIELDS; field++) {
+            if (raw[field] != null) {
+                rawMask |= 1 << field;
+                encoded[FIELDS + field] = raw[field].getBytes(StandardCharsets.UTF_8);
+                length += varintLength(encoded[FIELDS + field].length) + encoded[FIELDS + field].length;
+            }
+        }
+        if (rawMask != 0) {
+            mask |= HAS_RAW;
+            length++;
+        }
+
+        byte[] record = new byte[length];
+        record[0] = (byte) mask;
+        record[1] = (byte) (mask >>> 8);
+        int position = 2;
+        for (int field = 0; field < encoded.length; field++) {
+            if (field == FIELDS && rawMask != 0) {
+                record[position++] = (byte) rawMask;
+            }
+            byte[] value = encoded[field];
+            if (value != null) {
+                position = writeVarint(record, position, value.length);
+                System.arraycopy(value, 0, record, position, value.length);
+                position += value.length;
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Rebuilds an article from a record written by encode().
+     *
+     * @param record the array holding the record.
+     * @param offset the index of the record's first byte.
+     * @return the article, equal to the one that was encoded and with the same raw values.
+     */
+    static Article decode(byte[] record, int offset) {
+        int mask = (record[offset] & 0xFF) | (record[offset + 1] & 0xFF) << 8;
+        String[] values = new String[FIELDS];
+        int[] position = {offset + 2};
+        for (int field = 0; field < FIELDS; field++) {
+            if ((mask & 2 << field) == 0) {
+                values[field] = readString(record, position);
+            }
+        }
+        String[] raw = null;
+        if ((mask & HAS_RAW) != 0) {
+            int rawMask = record[position[0]++];
+            raw = new String[RAW_FIELDS];
+            for (int field = 0; field < RAW_FIELDS; field++) {
+                if ((rawMask & 1 << field) != 0) {
+                    raw[field] = readString(record, position);
+                }
+            }
+        }
+        Source source = (mask & HAS_SOURCE) != 0 ? new Source(values[0], values[1]) : null;
+        return new Article(source, values[2], values[3], values[4], values[5], values[6], values[7], values[8], raw);
+    }
+
+    /**
+     * Reads a varint length and that many UTF-8 bytes, advancing the position past them.
+     */
+    private static String readString(byte[] record, int[] position) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = record[position[0]++];
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        String value = new String(record, position[0], length, StandardCharsets.UTF_8);
+        position[0] += length;
+        return value;
+    }
+
+    private static int varintLength(int value) {
+        int length = 1;
+        while ((value >>>= 7) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    private static int writeVarint(byte[] record, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            record[position++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        record[position++] = (byte) value;
+        return position;
+    }
+}
@@ -0,0 +1,19 @@
+package parser;
+
+import java.io.IOException;
+
+interface ArticleCursor extends AutoCloseable {
+    /**
+     * Reads the next valid article, doing only as much parsing as that takes.
+     *
+     * @return the next Article, or null once the data is exhausted.
+     * @throws IOException if the data cannot be read or parsed.
+     */
+    Article next() throws IOException;
+
+    /**
+     * Releases whatever the cursor reads from. Further calls to next are not allowed.
+     */
+    @Override
+    void close();
+}
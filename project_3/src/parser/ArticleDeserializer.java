@@ -0,0 +1,260 @@
+package parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+class ArticleDeserializer {
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final int SOURCE = 1;
+    private static final int AUTHOR = 1 << 1;
+    private static final int TITLE = 1 << 2;
+    private static final int DESCRIPTION = 1 << 3;
+    private static final int URL = 1 << 4;
+    private static final int URL_TO_IMAGE = 1 << 5;
+    private static final int PUBLISHED_AT = 1 << 6;
+    private static final int CONTENT = 1 << 7;
+
+    private ArticleDeserializer() {
+    }
+
+    /**
+     * Binds a JSON document holding one article, as in the Simple format.
+     *
+     * @param document the JSON document.
+     * @return the same Article that ObjectMapper.readValue(document, Article.class) returns, with its
+     *         text fields normalized as by Article.normalized().
+     * @throws JsonProcessingException in the same cases, and with the same error, as ObjectMapper.readValue.
+     */
+    static Article read(String document) throws JsonProcessingException {
+        try (JsonParser parser = jsonFactory.createParser(document)) {
+            Article article = readDocument(parser);
+            if (article != null) {
+                return article;
+            }
+        } catch (IOException e) {
+            // Left to databind below, which reports the problem as it always has.
+        }
+        return normalized(objectMapper.readValue(document, Article.class));
+    }
+
+    /**
+     * Binds one article object held in part of a character array, such as an element of a NewsAPI
+     * "articles" array.
+     *
+     * @param chars  the characters of the document.
+     * @param offset the index of the article's first character.
+     * @param length the number of characters of the article.
+     * @return the same Article that ObjectMapper.readValue returns for those characters, with its text
+     *         fields normalized as by Article.normalized().
+     * @throws JsonProcessingException in the same cases, and with the same error, as ObjectMapper.readValue.
+     */
+    static Article read(char[] chars, int offset, int length) throws JsonProcessingException {
+        try (JsonParser parser = jsonFactory.createParser(chars, offset, length)) {
+            Article article = readDocument(parser);
+            if (article != null) {
+                return article;
+            }
+        } catch (IOException e) {
+            // Left to databind below, which reports the problem as it always has.
+        }
+        return normalized(objectMapper.readValue(new String(chars, offset, length), Article.class));
+    }
+
+    /**
+     * Normalizes an article bound by databind, which is null for a JSON null document.
+     *
+     * @param article the bound article; may be null.
+     * @return the normalized article, or null.
+     */
+    private static Article normalized(Article article) {
+        return article == null ? null : article.normalized();
+    }
+
+    private static Article readDocument(JsonParser parser) throws IOException {
+        return parser.nextToken() == JsonToken.START_OBJECT ? readArticle(parser) : null;
+    }
+
+    /**
+     * Reads the fields of an article object whose START_OBJECT is the current token.
+     *
+     * Field names are told apart by their length and first character, and each value goes straight
+     * into a local that becomes a creator argument. Anything this fast path does not cover exactly as
+     * databind does, namely unknown fields, repeated fields, and values that are not strings or null,
+     * makes it return null so the caller can bind with databind instead. The author, title,
+     * description and content are cleaned by TextNormalizer straight from the parser's character
+     * buffer, and the raw text of any that changed is kept on the article.
+     *
+     * @return the article, or null if databind has to bind it.
+     */
+    private static Article readArticle(JsonParser parser) throws IOException {
+        Source source = null;
+        String author = null;
+        String title = null;
+        String description = null;
+        String url = null;
+        String urlToImage = null;
+        String publishedAt = null;
+        String content = null;
+        String[] raw = null;
+        int seen = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            int field = field(name);
+            if (field == 0 || (seen & field) != 0) {
+                return null;
+            }
+            seen |= field;
+            if (field == SOURCE) {
+                if (value == JsonToken.START_OBJECT) {
+                    source = readSource(parser);
+                    if (source == null) {
+                        return null;
+                    }
+                } else if (value != JsonToken.VALUE_NULL) {
+                    return null;
+                }
+                continue;
+            }
+            if (value != JsonToken.VALUE_STRING && value != JsonToken.VALUE_NULL) {
+                return null;
+            }
+            String text = value == JsonToken.VALUE_NULL ? null : parser.getText();
+            int index = rawIndex(field);
+            if (text != null && index >= 0) {
+                String cleaned = TextNormalizer.clean(parser.getTextCharacters(), parser.getTextOffset(),
+                        parser.getTextLength());
+                if (cleaned != null) {
+                    if (raw == null) {
+                        raw = new String[4];
+                    }
+                    raw[index] = text;
+                    text = cleaned;
+                }
+            }
+            switch (field) {
+                case AUTHOR:
+                    author = text;
+                    break;
+                case TITLE:
+                    title = text;
+                    break;
+                case DESCRIPTION:
+                    description = text;
+                    break;
+                case URL:
+                    url = text;
+                    break;
+                case URL_TO_IMAGE:
+                    urlToImage = text;
+                    break;
+                case PUBLISHED_AT:
+                    publishedAt = text;
+                    break;
+                default:
+                    content = text;
+            }
+        }
+        return new Article(source, author, title, description, url, urlToImage, publishedAt, content, raw);
+    }
+
+    /**
+     * Maps a field's bit to the index its raw text is kept at.
+     *
+     * @return the TextNormalizer index, or -1 for a field that is not cleaned.
+     */
+    private static int rawIndex(int field) {
+        switch (field) {
+            case AUTHOR:
+                return TextNormalizer.AUTHOR;
+            case TITLE:
+                return TextNormalizer.TITLE;
+            case DESCRIPTION:
+                return TextNormalizer.DESCRIPTION;
+            case CONTENT:
+                return TextNormalizer.CONTENT;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Reads a source object whose START_OBJECT is the current token.
+     *
+     * @return the source, or null if databind has to bind it.
+     */
+    private static Source readSource(JsonParser parser) throws IOException {
+        String id = null;
+        String name = null;
+        boolean idSeen = false;
+        boolean nameSeen = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value != JsonToken.VALUE_STRING && value != JsonToken.VALUE_NULL) {
+                return null;
+            }
+            String text = value == JsonToken.VALUE_NULL ? null : parser.getText();
+            if (field.length() == 2 && field.equals("id") && !idSeen) {
+                id = text;
+                idSeen = true;
+            } else if (field.length() == 4 && field.equals("name") && !nameSeen) {
+                name = text;
+                nameSeen = true;
+            } else {
+                return null;
+            }
+        }
+        return new Source(id, name);
+    }
+
+    /**
+     * Maps a field name to its bit by length and first character, confirming the whole name only once.
+     *
+     * @return the field's bit, or 0 for a name that is not an Article property.
+     */
+    private static int field(String name) {
+        int field;
+        String expected;
+        switch (name.length()) {
+            case 3:
+                field = URL;
+                expected = "url";
+                break;
+            case 5:
+                field = TITLE;
+                expected = "title";
+                break;
+            case 6:
+                boolean isSource = name.charAt(0) == 's';
+                field = isSource ? SOURCE : AUTHOR;
+                expected = isSource ? "source" : "author";
+                break;
+            case 7:
+                field = CONTENT;
+                expected = "content";
+                break;
+            case 10:
+                field = URL_TO_IMAGE;
+                expected = "urlToImage";
+                break;
+            case 11:
+                boolean isDescription = name.charAt(0) == 'd';
+                field = isDescription ? DESCRIPTION : PUBLISHED_AT;
+                expected = isDescription ? "description" : "publishedAt";
+                break;
+            default:
+                return 0;
+        }
+        // Names come from Jackson's symbol table, so this is usually a reference comparison.
+        return name.equals(expected) ? field : 0;
+    }
+}
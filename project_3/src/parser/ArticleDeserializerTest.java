@@ -0,0 +1,117 @@
+package parser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class ArticleDeserializerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Tests that every file in inputs/, read as a Simple document, binds exactly as with databind.
+     */
+    @Test
+    void testInputDocumentsMatchDatabind() throws IOException {
+        String[] files = new File("inputs").list();
+        assertNotNull(files);
+        Arrays.sort(files);
+        for (String file : files) {
+            String json = fromFile("inputs/" + file);
+            assertSameResult(file, () -> objectMapper.readValue(json, Article.class), () -> ArticleDeserializer.read(json));
+        }
+    }
+
+    /**
+     * Tests that every object in every file in inputs/, including sources and whole documents, binds
+     * exactly as with databind when read from part of a character array.
+     */
+    @Test
+    void testInputObjectsMatchDatabind() throws IOException {
+        String[] files = new File("inputs").list();
+        assertNotNull(files);
+        for (String file : files) {
+            String json = fromFile("inputs/" + file);
+            char[] chars = json.toCharArray();
+            for (int start = json.indexOf('{'); start >= 0; start = json.indexOf('{', start + 1)) {
+                int end = RecoveringArticleReader.matchingBrace(json, start);
+                if (end < 0) {
+                    continue;
+                }
+                String object = json.substring(start, end + 1);
+                int offset = start;
+                assertSameResult(file + " at " + start, () -> objectMapper.readValue(object, Article.class),
+                        () -> ArticleDeserializer.read(chars, offset, object.length()));
+            }
+        }
+    }
+
+    /**
+     * Tests the cases the fast path hands over to databind, and a few it handles itself.
+     */
+    @Test
+    void testEdgeCasesMatchDatabind() {
+        String[] documents = {
+                "{}",
+                "{\"title\": \"t\", \"source\": null, \"author\": null}",
+                "{\"title\": \"caf\\u00e9 \\\"quoted\\\" \\n line\"}",
+                "{\"title\": 42, \"description\": 1.5, \"url\": true}",
+                "{\"author\": \"By <a href=\\\"x\\\">Ann</a>, CNN\", \"content\": \"Text\\r\\n more\u2026 [+12 chars]\"}",
+                "{\"title\": \"a\", \"title\": \"b\"}",
+                "{\"title\": \"a\", \"unknown\": 1}",
+                "{\"titles\": \"a\"}",
+                "{\"Title\": \"a\"}",
+                "{\"title\": [\"a\"]}",
+                "{\"title\": {\"a\": 1}}",
+                "{\"source\": {\"id\": \"cnn\"}}",
+                "{\"source\": {\"id\": 1, \"name\": \"CNN\"}}",
+                "{\"source\": {\"id\": \"cnn\", \"extra\": \"x\"}}",
+                "{\"source\": \"cnn\"}",
+                "{\"source\": []}",
+                "{\"title\": \"t\"} trailing",
+                "{\"title\": \"t\"",
+                "{\"title\": \"t\",}",
+                "[]",
+                "",
+                "null"
+        };
+        for (String document : documents) {
+            assertSameResult(document, () -> objectMapper.readValue(document, Article.class), () -> ArticleDeserializer.read(document));
+        }
+    }
+
+    private static void assertSameResult(String label, Binding expected, Binding actual) {
+        Article expectedArticle = null;
+        String expectedError = null;
+        try {
+            expectedArticle = expected.bind();
+        } catch (JsonProcessingException e) {
+            expectedError = e.getMessage();
+        }
+        try {
+            Article article = actual.bind();
+            assertNull(expectedError, label + ": databind failed with " + expectedError);
+            if (expectedArticle == null) {
+                assertNull(article, label);
+                return;
+            }
+            assertEquals(expectedArticle.normalized(), article, label);
+            assertEquals(expectedArticle.getAuthor(), article.getRawAuthor(), label);
+            assertEquals(expectedArticle.getTitle(), article.getRawTitle(), label);
+            assertEquals(expectedArticle.getDescription(), article.getRawDescription(), label);
+            assertEquals(expectedArticle.getContent(), article.getRawContent(), label);
+        } catch (JsonProcessingException e) {
+            assertEquals(expectedError, e.getMessage(), label);
+        }
+    }
+
+    private interface Binding {
+        Article bind() throws JsonProcessingException;
+    }
+}
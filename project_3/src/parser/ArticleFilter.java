@@ -0,0 +1,166 @@
+package parser;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+class ArticleFilter {
+    private static final ArticleFilter ALL = new ArticleFilter(null, Long.MIN_VALUE, Long.MAX_VALUE, null);
+
+    private final Set<String> sourceIds;
+    private final long fromMillis;
+    private final long toMillis;
+    private final String titleKeyword;
+
+    private ArticleFilter(Set<String> sourceIds, long fromMillis, long toMillis, String titleKeyword) {
+        this.sourceIds = sourceIds;
+        this.fromMillis = fromMillis;
+        this.toMillis = toMillis;
+        this.titleKeyword = titleKeyword;
+    }
+
+    /**
+     * Retrieves the filter that accepts every article.
+     *
+     * @return an ArticleFilter with no conditions, to be narrowed with the other methods.
+     */
+    static ArticleFilter all() {
+        return ALL;
+    }
+
+    /**
+     * Narrows this filter to articles from the given sources.
+     *
+     * @param ids the accepted Source ids.
+     * @return a new ArticleFilter that also requires one of the source ids.
+     */
+    ArticleFilter withSourceIds(String... ids) {
+        return new ArticleFilter(Collections.unmodifiableSet(new HashSet<>(Arrays.asList(ids))),
+                fromMillis, toMillis, titleKeyword);
+    }
+
+    /**
+     * Narrows this filter to articles published in a time window.
+     *
+     * @param fromMillis the start of the window in epoch milliseconds, inclusive.
+     * @param toMillis   the end of the window in epoch milliseconds, exclusive.
+     * @return a new ArticleFilter that also requires publishedAt to fall in the window.
+     */
+    ArticleFilter publishedBetween(long fromMillis, long toMillis) {
+        return new ArticleFilter(sourceIds, fromMillis, toMillis, titleKeyword);
+    }
+
+    /**
+     * Narrows this filter to articles whose title contains a keyword, ignoring case.
+     *
+     * @param keyword the keyword to look for.
+     * @return a new ArticleFilter that also requires the keyword in the title.
+     */
+    ArticleFilter titleContains(String keyword) {
+        return new ArticleFilter(sourceIds, fromMillis, toMillis, keyword);
+    }
+
+    /**
+     * Checks whether this filter has a condition on the Source id.
+     *
+     * @return true if only some sources are accepted.
+     */
+    boolean filtersSource() {
+        return sourceIds != null;
+    }
+
+    /**
+     * Checks whether this filter has a condition on publishedAt.
+     *
+     * @return true if only a time window is accepted.
+     */
+    boolean filtersTime() {
+        return fromMillis != Long.MIN_VALUE || toMillis != Long.MAX_VALUE;
+    }
+
+    /**
+     * Retrieves the start of the accepted time window.
+     *
+     * @return the start in epoch milliseconds, inclusive; Long.MIN_VALUE if there is no lower bound.
+     */
+    long getFromMillis() {
+        return fromMillis;
+    }
+
+    /**
+     * Retrieves the end of the accepted time window.
+     *
+     * @return the end in epoch milliseconds, exclusive; Long.MAX_VALUE if there is no upper bound.
+     */
+    long getToMillis() {
+        return toMillis;
+    }
+
+    /**
+     * Checks whether this filter has a condition on the title.
+     *
+     * @return true if a title keyword is required.
+     */
+    boolean filtersTitle() {
+        return titleKeyword != null;
+    }
+
+    /**
+     * Checks a Source id against this filter.
+     *
+     * @param id the id read from the article's source; may be null.
+     * @return true if the id is accepted.
+     */
+    boolean acceptsSourceId(String id) {
+        return sourceIds == null || (id != null && sourceIds.contains(id));
+    }
+
+    /**
+     * Checks a publishedAt value against this filter.
+     *
+     * @param publishedAt the published date text; may be null.
+     * @return true if the date is accepted.
+     */
+    boolean acceptsPublishedAt(String publishedAt) {
+        if (!filtersTime()) {
+            return true;
+        }
+        long millis = Timestamps.toEpochMillis(publishedAt);
+        return millis != Timestamps.UNKNOWN && millis >= fromMillis && millis < toMillis;
+    }
+
+    /**
+     * Checks a title against this filter without allocating a lower-cased copy.
+     *
+     * @param title the title read from the article; may be null.
+     * @return true if the title is accepted.
+     */
+    boolean acceptsTitle(String title) {
+        if (titleKeyword == null) {
+            return true;
+        }
+        if (title == null) {
+            return false;
+        }
+        int last = title.length() - titleKeyword.length();
+        for (int i = 0; i <= last; i++) {
+            if (title.regionMatches(true, i, titleKeyword, 0, titleKeyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks a fully bound article against every condition of this filter.
+     *
+     * @param article the article to check.
+     * @return true if the article is accepted.
+     */
+    boolean test(Article article) {
+        return acceptsSourceId(article.getSource() == null ? null : article.getSource().getId())
+                && acceptsPublishedAt(article.getPublishedAt())
+                && acceptsTitle(article.getTitle());
+    }
+}
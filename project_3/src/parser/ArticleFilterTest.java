@@ -0,0 +1,98 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class ArticleFilterTest {
+
+    /**
+     * Tests that pushing a filter into the parser gives the same articles as filtering afterwards.
+     */
+    @Test
+    void testPushdownMatchesPostFilter() throws IOException {
+        String json = fromFile("inputs/example.json");
+        NewsParser newsParser = new NewsParser(json);
+        List<Article> all = newsParser.parse();
+
+        ArticleFilter[] filters = {
+                ArticleFilter.all(),
+                ArticleFilter.all().withSourceIds("cnn", "the-hill"),
+                ArticleFilter.all().publishedBetween(Timestamps.toEpochMillis("2021-03-24T20:00:00Z"),
+                        Timestamps.toEpochMillis("2021-03-24T21:00:00Z")),
+                ArticleFilter.all().titleContains("CORONAVIRUS"),
+                ArticleFilter.all().withSourceIds("cnn").titleContains("coronavirus")
+        };
+
+        for (ArticleFilter filter : filters) {
+            List<Article> expected = all.stream().filter(filter::test).collect(Collectors.toList());
+            assertEquals(expected, newsParser.parse(filter));
+        }
+    }
+
+    /**
+     * Tests the individual conditions on the NewsAPI file.
+     */
+    @Test
+    void testConditions() throws IOException {
+        NewsParser newsParser = new NewsParser(fromFile("inputs/newsapi.txt"));
+
+        assertEquals(20, newsParser.parse(ArticleFilter.all()).size());
+        assertEquals(2, newsParser.parse(ArticleFilter.all().withSourceIds("cnn")).size());
+        assertEquals(0, newsParser.parse(ArticleFilter.all().withSourceIds("no-such-source")).size());
+        assertEquals(1, newsParser.parse(ArticleFilter.all().titleContains("bitcoin")).size());
+    }
+
+    /**
+     * Tests that articles without the filtered field are rejected.
+     */
+    @Test
+    void testMissingFieldIsRejected() throws IOException {
+        NewsParser newsParser = new NewsParser(fromFile("inputs/missing_valid.json"));
+
+        assertEquals(1, newsParser.parse(ArticleFilter.all()).size());
+        assertEquals(0, newsParser.parse(ArticleFilter.all().withSourceIds("cnn")).size());
+    }
+
+    /**
+     * Tests that articles databind would reject, for an unknown field or an object where text belongs,
+     * are left out with the filter pushed down just as they are without it.
+     */
+    @Test
+    void testPushdownRejectsWhatDatabindRejects() {
+        String[] extras = {"\"extra\": 1", "\"source\": {\"id\": \"cnn\", \"extra\": 1}", "\"author\": {}"};
+        for (String extra : extras) {
+            String data = "{\"articles\": [" + article("One", "\"author\": \"A\"") + ", "
+                    + article("Two", extra) + ", " + article("Three", "\"author\": \"C\"") + "]}";
+            NewsParser newsParser = new NewsParser(data);
+
+            List<Article> expected = newsParser.parse();
+            assertEquals(2, expected.size(), extra);
+            assertEquals(expected, newsParser.parse(ArticleFilter.all()), extra);
+        }
+    }
+
+    private static String article(String title, String extra) {
+        return "{\"title\": \"" + title + "\", \"description\": \"D\", \"url\": \"https://example.com/"
+                + title + "\", \"publishedAt\": \"2021-03-24T20:00:00Z\", " + extra + "}";
+    }
+
+    /**
+     * Tests that formats without the PROJECTION capability are filtered after parsing.
+     */
+    @Test
+    void testRegistryFallsBackToPostFilter() throws IOException {
+        SourceFormat simpleSource = new SourceFormat(SourceEnum.FILE, FormatEnum.SIMPLE);
+        String json = fromFile("inputs/simple_valid.txt");
+
+        assertEquals(1, FormatRegistry.defaults().parse(simpleSource, json, new ParserVisitorImplementation(),
+                ArticleFilter.all().withSourceIds("source1")).size());
+        assertEquals(0, FormatRegistry.defaults().parse(simpleSource, json, new ParserVisitorImplementation(),
+                ArticleFilter.all().withSourceIds("source2")).size());
+    }
+}
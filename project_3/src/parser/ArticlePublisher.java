@@ -0,0 +1,174 @@
+package parser;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ArticlePublisher implements Flow.Publisher<Article> {
+    private final Callable<ArticleCursor> cursorFactory;
+    private final Executor executor;
+
+    /**
+     * Creates a publisher that emits on the thread that requests items.
+     *
+     * @param cursorFactory opens a new cursor for each subscriber; it is only called on the first request.
+     */
+    ArticlePublisher(Callable<ArticleCursor> cursorFactory) {
+        this(cursorFactory, Runnable::run);
+    }
+
+    /**
+     * Creates a publisher that emits on the given executor.
+     *
+     * @param cursorFactory opens a new cursor for each subscriber; it is only called on the first request.
+     * @param executor      runs the emission loop.
+     */
+    ArticlePublisher(Callable<ArticleCursor> cursorFactory, Executor executor) {
+        this.cursorFactory = cursorFactory;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a cursor over articles that are already parsed.
+     *
+     * @param articles the articles to read.
+     * @return an ArticleCursor returning the articles in order.
+     */
+    static ArticleCursor cursorOver(List<Article> articles) {
+        Iterator<Article> iterator = articles.iterator();
+        return new ArticleCursor() {
+            public Article next() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * Subscribes to the articles. Each subscriber reads the data independently; nothing is parsed until
+     * it requests items, and parsing stops when it cancels.
+     *
+     * @param subscriber the subscriber to receive the articles.
+     * @throws NullPointerException if the subscriber is null.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Article> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        Subscription subscription = new Subscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private class Subscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super Article> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private ArticleCursor cursor;
+        private boolean done;
+
+        private Subscription(Flow.Subscriber<? super Article> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Non-positive request: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Emits as many articles as there is demand for. Only one thread runs this at a time, and calls
+         * to request made from inside onNext just add demand for the running loop, so the stack does
+         * not grow with the number of articles.
+         */
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Emits articles while there is demand. Only failures to open or read the cursor are signalled
+         * through onError. An exception thrown by onNext breaks rule 2.13, so it is not handed back to
+         * the subscriber that threw it; the subscription is treated as cancelled instead.
+         */
+        private void drain() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                finish();
+                return;
+            }
+            if (invalidRequest != null) {
+                finish();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+            while (demand.get() > 0 && !cancelled && invalidRequest == null) {
+                Article article;
+                try {
+                    if (cursor == null) {
+                        cursor = cursorFactory.call();
+                    }
+                    article = cursor.next();
+                } catch (Exception e) {
+                    finish();
+                    subscriber.onError(e);
+                    return;
+                }
+                if (article == null) {
+                    finish();
+                    subscriber.onComplete();
+                    return;
+                }
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+                try {
+                    subscriber.onNext(article);
+                } catch (RuntimeException e) {
+                    cancelled = true;
+                    finish();
+                    Main.logger.warning("Cancelled a subscription whose onNext threw: " + e);
+                    return;
+                }
+            }
+        }
+
+        private void finish() {
+            done = true;
+            if (cursor != null) {
+                cursor.close();
+                cursor = null;
+            }
+        }
+    }
+}
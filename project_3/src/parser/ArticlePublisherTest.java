@@ -0,0 +1,331 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+/**
+ * Conformance tests for ArticlePublisher, named after the Reactive Streams rules they cover.
+ */
+class ArticlePublisherTest {
+
+    /**
+     * Rule 1.1: no more onNext signals than requested, and nothing parsed before the first request.
+     */
+    @Test
+    void testEmitsOnlyRequestedItems() throws IOException {
+        AtomicInteger opened = new AtomicInteger();
+        String json = fromFile("inputs/newsapi.txt");
+        Recorder recorder = new Recorder();
+        new ArticlePublisher(() -> {
+            opened.incrementAndGet();
+            return new NewsArticleCursor(json);
+        }).subscribe(recorder);
+
+        assertEquals(0, opened.get(), "Nothing should be parsed before the first request.");
+        recorder.subscription.request(3);
+        assertEquals(3, recorder.items.size());
+        recorder.subscription.request(2);
+        assertEquals(5, recorder.items.size());
+        assertFalse(recorder.completed);
+    }
+
+    /**
+     * Rules 1.2 and 1.5: all items are emitted in order, followed by onComplete.
+     */
+    @Test
+    void testCompletesAfterAllItems() throws IOException {
+        NewsParser newsParser = new NewsParser(fromFile("inputs/newsapi.txt"));
+        Recorder recorder = new Recorder();
+        newsParser.publish().subscribe(recorder);
+
+        recorder.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(newsParser.parse(), recorder.items);
+        assertTrue(recorder.completed);
+        assertNull(recorder.error);
+    }
+
+    /**
+     * Rule 1.9: subscribing with null throws a NullPointerException.
+     */
+    @Test
+    void testNullSubscriberIsRejected() {
+        assertThrows(NullPointerException.class, () -> new ArticlePublisher(() -> null).subscribe(null));
+    }
+
+    /**
+     * Rule 3.3: calling request from onNext does not recurse once per item.
+     */
+    @Test
+    void testReentrantRequestDoesNotRecurse() {
+        List<Article> many = new ArrayList<>();
+        Article article = new Article(null, null, "t", "d", "u", null, "p", null);
+        for (int i = 0; i < 100_000; i++) {
+            many.add(article);
+        }
+        Recorder recorder = new Recorder();
+        recorder.onNext = item -> recorder.subscription.request(1);
+        new ArticlePublisher(() -> ArticlePublisher.cursorOver(many)).subscribe(recorder);
+
+        recorder.subscription.request(1);
+
+        assertEquals(100_000, recorder.items.size());
+        assertTrue(recorder.completed);
+    }
+
+    /**
+     * Rules 3.6 and 3.7: after cancel no more signals are sent, and the cursor is closed so parsing stops.
+     */
+    @Test
+    void testCancelStopsParsing() throws IOException {
+        AtomicInteger closed = new AtomicInteger();
+        String json = fromFile("inputs/newsapi.txt");
+        Recorder recorder = new Recorder();
+        new ArticlePublisher(() -> new NewsArticleCursor(json) {
+            @Override
+            public void close() {
+                closed.incrementAndGet();
+                super.close();
+            }
+        }).subscribe(recorder);
+
+        recorder.subscription.request(2);
+        recorder.subscription.cancel();
+        recorder.subscription.request(5);
+        recorder.subscription.cancel();
+
+        assertEquals(2, recorder.items.size());
+        assertEquals(1, closed.get());
+        assertFalse(recorder.completed);
+        assertNull(recorder.error);
+    }
+
+    /**
+     * Rule 2.13: an exception thrown by onNext is not signalled back to the subscriber; the
+     * subscription counts as cancelled and the cursor is closed.
+     */
+    @Test
+    void testThrowingOnNextCancels() throws IOException {
+        AtomicInteger closed = new AtomicInteger();
+        String json = fromFile("inputs/newsapi.txt");
+        Recorder recorder = new Recorder();
+        recorder.onNext = item -> {
+            throw new IllegalStateException("Subscriber failure");
+        };
+        new ArticlePublisher(() -> new NewsArticleCursor(json) {
+            @Override
+            public void close() {
+                closed.incrementAndGet();
+                super.close();
+            }
+        }).subscribe(recorder);
+
+        recorder.subscription.request(5);
+        recorder.subscription.request(5);
+
+        assertEquals(1, recorder.items.size());
+        assertEquals(1, closed.get());
+        assertNull(recorder.error);
+        assertFalse(recorder.completed);
+    }
+
+    /**
+     * Rule 3.9: a non-positive request signals onError with an IllegalArgumentException.
+     */
+    @Test
+    void testNonPositiveRequestSignalsError() {
+        Recorder recorder = new Recorder();
+        new ArticlePublisher(() -> ArticlePublisher.cursorOver(new ArrayList<>())).subscribe(recorder);
+
+        recorder.subscription.request(0);
+
+        assertTrue(recorder.error instanceof IllegalArgumentException);
+        recorder.subscription.request(1);
+        assertFalse(recorder.completed, "No signals after onError.");
+    }
+
+    /**
+     * Rule 3.17: demand adding up past Long.MAX_VALUE is treated as unbounded.
+     */
+    @Test
+    void testDemandOverflowIsUnbounded() throws IOException {
+        Recorder recorder = new Recorder();
+        new NewsParser(fromFile("inputs/newsapi.txt")).publish().subscribe(recorder);
+
+        recorder.onNext = item -> recorder.subscription.request(Long.MAX_VALUE - 1);
+        recorder.subscription.request(Long.MAX_VALUE - 1);
+
+        assertEquals(20, recorder.items.size());
+        assertTrue(recorder.completed);
+    }
+
+    /**
+     * Rule 1.4: a read failure is signalled through onError rather than thrown, while damaged JSON is
+     * skipped and the stream completes.
+     */
+    @Test
+    void testReadErrorSignalsOnError() {
+        Recorder recorder = new Recorder();
+        new ArticlePublisher(() -> new NewsArticleCursor(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Disk failure");
+            }
+        })).subscribe(recorder);
+
+        recorder.subscription.request(1);
+
+        assertTrue(recorder.error instanceof IOException);
+
+        Recorder damaged = new Recorder();
+        new NewsParser("{\"articles\": [ {\"title\": }").publish().subscribe(damaged);
+        damaged.subscription.request(1);
+        assertTrue(damaged.completed);
+        assertNull(damaged.error);
+    }
+
+    /**
+     * Rule 1.3: signals are serialized when requests come from several threads and emission runs on an executor.
+     */
+    @Test
+    void testConcurrentRequestsAreSerialized() throws Exception {
+        NewsParser newsParser = new NewsParser(fromFile("inputs/example.json"));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        Recorder recorder = new Recorder();
+        recorder.onNext = item -> {
+            if (inside.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+            }
+            inside.decrementAndGet();
+        };
+        recorder.onComplete = done::countDown;
+        new ArticlePublisher(() -> new NewsArticleCursor(newsParser.getFile()), executor).subscribe(recorder);
+
+        for (int i = 0; i < 40; i++) {
+            executor.execute(() -> recorder.subscription.request(1));
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(0, overlaps.get());
+        assertEquals(newsParser.parse(), recorder.items);
+    }
+
+    /**
+     * Tests the visitor mode: each concrete parser is published through its visitor overload.
+     */
+    @Test
+    void testVisitorPublish() throws IOException {
+        ParserVisitor visitor = new ParserVisitorImplementation();
+        Recorder news = new Recorder();
+        Recorder simple = new Recorder();
+
+        new NewsParser(fromFile("inputs/newsapi.txt")).publish(visitor).subscribe(news);
+        new SimpleParser(fromFile("inputs/simple.txt")).publish(visitor).subscribe(simple);
+        news.subscription.request(100);
+        simple.subscription.request(100);
+
+        assertEquals(20, news.items.size());
+        assertEquals(1, simple.items.size());
+    }
+
+    /**
+     * Tests that publishing skips a corrupt article and goes on with the rest, as parse() does.
+     */
+    @Test
+    void testCorruptArticleIsSkipped() throws IOException {
+        String json = fromFile("inputs/newsapi.txt");
+        int second = json.indexOf("\"title\"", json.indexOf("\"title\"") + 1);
+        NewsParser newsParser = new NewsParser(json.substring(0, second) + "\"title\" ?? " + json.substring(second + 8));
+        Recorder recorder = new Recorder();
+        newsParser.publish().subscribe(recorder);
+
+        recorder.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(19, recorder.items.size());
+        assertEquals(newsParser.parse(), recorder.items);
+        assertTrue(recorder.completed);
+        assertNull(recorder.error);
+    }
+
+    /**
+     * Tests that a cursor over a stream read a few bytes at a time recovers from damage and from a
+     * document cut off mid-article the same way the recovering reader does.
+     */
+    @Test
+    void testStreamCursorRecovers() throws IOException {
+        String json = fromFile("inputs/newsapi.txt");
+        int second = json.indexOf("\"title\"", json.indexOf("\"title\"") + 1);
+        String damaged = json.substring(0, second) + "\"title\" ?? " + json.substring(second + 8);
+        String cut = damaged.substring(0, damaged.length() * 2 / 3);
+        for (String document : new String[]{json, damaged, cut, "{\"status\": \"ok\"}"}) {
+            List<Article> expected = new NewsParser(document).parse();
+            List<Article> read = new ArrayList<>();
+            try (NewsArticleCursor cursor = new NewsArticleCursor(trickle(document))) {
+                for (Article article = cursor.next(); article != null; article = cursor.next()) {
+                    read.add(article);
+                }
+            }
+            assertEquals(expected, read);
+        }
+    }
+
+    private static ByteArrayInputStream trickle(String document) {
+        return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+    }
+
+    private static class Recorder implements Flow.Subscriber<Article> {
+        private final List<Article> items = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Consumer<Article> onNext = item -> { };
+        private Runnable onComplete = () -> { };
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Article item) {
+            items.add(item);
+            onNext.accept(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            onComplete.run();
+        }
+    }
+}
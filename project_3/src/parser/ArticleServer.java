@@ -0,0 +1,359 @@
+package parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+class ArticleServer {
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 1024;
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private final ArticleStore store;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Page> pages = new LinkedHashMap<String, Page>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Page> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    /**
+     * Creates a server answering GET /articles from the given store.
+     *
+     * Query parameters: source (a Source id), from and to (publishedAt bounds, ISO-8601, to exclusive)
+     * and page (0-based, 100 articles per page). Each distinct query is encoded once per store version
+     * and kept as plain and gzipped bytes, so repeated requests only copy bytes. The ETag is derived from
+     * the encoded bytes, so a page that new articles did not change still answers If-None-Match with 304.
+     * The gzipped bytes are a different representation and get the same ETag with a "-gz" suffix;
+     * If-None-Match is answered with 304 for either tag of the page. Articles are served with their
+     * normalized text; the raw values they were read with are not part of the response.
+     *
+     * @param store the articles to serve.
+     * @param port  the port to listen on; 0 picks a free port.
+     * @throws IOException if the port cannot be bound.
+     */
+    ArticleServer(ArticleStore store, int port) throws IOException {
+        this.store = store;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = newExecutor();
+        server.setExecutor(executor);
+        server.createContext("/articles", this::handle);
+    }
+
+    /**
+     * Starts accepting requests in the background.
+     */
+    void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, dropping any requests still in progress.
+     */
+    void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    /**
+     * Retrieves the port the server is listening on.
+     *
+     * @return the bound port.
+     */
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Uses a virtual thread per request when the runtime has them (Java 21+), and a cached pool of
+     * platform threads otherwise.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            Page page;
+            try {
+                page = page(exchange.getRequestURI().getRawQuery());
+            } catch (IllegalArgumentException e) {
+                byte[] message = e.getMessage().getBytes("UTF-8");
+                exchange.sendResponseHeaders(400, message.length);
+                exchange.getResponseBody().write(message);
+                return;
+            }
+
+            boolean gzip = acceptsGzip(exchange.getRequestHeaders().get("Accept-Encoding"));
+            exchange.getResponseHeaders().set("ETag", gzip ? page.gzipEtag : page.etag);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+            if (page.matches(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            byte[] body = page.body;
+            if (gzip) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                body = page.gzipped;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Retrieves the encoded page for a query, encoding it again only if articles were added since.
+     */
+    private Page page(String rawQuery) throws IOException {
+        Map<String, String> params = parseQuery(rawQuery);
+        String key = params.getOrDefault("source", "") + '\n' + params.getOrDefault("from", "") + '\n'
+                + params.getOrDefault("to", "") + '\n' + params.getOrDefault("page", "0");
+        long version = store.getVersion();
+
+        synchronized (pages) {
+            Page page = pages.get(key);
+            if (page != null && page.version == version) {
+                return page;
+            }
+        }
+
+        Page page = encode(params, version);
+        synchronized (pages) {
+            pages.put(key, page);
+        }
+        return page;
+    }
+
+    private Page encode(Map<String, String> params, long version) throws IOException {
+        ArticleFilter filter = ArticleFilter.all();
+        if (params.containsKey("source")) {
+            filter = filter.withSourceIds(params.get("source"));
+        }
+        if (params.containsKey("from") || params.containsKey("to")) {
+            filter = filter.publishedBetween(bound(params, "from", Long.MIN_VALUE), bound(params, "to", Long.MAX_VALUE));
+        }
+        int pageNumber;
+        try {
+            pageNumber = Integer.parseInt(params.getOrDefault("page", "0"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page: " + params.get("page"));
+        }
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Invalid page: " + pageNumber);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartArray();
+            long first = (long) pageNumber * PAGE_SIZE;
+            long matched = 0;
+            for (Article article : store.snapshot()) {
+                if (!filter.test(article)) {
+                    continue;
+                }
+                if (matched >= first + PAGE_SIZE) {
+                    break;
+                }
+                if (matched++ >= first) {
+                    write(generator, article);
+                }
+            }
+            generator.writeEndArray();
+        }
+        byte[] body = out.toByteArray();
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(body);
+        }
+        return new Page(version, body, gzipped.toByteArray());
+    }
+
+    /**
+     * Writes an article as a JSON object with the same fields it is read from, holding its normalized
+     * text. The raw values are left out, so the server returns only what the parser delivers.
+     *
+     * @param generator the generator to write to.
+     * @param article   the article to write.
+     * @throws IOException if the generator cannot write.
+     */
+    static void write(JsonGenerator generator, Article article) throws IOException {
+        write(generator, article, false);
+    }
+
+    /**
+     * Writes an article as a JSON object with the same fields it is read from.
+     *
+     * @param generator the generator to write to.
+     * @param article   the article to write.
+     * @param raw       whether to write the author, title, description and content as they were in the
+     *                  feed, so reading the object again gives back the same article and raw values;
+     *                  otherwise their normalized text is written.
+     * @throws IOException if the generator cannot write.
+     */
+    static void write(JsonGenerator generator, Article article, boolean raw) throws IOException {
+        generator.writeStartObject();
+        if (article.getSource() != null) {
+            generator.writeObjectFieldStart("source");
+            generator.writeStringField("id", article.getSource().getId());
+            generator.writeStringField("name", article.getSource().getName());
+            generator.writeEndObject();
+        } else {
+            generator.writeNullField("source");
+        }
+        generator.writeStringField("author", raw ? article.getRawAuthor() : article.getAuthor());
+        generator.writeStringField("title", raw ? article.getRawTitle() : article.getTitle());
+        generator.writeStringField("description", raw ? article.getRawDescription() : article.getDescription());
+        generator.writeStringField("url", article.getUrl());
+        generator.writeStringField("urlToImage", article.getUrlToImage());
+        generator.writeStringField("publishedAt", article.getPublishedAt());
+        generator.writeStringField("content", raw ? article.getRawContent() : article.getContent());
+        generator.writeEndObject();
+    }
+
+    private static long bound(Map<String, String> params, String name, long missing) {
+        String value = params.get(name);
+        if (value == null) {
+            return missing;
+        }
+        long millis = Timestamps.toEpochMillis(value);
+        if (millis == Timestamps.UNKNOWN) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+        return millis;
+    }
+
+    /**
+     * Decides from the Accept-Encoding headers of a request whether the client takes a gzipped body.
+     *
+     * Each header is a comma-separated list of codings, each with an optional q-value. The gzip
+     * coding (or its alias x-gzip) is accepted if listed with a q-value above 0; if it is not listed,
+     * a "*" entry decides. A q-value that cannot be read counts as 0.
+     *
+     * @param acceptEncoding the values of the Accept-Encoding headers, or null if there are none.
+     * @return true if the gzipped page may be sent.
+     */
+    static boolean acceptsGzip(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String header : acceptEncoding) {
+            for (String element : header.split(",")) {
+                String[] parts = element.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                double q = 1;
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if (param.length() > 1 && Character.toLowerCase(param.charAt(0)) == 'q' && param.charAt(1) == '=') {
+                        q = qValue(param.substring(2).trim());
+                    }
+                }
+                if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                    gzip = Math.max(gzip, q);
+                } else if (coding.equals("*")) {
+                    any = Math.max(any, q);
+                }
+            }
+        }
+        return gzip >= 0 ? gzip > 0 : any > 0;
+    }
+
+    private static double qValue(String value) {
+        try {
+            double q = Double.parseDouble(value);
+            return q >= 0 && q <= 1 ? q : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws UnsupportedEncodingException {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), "UTF-8"), URLDecoder.decode(pair.substring(eq + 1), "UTF-8"));
+            }
+        }
+        return params;
+    }
+
+    private static class Page {
+        private final long version;
+        private final byte[] body;
+        private final byte[] gzipped;
+        private final String etag;
+        private final String gzipEtag;
+
+        private Page(long version, byte[] body, byte[] gzipped) {
+            this.version = version;
+            this.body = body;
+            this.gzipped = gzipped;
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            String tag = Integer.toHexString(body.length) + "-" + Long.toHexString(crc.getValue());
+            this.etag = "\"" + tag + "\"";
+            this.gzipEtag = "\"" + tag + "-gz\"";
+        }
+
+        /**
+         * Checks whether an If-None-Match header names either representation of this page.
+         *
+         * @param ifNoneMatch the header value, a comma-separated list of tags; may be null.
+         * @return true if the client already has this page, plain or gzipped.
+         */
+        private boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package parser;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class ArticleServerTest {
+
+    private final ArticleStore store = new ArticleStore();
+    private ArticleServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        new NewsParser(fromFile("inputs/newsapi.txt")).parse().forEach(store);
+        server = new ArticleServer(store, 0);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    /**
+     * Tests that all stored articles are served and read back identical to the parsed ones.
+     */
+    @Test
+    void testServesAllArticles() throws IOException {
+        HttpURLConnection connection = open("/articles");
+
+        assertEquals(200, connection.getResponseCode());
+        List<Article> served = readArticles(connection.getInputStream());
+        assertEquals(store.snapshot(), served);
+    }
+
+    /**
+     * Tests the source and time filters.
+     */
+    @Test
+    void testFilters() throws IOException {
+        assertEquals(2, readArticles(open("/articles?source=cnn").getInputStream()).size());
+        assertEquals(0, readArticles(open("/articles?from=2030-01-01T00:00:00Z").getInputStream()).size());
+        assertEquals(400, open("/articles?from=yesterday").getResponseCode());
+    }
+
+    /**
+     * Tests that an unchanged page answers If-None-Match with 304, and a new article changes the ETag.
+     */
+    @Test
+    void testETag() throws IOException {
+        String etag = open("/articles").getHeaderField("ETag");
+        assertNotNull(etag);
+
+        HttpURLConnection conditional = open("/articles");
+        conditional.setRequestProperty("If-None-Match", etag);
+        assertEquals(304, conditional.getResponseCode());
+
+        store.accept(new Article(new Source("new", "New"), null, "t", "d", "http://example.com/new", null, "2021-03-25T00:00:00Z", null));
+        HttpURLConnection changed = open("/articles");
+        changed.setRequestProperty("If-None-Match", etag);
+        assertEquals(200, changed.getResponseCode());
+        assertEquals(21, readArticles(changed.getInputStream()).size());
+    }
+
+    /**
+     * Tests that clients accepting gzip get the pre-compressed page.
+     */
+    @Test
+    void testGzip() throws IOException {
+        HttpURLConnection connection = open("/articles");
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+
+        assertEquals("gzip", connection.getHeaderField("Content-Encoding"));
+        assertEquals(20, readArticles(new GZIPInputStream(connection.getInputStream())).size());
+    }
+
+    /**
+     * Tests that Accept-Encoding is read as a list of codings with q-values rather than searched for "gzip".
+     */
+    @Test
+    void testAcceptEncoding() throws IOException {
+        assertTrue(ArticleServer.acceptsGzip(List.of("gzip")));
+        assertTrue(ArticleServer.acceptsGzip(List.of("GZIP")));
+        assertTrue(ArticleServer.acceptsGzip(List.of("deflate, gzip;q=0.5")));
+        assertTrue(ArticleServer.acceptsGzip(List.of("x-gzip")));
+        assertTrue(ArticleServer.acceptsGzip(List.of("*")));
+        assertTrue(ArticleServer.acceptsGzip(List.of("deflate", "gzip")));
+        assertFalse(ArticleServer.acceptsGzip(null));
+        assertFalse(ArticleServer.acceptsGzip(List.of("gzip;q=0")));
+        assertFalse(ArticleServer.acceptsGzip(List.of("gzip; q=0.0, deflate")));
+        assertFalse(ArticleServer.acceptsGzip(List.of("x-gzip-foo")));
+        assertFalse(ArticleServer.acceptsGzip(List.of("identity")));
+        assertFalse(ArticleServer.acceptsGzip(List.of("*;q=0")));
+        assertFalse(ArticleServer.acceptsGzip(List.of("gzip;q=0, *")));
+        assertFalse(ArticleServer.acceptsGzip(List.of("gzip;q=high")));
+
+        HttpURLConnection refused = open("/articles");
+        refused.setRequestProperty("Accept-Encoding", "gzip;q=0");
+        assertNull(refused.getHeaderField("Content-Encoding"));
+        assertEquals(20, readArticles(refused.getInputStream()).size());
+    }
+
+    /**
+     * Tests that the gzipped page has its own ETag, and that If-None-Match accepts either tag.
+     */
+    @Test
+    void testGzipETag() throws IOException {
+        String etag = open("/articles").getHeaderField("ETag");
+        HttpURLConnection gzipped = open("/articles");
+        gzipped.setRequestProperty("Accept-Encoding", "gzip");
+        String gzipEtag = gzipped.getHeaderField("ETag");
+        assertNotEquals(etag, gzipEtag);
+        assertTrue(gzipEtag.endsWith("-gz\""), gzipEtag);
+
+        for (String tag : new String[]{etag, gzipEtag, "\"other\", " + gzipEtag}) {
+            HttpURLConnection conditional = open("/articles");
+            conditional.setRequestProperty("Accept-Encoding", "gzip");
+            conditional.setRequestProperty("If-None-Match", tag);
+            assertEquals(304, conditional.getResponseCode());
+        }
+        HttpURLConnection other = open("/articles");
+        other.setRequestProperty("If-None-Match", "\"other\"");
+        assertEquals(200, other.getResponseCode());
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        return (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+    }
+
+    private static List<Article> readArticles(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        in.close();
+        String json = "{\"articles\":" + new String(out.toByteArray(), StandardCharsets.UTF_8) + "}";
+        return RecoveringArticleReader.read(json).getArticles();
+    }
+}
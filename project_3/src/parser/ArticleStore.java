@@ -0,0 +1,53 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+class ArticleStore implements Consumer<Article> {
+    private final List<Article> articles = new ArrayList<>();
+    private final Set<String> urls = new HashSet<>();
+    private long version;
+    private List<Article> snapshot = Collections.emptyList();
+    private long snapshotVersion;
+
+    /**
+     * Adds a validated article unless an article with the same URL is already stored.
+     * Only an actual addition changes the version, so cached responses stay valid otherwise.
+     *
+     * @param article the article to add.
+     */
+    @Override
+    public synchronized void accept(Article article) {
+        if (urls.add(article.getUrl())) {
+            articles.add(article);
+            version++;
+        }
+    }
+
+    /**
+     * Retrieves the version of the stored articles, which increases each time an article is added.
+     *
+     * @return the current version.
+     */
+    synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves the stored articles as an immutable list, copied only when articles were added since
+     * the previous call.
+     *
+     * @return the stored articles in the order they were added.
+     */
+    synchronized List<Article> snapshot() {
+        if (snapshotVersion != version) {
+            snapshot = Collections.unmodifiableList(new ArrayList<>(articles));
+            snapshotVersion = version;
+        }
+        return snapshot;
+    }
+}
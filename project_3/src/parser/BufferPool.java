@@ -0,0 +1,38 @@
+package parser;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+class BufferPool {
+    static final BufferPool CHARS = new BufferPool(64 * 1024, 16);
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final Queue<char[]> pool = new ConcurrentLinkedQueue<>();
+
+    BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * Takes a buffer from the pool, allocating a new one if the pool is empty.
+     *
+     * @return a char buffer of the pool's size.
+     */
+    char[] acquire() {
+        char[] buffer = pool.poll();
+        return buffer != null ? buffer : new char[bufferSize];
+    }
+
+    /**
+     * Returns a buffer to the pool. Buffers beyond the pool's capacity are left to the garbage collector.
+     *
+     * @param buffer a buffer previously taken from this pool.
+     */
+    void release(char[] buffer) {
+        if (buffer.length == bufferSize && pool.size() < maxPooled) {
+            pool.offer(buffer);
+        }
+    }
+}
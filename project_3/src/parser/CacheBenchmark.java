@@ -0,0 +1,132 @@
+package parser;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+class CacheBenchmark {
+    private static final int URLS = 200_000;
+    private static final int CACHE_ENTRIES = 50_000;
+    private static final int OPERATIONS = 1 << 20;
+    private static final long RUN_MILLIS = 2_000;
+
+    /**
+     * Compares look-up-or-load throughput of the off-heap ArticleCache against an unbounded
+     * ConcurrentHashMap of Article objects, with URLs drawn from a Zipf distribution, at 1 to 8 threads.
+     * Each run is preceded by a warm-up run of the same length. Also reports the heap each one retains.
+     *
+     * @param args command-line arguments (not used).
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Article[] articles = new Article[URLS];
+        for (int i = 0; i < URLS; i++) {
+            articles[i] = article(i);
+        }
+        int[] keys = zipfKeys(OPERATIONS, URLS, 0.99, new Random(1));
+
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            Map<String, Article> map = new ConcurrentHashMap<>();
+            run(threads, keys, articles, url -> map.get(url), article -> map.put(article.getUrl(), article));
+            double mapRate = run(threads, keys, articles, url -> map.get(url), article -> map.put(article.getUrl(), article));
+
+            ArticleCache cache = new ArticleCache(CACHE_ENTRIES, CACHE_ENTRIES * 512L);
+            run(threads, keys, articles, cache::get, cache::put);
+            double cacheRate = run(threads, keys, articles, cache::get, cache::put);
+
+            System.out.printf("%d threads: ConcurrentHashMap %5.2f M ops/s (%d entries), ArticleCache %5.2f M ops/s "
+                            + "(%d entries, hit ratio %.3f, %d evictions)%n",
+                    threads, mapRate / 1e6, map.size(), cacheRate / 1e6, cache.size(), cache.hitRatio(), cache.getEvictions());
+        }
+
+        // Fresh articles, so that the map is charged for the objects it keeps alive.
+        articles = null;
+        Map<String, Article> map = new ConcurrentHashMap<>();
+        long before = usedHeap();
+        for (int i = 0; i < URLS; i++) {
+            Article article = article(i);
+            map.put(article.getUrl(), article);
+        }
+        long mapHeap = usedHeap() - before;
+        map = null;
+        before = usedHeap();
+        ArticleCache cache = new ArticleCache(URLS, URLS * 512L);
+        for (int i = 0; i < URLS; i++) {
+            cache.put(article(i));
+        }
+        long cacheHeap = usedHeap() - before;
+        System.out.printf("%d entries: ConcurrentHashMap retains %d MiB heap, ArticleCache %d MiB heap + %d MiB off-heap%n",
+                URLS, mapHeap >> 20, cacheHeap >> 20, cache.offHeapBytes() >> 20);
+    }
+
+    private static Article article(int i) {
+        return new Article(new Source("source-" + i % 100, "Source " + i % 100), "Author " + i,
+                "Headline number " + i + " about the news of the day",
+                "A description of article " + i + " that is about as long as a real one is.",
+                "https://example.com/articles/" + i, "https://example.com/images/" + i + ".jpg",
+                "2021-03-24T20:00:00Z", "The body of article " + i + " is cut short here by the API as usual... [+2476 chars]");
+    }
+
+    private static double run(int threads, int[] keys, Article[] articles, Lookup lookup, Loader loader)
+            throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        long deadline = System.currentTimeMillis() + RUN_MILLIS;
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * (OPERATIONS / threads);
+            new Thread(() -> {
+                long count = 0;
+                int i = offset;
+                while ((count & 1023) != 0 || System.currentTimeMillis() < deadline) {
+                    String url = articles[keys[i]].getUrl();
+                    if (lookup.get(url) == null) {
+                        loader.put(articles[keys[i]]);
+                    }
+                    i = (i + 1) & (OPERATIONS - 1);
+                    count++;
+                }
+                operations.add(count);
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        return operations.sum() * 1e9 / (System.nanoTime() - start);
+    }
+
+    private static int[] zipfKeys(int count, int range, double exponent, Random random) {
+        double[] cumulative = new double[range];
+        double total = 0;
+        for (int i = 0; i < range; i++) {
+            total += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = total;
+        }
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            // Scatter the popular keys so that they do not all land in one segment.
+            keys[i] = (int) ((index < 0 ? -index - 1 : index) * 2654435761L % range);
+        }
+        return keys;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private interface Lookup {
+        Article get(String url);
+    }
+
+    private interface Loader {
+        void put(Article article);
+    }
+}
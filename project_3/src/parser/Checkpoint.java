@@ -0,0 +1,51 @@
+package parser;
+
+class Checkpoint {
+    private final String fileKey;
+    private final long size;
+    private final long offset;
+    private final long hash;
+
+    Checkpoint(String fileKey, long size, long offset, long hash) {
+        this.fileKey = fileKey;
+        this.size = size;
+        this.offset = offset;
+        this.hash = hash;
+    }
+
+    /**
+     * Retrieves the identity of the file (its inode on Linux) when the checkpoint was taken.
+     *
+     * @return the file key as a string, or an empty string if the file system has none.
+     */
+    String getFileKey() {
+        return fileKey;
+    }
+
+    /**
+     * Retrieves the size of the file when the checkpoint was taken.
+     *
+     * @return the file size in bytes.
+     */
+    long getSize() {
+        return size;
+    }
+
+    /**
+     * Retrieves the byte offset just past the last complete article that was read.
+     *
+     * @return the offset to continue reading from.
+     */
+    long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Retrieves the checksum of the bytes just before the offset, used to detect rewritten files.
+     *
+     * @return the CRC32 of the window preceding the offset.
+     */
+    long getHash() {
+        return hash;
+    }
+}
@@ -0,0 +1,69 @@
+package parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+class CheckpointStore {
+    private final Path path;
+    private final Properties properties = new Properties();
+
+    /**
+     * Opens a checkpoint store backed by a properties file, loading it if it already exists.
+     *
+     * @param path the path of the checkpoint file.
+     * @throws IOException if the existing checkpoint file cannot be read.
+     */
+    CheckpointStore(String path) throws IOException {
+        this.path = Paths.get(path);
+        if (Files.exists(this.path)) {
+            try (InputStream in = Files.newInputStream(this.path)) {
+                properties.load(in);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the checkpoint saved for a file.
+     *
+     * @param filePath the path of the ingested file.
+     * @return the saved Checkpoint, or null if the file has never been read.
+     */
+    synchronized Checkpoint get(String filePath) {
+        String offset = properties.getProperty(filePath + ".offset");
+        if (offset == null) {
+            return null;
+        }
+        return new Checkpoint(
+                properties.getProperty(filePath + ".fileKey", ""),
+                Long.parseLong(properties.getProperty(filePath + ".size", "0")),
+                Long.parseLong(offset),
+                Long.parseLong(properties.getProperty(filePath + ".hash", "0")));
+    }
+
+    /**
+     * Saves the checkpoint for a file and writes the store to disk.
+     * The file is replaced atomically so a crash never leaves a half-written store behind.
+     *
+     * @param filePath   the path of the ingested file.
+     * @param checkpoint the new checkpoint for that file.
+     * @throws IOException if the store cannot be written.
+     */
+    synchronized void put(String filePath, Checkpoint checkpoint) throws IOException {
+        properties.setProperty(filePath + ".fileKey", checkpoint.getFileKey());
+        properties.setProperty(filePath + ".size", Long.toString(checkpoint.getSize()));
+        properties.setProperty(filePath + ".offset", Long.toString(checkpoint.getOffset()));
+        properties.setProperty(filePath + ".hash", Long.toString(checkpoint.getHash()));
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "Incremental ingestion checkpoints");
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
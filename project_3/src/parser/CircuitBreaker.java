@@ -0,0 +1,167 @@
+package parser;
+
+import java.util.function.LongSupplier;
+
+class CircuitBreaker {
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int calls;
+    private int failures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openMillis) {
+        this(windowSize, minimumCalls, failureRateThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openMillis, LongSupplier clock) {
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Decides whether a call may go through to the guarded host.
+     *
+     * An open breaker rejects every call until its open period has elapsed, after which a single
+     * trial call is let through in the half-open state.
+     *
+     * @return true if the call may proceed; false if it should fail fast.
+     */
+    synchronized boolean allowRequest() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    /**
+     * Records a successful call. A successful trial call closes the breaker and clears the window.
+     */
+    synchronized void recordSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    /**
+     * Records a failed call. The breaker opens once the failure rate over the window reaches the
+     * threshold, or immediately if the failed call was a half-open trial.
+     */
+    synchronized void recordFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (calls >= minimumCalls && (double) failures / calls >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Retrieves the current state of the breaker.
+     *
+     * @return the State of this breaker.
+     */
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Retrieves the outcomes in the window, oldest first, so they can be saved between runs.
+     *
+     * @return one character per recorded call, 'F' for a failure and 'S' for a success.
+     */
+    synchronized String getOutcomes() {
+        StringBuilder outcomes = new StringBuilder(calls);
+        int first = calls == window.length ? next : 0;
+        for (int i = 0; i < calls; i++) {
+            outcomes.append(window[(first + i) % window.length] ? 'F' : 'S');
+        }
+        return outcomes.toString();
+    }
+
+    /**
+     * Retrieves when the open period of the breaker ends, so it can be saved between runs.
+     *
+     * @return the clock time at which an open breaker lets a trial call through, or 0 if it is not open.
+     */
+    synchronized long getOpenUntil() {
+        return state == State.OPEN ? openedAt + openMillis : 0;
+    }
+
+    /**
+     * Restores the state saved by getOutcomes and getOpenUntil, typically by an earlier run.
+     * The breaker is open again if the saved open period has not ended yet; otherwise it is closed
+     * with the saved outcomes in its window, and the next failure may open it.
+     *
+     * @param outcomes  the saved outcomes, oldest first.
+     * @param openUntil the saved end of the open period, or 0 if the breaker was not open.
+     */
+    synchronized void restore(String outcomes, long openUntil) {
+        reset();
+        for (int i = 0; i < outcomes.length(); i++) {
+            record(outcomes.charAt(i) == 'F');
+        }
+        if (clock.getAsLong() < openUntil) {
+            state = State.OPEN;
+            openedAt = openUntil - openMillis;
+        }
+    }
+
+    private void record(boolean failed) {
+        if (calls == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        trialInFlight = false;
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        next = 0;
+        calls = 0;
+        failures = 0;
+        trialInFlight = false;
+    }
+}
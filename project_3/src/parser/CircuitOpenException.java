@@ -0,0 +1,11 @@
+package parser;
+
+import java.io.IOException;
+
+class CircuitOpenException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    CircuitOpenException(String host) {
+        super("Circuit open for host: " + host);
+    }
+}
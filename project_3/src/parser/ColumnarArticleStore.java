@@ -0,0 +1,347 @@
+package parser;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+class ColumnarArticleStore implements Consumer<Article> {
+    /** Dictionary code of an article without a source. */
+    static final int NO_SOURCE = -1;
+
+    private static final int AUTHOR = 0;
+    private static final int TITLE = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int URL = 3;
+    private static final int URL_TO_IMAGE = 4;
+    private static final int PUBLISHED_AT = 5;
+    private static final int CONTENT = 6;
+    private static final int STRING_COLUMNS = 7;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final int batchSize;
+    private final List<Article> pending = new ArrayList<>();
+    private final List<Source> sources = new ArrayList<>();
+    private final Map<Source, Integer> sourceCodes = new HashMap<>();
+    private final StringColumn[] strings = new StringColumn[STRING_COLUMNS];
+    private ByteBuffer sourceColumn;
+    private ByteBuffer publishedColumn;
+    private ByteBuffer nullColumn;
+    private int size;
+
+    /**
+     * Creates an empty store that takes articles in batches.
+     *
+     * @param batchSize the number of articles accept() collects before writing them to the columns.
+     */
+    ColumnarArticleStore(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        sourceColumn = ByteBuffer.allocateDirect(batchSize * 4).order(ByteOrder.nativeOrder());
+        publishedColumn = ByteBuffer.allocateDirect(batchSize * 8).order(ByteOrder.nativeOrder());
+        nullColumn = ByteBuffer.allocateDirect(batchSize);
+        for (int column = 0; column < STRING_COLUMNS; column++) {
+            strings[column] = new StringColumn(batchSize, batchSize * 32);
+        }
+    }
+
+    /**
+     * Collects an article and writes the collected batch to the columns once it is full.
+     * Articles still collected are not visible to the scans until flush() is called.
+     *
+     * @param article the article to store.
+     */
+    @Override
+    public void accept(Article article) {
+        pending.add(article);
+        if (pending.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the articles collected by accept() to the columns.
+     */
+    void flush() {
+        if (!pending.isEmpty()) {
+            addAll(pending);
+            pending.clear();
+        }
+    }
+
+    /**
+     * Writes a batch of articles to the columns. Each column grows at most once per batch.
+     *
+     * @param batch the articles to store, in order.
+     */
+    void addAll(List<Article> batch) {
+        int count = batch.size();
+        sourceColumn = ensureCapacity(sourceColumn, (size + count) * 4L);
+        publishedColumn = ensureCapacity(publishedColumn, (size + count) * 8L);
+        nullColumn = ensureCapacity(nullColumn, size + (long) count);
+
+        byte[][][] encoded = new byte[STRING_COLUMNS][count][];
+        for (int i = 0; i < count; i++) {
+            Article article = batch.get(i);
+            int row = size + i;
+            sourceColumn.putInt(row * 4, code(article.getSource()));
+            publishedColumn.putLong(row * 8, Timestamps.toEpochMillis(article.getPublishedAt()));
+
+            String[] values = {article.getAuthor(), article.getTitle(), article.getDescription(), article.getUrl(),
+                    article.getUrlToImage(), article.getPublishedAt(), article.getContent()};
+            int nulls = 0;
+            for (int column = 0; column < STRING_COLUMNS; column++) {
+                if (values[column] == null) {
+                    nulls |= 1 << column;
+                    encoded[column][i] = EMPTY;
+                } else {
+                    encoded[column][i] = values[column].getBytes(StandardCharsets.UTF_8);
+                }
+            }
+            nullColumn.put(row, (byte) nulls);
+        }
+        for (int column = 0; column < STRING_COLUMNS; column++) {
+            strings[column].append(encoded[column], count);
+        }
+        size += count;
+    }
+
+    /**
+     * Retrieves the number of articles written to the columns.
+     *
+     * @return the number of rows.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the number of distinct sources in the dictionary.
+     *
+     * @return the number of dictionary codes; codes run from 0 to this value, exclusive.
+     */
+    int sourceCount() {
+        return sources.size();
+    }
+
+    /**
+     * Retrieves the source for a dictionary code.
+     *
+     * @param code a dictionary code.
+     * @return the Source the code stands for.
+     */
+    Source getSource(int code) {
+        return sources.get(code);
+    }
+
+    /**
+     * Retrieves the dictionary code of a row's source.
+     *
+     * @param row the row to read.
+     * @return the dictionary code, or NO_SOURCE if the article had no source.
+     */
+    int getSourceCode(int row) {
+        return sourceColumn.getInt(row * 4);
+    }
+
+    /**
+     * Retrieves the publishedAt value of a row as epoch milliseconds.
+     *
+     * @param row the row to read.
+     * @return the epoch milliseconds, or Timestamps.UNKNOWN if the date was missing or unreadable.
+     */
+    long getPublishedMillis(int row) {
+        return publishedColumn.getLong(row * 8);
+    }
+
+    /**
+     * Rebuilds the article stored in a row.
+     *
+     * @param row the row to read.
+     * @return an Article equal to the one that was stored.
+     */
+    Article get(int row) {
+        int code = getSourceCode(row);
+        return new Article(code == NO_SOURCE ? null : sources.get(code), string(AUTHOR, row), string(TITLE, row),
+                string(DESCRIPTION, row), string(URL, row), string(URL_TO_IMAGE, row), string(PUBLISHED_AT, row),
+                string(CONTENT, row));
+    }
+
+    /**
+     * Rebuilds the articles stored in a selection of rows.
+     *
+     * @param rows the rows to read, as returned by the scan operators.
+     * @return the articles in the order of the rows.
+     */
+    List<Article> materialize(int[] rows) {
+        List<Article> articles = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            articles.add(get(row));
+        }
+        return articles;
+    }
+
+    /**
+     * Scans the timestamp column for articles published in a time window.
+     *
+     * @param fromMillis the start of the window in epoch milliseconds, inclusive.
+     * @param toMillis   the end of the window in epoch milliseconds, exclusive.
+     * @return the matching rows in ascending order.
+     */
+    int[] scanPublishedBetween(long fromMillis, long toMillis) {
+        // Articles with an unknown date are stored as Long.MIN_VALUE and never fall inside a window.
+        long from = Math.max(fromMillis, Timestamps.UNKNOWN + 1);
+        int[] rows = new int[size];
+        int n = 0;
+        for (int row = 0; row < size; row++) {
+            long millis = publishedColumn.getLong(row * 8);
+            rows[n] = row;
+            n += (millis >= from & millis < toMillis) ? 1 : 0;
+        }
+        return Arrays.copyOf(rows, n);
+    }
+
+    /**
+     * Narrows a selection of rows to the sources a filter accepts. The filter is checked once per
+     * dictionary entry rather than once per row.
+     *
+     * @param rows   the rows to narrow, in ascending order.
+     * @param filter the filter whose source condition is applied.
+     * @return the rows whose source is accepted, in the same order.
+     */
+    int[] filterSources(int[] rows, ArticleFilter filter) {
+        boolean[] accepted = new boolean[sources.size() + 1];
+        accepted[0] = filter.acceptsSourceId(null);
+        for (int code = 0; code < sources.size(); code++) {
+            accepted[code + 1] = filter.acceptsSourceId(sources.get(code).getId());
+        }
+        int[] result = new int[rows.length];
+        int n = 0;
+        for (int row : rows) {
+            result[n] = row;
+            n += accepted[sourceColumn.getInt(row * 4) + 1] ? 1 : 0;
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Narrows a selection of rows to the titles a filter accepts. Only the titles of the given rows are decoded.
+     *
+     * @param rows   the rows to narrow, in ascending order.
+     * @param filter the filter whose title condition is applied.
+     * @return the rows whose title is accepted, in the same order.
+     */
+    int[] filterTitles(int[] rows, ArticleFilter filter) {
+        int[] result = new int[rows.length];
+        int n = 0;
+        for (int row : rows) {
+            if (filter.acceptsTitle(string(TITLE, row))) {
+                result[n++] = row;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Selects the rows a filter accepts, applying the cheapest conditions first.
+     *
+     * @param filter the filter to apply.
+     * @return the matching rows in ascending order.
+     */
+    int[] select(ArticleFilter filter) {
+        int[] rows;
+        if (filter.filtersTime()) {
+            rows = scanPublishedBetween(filter.getFromMillis(), filter.getToMillis());
+        } else {
+            rows = new int[size];
+            for (int row = 0; row < size; row++) {
+                rows[row] = row;
+            }
+        }
+        if (filter.filtersSource()) {
+            rows = filterSources(rows, filter);
+        }
+        if (filter.filtersTitle()) {
+            rows = filterTitles(rows, filter);
+        }
+        return rows;
+    }
+
+    /**
+     * Counts a selection of rows by source.
+     *
+     * @param rows the rows to count.
+     * @return the counts indexed by dictionary code; rows without a source are not counted.
+     */
+    long[] countBySource(int[] rows) {
+        long[] counts = new long[sources.size() + 1];
+        for (int row : rows) {
+            counts[sourceColumn.getInt(row * 4) + 1]++;
+        }
+        return Arrays.copyOfRange(counts, 1, counts.length);
+    }
+
+    /**
+     * Retrieves the number of bytes reserved off-heap by the columns.
+     *
+     * @return the total capacity of the column buffers.
+     */
+    long offHeapBytes() {
+        long total = (long) sourceColumn.capacity() + publishedColumn.capacity() + nullColumn.capacity();
+        for (StringColumn column : strings) {
+            total += column.capacityBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Returns a buffer with room for at least the given number of bytes, doubling its capacity if needed.
+     * The contents and byte order of the old buffer are kept.
+     *
+     * @param buffer the buffer to grow.
+     * @param needed the number of bytes needed.
+     * @return the given buffer if it is large enough, otherwise a larger copy of it.
+     */
+    static ByteBuffer ensureCapacity(ByteBuffer buffer, long needed) {
+        if (needed <= buffer.capacity()) {
+            return buffer;
+        }
+        if (needed > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Column is full at " + buffer.capacity() + " bytes");
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(needed, buffer.capacity() * 2L));
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity).order(buffer.order());
+        ByteBuffer old = buffer.duplicate();
+        old.clear();
+        grown.put(old);
+        grown.clear();
+        return grown;
+    }
+
+    private String string(int column, int row) {
+        if ((nullColumn.get(row) & 1 << column) != 0) {
+            return null;
+        }
+        return strings[column].get(row);
+    }
+
+    private int code(Source source) {
+        if (source == null) {
+            return NO_SOURCE;
+        }
+        Integer code = sourceCodes.get(source);
+        if (code == null) {
+            code = sources.size();
+            sources.add(source);
+            sourceCodes.put(source, code);
+        }
+        return code;
+    }
+}
@@ -0,0 +1,105 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class ColumnarArticleStoreTest {
+
+    /**
+     * Tests that every stored article is rebuilt unchanged, including null fields and sources.
+     */
+    @Test
+    void testRoundTrip() throws IOException {
+        List<Article> articles = new NewsParser(fromFile("inputs/example.json")).parse();
+        ColumnarArticleStore store = new ColumnarArticleStore(3);
+        articles.forEach(store);
+        store.accept(new Article(null, null, "T\u00edtulo \u00fcn\u00efcode \u65e5\u672c", null, "https://example.com/u", null, "not a date", null));
+        store.flush();
+
+        assertEquals(articles.size() + 1, store.size());
+        for (int row = 0; row < articles.size(); row++) {
+            assertEquals(articles.get(row), store.get(row));
+        }
+        Article last = store.get(articles.size());
+        assertNull(last.getSource());
+        assertNull(last.getAuthor());
+        assertEquals("T\u00edtulo \u00fcn\u00efcode \u65e5\u672c", last.getTitle());
+        assertEquals(Timestamps.UNKNOWN, store.getPublishedMillis(articles.size()));
+    }
+
+    /**
+     * Tests that the scan operators select the same articles as ArticleFilter.test on the bound objects.
+     */
+    @Test
+    void testSelectMatchesFilter() throws IOException {
+        List<Article> articles = new NewsParser(fromFile("inputs/example.json")).parse();
+        ColumnarArticleStore store = new ColumnarArticleStore(16);
+        store.addAll(articles);
+
+        ArticleFilter[] filters = {
+                ArticleFilter.all(),
+                ArticleFilter.all().withSourceIds("cnn", "the-hill"),
+                ArticleFilter.all().publishedBetween(Timestamps.toEpochMillis("2021-03-24T20:00:00Z"),
+                        Timestamps.toEpochMillis("2021-03-24T21:00:00Z")),
+                ArticleFilter.all().publishedBetween(Long.MIN_VALUE, Timestamps.toEpochMillis("2021-03-24T20:00:00Z")),
+                ArticleFilter.all().titleContains("CORONAVIRUS"),
+                ArticleFilter.all().withSourceIds("cnn").titleContains("coronavirus")
+        };
+
+        for (ArticleFilter filter : filters) {
+            List<Article> expected = articles.stream().filter(filter::test).collect(Collectors.toList());
+            assertEquals(expected, store.materialize(store.select(filter)));
+        }
+    }
+
+    /**
+     * Tests counting by source over a selection, and that collected articles are only scanned after a flush.
+     */
+    @Test
+    void testCountBySource() throws IOException {
+        List<Article> articles = new NewsParser(fromFile("inputs/newsapi.txt")).parse();
+        ColumnarArticleStore store = new ColumnarArticleStore(1000);
+        articles.forEach(store);
+        assertEquals(0, store.select(ArticleFilter.all()).length);
+
+        store.flush();
+        long[] counts = store.countBySource(store.select(ArticleFilter.all()));
+
+        assertEquals(store.sourceCount(), counts.length);
+        long cnn = 0;
+        for (int code = 0; code < counts.length; code++) {
+            if ("cnn".equals(store.getSource(code).getId())) {
+                cnn = counts[code];
+            }
+        }
+        assertEquals(2, cnn);
+        assertEquals(articles.stream().filter(a -> a.getSource() != null).count(), Arrays.stream(counts).sum());
+    }
+
+    /**
+     * Tests that the columns grow past their first allocation.
+     */
+    @Test
+    void testGrowth() {
+        ColumnarArticleStore store = new ColumnarArticleStore(2);
+        long initial = store.offHeapBytes();
+        for (int i = 0; i < 500; i++) {
+            store.accept(new Article(new Source("s" + (i % 7), "S"), "a", "title " + i, "d",
+                    "https://example.com/" + i, null, "2021-03-24T20:00:00Z", "c"));
+        }
+        store.flush();
+
+        assertEquals(500, store.size());
+        assertEquals(7, store.sourceCount());
+        assertTrue(store.offHeapBytes() > initial);
+        assertEquals("title 499", store.get(499).getTitle());
+        assertEquals(500, store.scanPublishedBetween(0, Long.MAX_VALUE).length);
+    }
+}
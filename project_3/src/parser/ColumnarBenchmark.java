@@ -0,0 +1,100 @@
+package parser;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ColumnarBenchmark {
+    private static final int SOURCES = 100;
+    private static final int WARMUP = 5;
+    private static final int RUNS = 11;
+    private static final long START = Timestamps.toEpochMillis("2021-03-01T00:00:00Z");
+
+    /**
+     * Compares "count by source where publishedAt in range" over a List of Article objects against the
+     * same query on the columnar store, at 1%, 10% and 50% of the time range. The object baseline reads
+     * publishedAt through ArticleFilter.test as the rest of the code does, so a source-only query is also
+     * run to show the cost of the layout without date parsing.
+     *
+     * @param args optionally the number of articles (default 500000).
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        List<Article> articles = syntheticArticles(count);
+
+        long start = System.nanoTime();
+        ColumnarArticleStore store = new ColumnarArticleStore(4096);
+        articles.forEach(store);
+        store.flush();
+        System.out.printf("%d articles, columnar load %.0f ms, %d MiB off-heap%n",
+                count, (System.nanoTime() - start) / 1e6, store.offHeapBytes() >> 20);
+
+        for (int percent : new int[]{1, 10, 50}) {
+            ArticleFilter filter = ArticleFilter.all().publishedBetween(START, START + (long) count * 60_000 * percent / 100);
+            compare(percent + "% of range", articles, store, filter);
+        }
+        String[] ids = new String[SOURCES / 2];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = "source-" + i;
+        }
+        compare("50% of sources", articles, store, ArticleFilter.all().withSourceIds(ids));
+    }
+
+    private static void compare(String label, List<Article> articles, ColumnarArticleStore store, ArticleFilter filter) {
+        long objects = medianNanos(() -> {
+            Map<String, Long> counts = new HashMap<>();
+            for (Article article : articles) {
+                if (filter.test(article)) {
+                    counts.merge(article.getSource().getId(), 1L, Long::sum);
+                }
+            }
+            return counts.size();
+        });
+        long columnar = medianNanos(() -> store.countBySource(store.select(filter)).length);
+
+        System.out.printf("%-15s List<Article> %7.2f ms, columnar %6.2f ms, speedup %.1fx%n",
+                label + ":", objects / 1e6, columnar / 1e6, (double) objects / columnar);
+    }
+
+    private static long medianNanos(Query query) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += query.run();
+        }
+        long[] times = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            sink += query.run();
+            times[i] = System.nanoTime() - start;
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+
+    private static List<Article> syntheticArticles(int count) {
+        List<Source> sources = new ArrayList<>(SOURCES);
+        for (int i = 0; i < SOURCES; i++) {
+            sources.add(new Source("source-" + i, "Source " + i));
+        }
+        List<Article> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            articles.add(new Article(sources.get(i % SOURCES), "Author " + i,
+                    "Headline number " + i + " about the news of the day",
+                    "A description of article " + i + " that is about as long as a real one is.",
+                    "https://example.com/articles/" + i, "https://example.com/images/" + i + ".jpg",
+                    Instant.ofEpochMilli(START + i * 60_000L).toString(),
+                    "The body of article " + i + " is cut short here by the API as usual... [+2476 chars]"));
+        }
+        return articles;
+    }
+
+    private interface Query {
+        long run();
+    }
+}
@@ -0,0 +1,302 @@
+package parser;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+class CompressedInput {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int WINDOW_SIZE = 4 * 1024 * 1024;
+
+    private CompressedInput() {
+    }
+
+    /**
+     * Opens a file for reading, decompressing it on the fly if its magic bytes say it is compressed.
+     *
+     * Gzip files are decompressed as a stream; runs of small gzip members are decompressed one member
+     * per task in parallel, a bounded window at a time. Zstandard files are recognized but need a zstd codec, which this
+     * project does not ship, so they are rejected with a clear error instead of being parsed as text.
+     *
+     * @param filePath the path to the file to be read.
+     * @return an InputStream of the uncompressed contents.
+     * @throws IOException if the file cannot be read or uses an unsupported compression.
+     */
+    static InputStream open(String filePath) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(
+                new BufferedInputStream(Files.newInputStream(Paths.get(filePath)), BUFFER_SIZE), 4);
+        byte[] magic = new byte[4];
+        int read = 0;
+        int n;
+        while (read < magic.length && (n = in.read(magic, read, magic.length - read)) > 0) {
+            read += n;
+        }
+        in.unread(magic, 0, read);
+
+        if (read >= 2 && magic[0] == (byte) 0x1f && magic[1] == (byte) 0x8b) {
+            in.close();
+            return openGzip(Paths.get(filePath), WINDOW_SIZE);
+        }
+        if (read == 4 && magic[0] == (byte) 0x28 && magic[1] == (byte) 0xb5
+                && magic[2] == (byte) 0x2f && magic[3] == (byte) 0xfd) {
+            in.close();
+            throw new IOException("Zstandard-compressed input is not supported without a zstd codec: " + filePath);
+        }
+        return in;
+    }
+
+    /**
+     * Opens a gzip file as a stream. The compressed bytes are read through the file channel one window
+     * at a time, so neither the compressed nor the uncompressed file is ever held whole. Within a
+     * window, the members that end inside it are inflated in parallel and handed out in order; once a
+     * member is larger than a window, as in an ordinary single-member file, the rest of the file is
+     * streamed through GZIPInputStream instead.
+     *
+     * @param file        the gzip file.
+     * @param windowBytes the most compressed bytes read and inflated at once.
+     * @return an InputStream of the uncompressed contents.
+     * @throws IOException if the file cannot be opened.
+     */
+    static InputStream openGzip(Path file, int windowBytes) throws IOException {
+        return new MemberStream(FileChannel.open(file, StandardOpenOption.READ), windowBytes);
+    }
+
+    /**
+     * Finds every offset in a window that looks like the start of a gzip member. Compressed data can
+     * contain the same bytes by chance, so these are only candidates until a member is found to end at one.
+     */
+    private static List<Integer> memberCandidates(byte[] data, int length) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i + 10 <= length; i++) {
+            if (data[i] == (byte) 0x1f && data[i + 1] == (byte) 0x8b && data[i + 2] == 8 && (data[i + 3] & 0xe0) == 0) {
+                candidates.add(i);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Inflates every candidate member of a window in parallel, then chains the members from offset 0,
+     * each one starting where the previous one ended, for as long as they end inside the window.
+     *
+     * @return the chained members, in order; empty if the first member does not end inside the window.
+     */
+    private static List<Member> inflateMembersInParallel(byte[] data, int length, List<Integer> candidates) {
+        Map<Integer, Member> members = new HashMap<>();
+        candidates.parallelStream()
+                .map(start -> inflateMember(data, length, start))
+                .forEachOrdered(member -> {
+                    if (member != null) {
+                        members.put(member.start, member);
+                    }
+                });
+
+        List<Member> chain = new ArrayList<>();
+        Member member = members.get(0);
+        while (member != null) {
+            chain.add(member);
+            member = members.get(member.end);
+        }
+        return chain;
+    }
+
+    /**
+     * Inflates the single gzip member starting at the given offset and checks its CRC and length.
+     *
+     * @return the inflated Member, or null if the offset is not the start of a valid member.
+     */
+    private static Member inflateMember(byte[] data, int length, int start) {
+        int pos = skipHeader(data, length, start);
+        if (pos < 0) {
+            return null;
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, pos, length - pos);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    return null;
+                }
+                out.write(buffer, 0, n);
+            }
+            int trailer = length - inflater.getRemaining();
+            if (trailer + 8 > length) {
+                return null;
+            }
+            byte[] bytes = out.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            if (readInt(data, trailer) != (int) crc.getValue() || readInt(data, trailer + 4) != bytes.length) {
+                return null;
+            }
+            return new Member(start, trailer + 8, bytes);
+        } catch (DataFormatException e) {
+            return null;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Skips the gzip member header at the given offset.
+     *
+     * @return the offset of the deflate stream, or -1 if the header is malformed.
+     */
+    private static int skipHeader(byte[] data, int length, int start) {
+        int flags = data[start + 3];
+        int pos = start + 10;
+        if ((flags & 4) != 0) {
+            if (pos + 2 > length) {
+                return -1;
+            }
+            pos += 2 + ((data[pos] & 0xff) | (data[pos + 1] & 0xff) << 8);
+        }
+        if ((flags & 8) != 0) {
+            while (pos < length && data[pos] != 0) {
+                pos++;
+            }
+            pos++;
+        }
+        if ((flags & 16) != 0) {
+            while (pos < length && data[pos] != 0) {
+                pos++;
+            }
+            pos++;
+        }
+        if ((flags & 2) != 0) {
+            pos += 2;
+        }
+        return pos < length ? pos : -1;
+    }
+
+    private static int readInt(byte[] data, int pos) {
+        return (data[pos] & 0xff) | (data[pos + 1] & 0xff) << 8 | (data[pos + 2] & 0xff) << 16 | (data[pos + 3] & 0xff) << 24;
+    }
+
+    /**
+     * Hands out the members of a gzip file window by window, switching to GZIPInputStream for the
+     * rest of the file at the first member that does not fit in a window.
+     */
+    private static class MemberStream extends InputStream {
+        private final FileChannel channel;
+        private final byte[] window;
+        private final ArrayDeque<byte[]> ready = new ArrayDeque<>();
+        private final byte[] single = new byte[1];
+        private long position;
+        private byte[] current = new byte[0];
+        private int offset;
+        private InputStream rest;
+
+        private MemberStream(FileChannel channel, int windowBytes) {
+            this.channel = channel;
+            this.window = new byte[windowBytes];
+        }
+
+        @Override
+        public int read() throws IOException {
+            int n = read(single, 0, 1);
+            return n < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (offset == current.length) {
+                if (rest != null) {
+                    return rest.read(buffer, off, len);
+                }
+                if (ready.isEmpty() && !fill()) {
+                    continue;
+                }
+                if (ready.isEmpty()) {
+                    return -1;
+                }
+                current = ready.poll();
+                offset = 0;
+            }
+            int n = Math.min(len, current.length - offset);
+            System.arraycopy(current, offset, buffer, off, n);
+            offset += n;
+            return n;
+        }
+
+        /**
+         * Reads the next window and inflates the members that end in it.
+         *
+         * @return true if members were added or the file is done; false if the rest of the file is to
+         *         be streamed instead.
+         */
+        private boolean fill() throws IOException {
+            int length = 0;
+            ByteBuffer target = ByteBuffer.wrap(window);
+            while (target.hasRemaining() && channel.read(target, position + length) > 0) {
+                length = target.position();
+            }
+            if (length == 0) {
+                return true;
+            }
+            List<Integer> candidates = memberCandidates(window, length);
+            if (position > 0 && (candidates.isEmpty() || candidates.get(0) != 0)) {
+                // Trailing bytes after the last member are ignored, as GZIPInputStream does.
+                return true;
+            }
+            List<Member> chain = candidates.size() > 1
+                    ? inflateMembersInParallel(window, length, candidates) : Collections.emptyList();
+            if (chain.isEmpty()) {
+                // A member larger than the window, a single member, or damaged data, which
+                // GZIPInputStream reports as it always has.
+                rest = new GZIPInputStream(Channels.newInputStream(channel.position(position)), BUFFER_SIZE);
+                return false;
+            }
+            for (Member member : chain) {
+                ready.add(member.bytes);
+            }
+            position += chain.get(chain.size() - 1).end;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (rest != null) {
+                rest.close();
+            }
+            channel.close();
+        }
+    }
+
+    private static class Member {
+        private final int start;
+        private final int end;
+        private final byte[] bytes;
+
+        private Member(int start, int end, byte[] bytes) {
+            this.start = start;
+            this.end = end;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class CompressedInputTest {
+
+    /**
+     * Tests that a gzip-compressed NewsAPI file is read transparently.
+     */
+    @Test
+    void testGzipFile() throws IOException {
+        byte[] plain = Files.readAllBytes(Paths.get("inputs/newsapi.txt"));
+        Path gz = Files.createTempFile("newsapi", ".json.gz");
+        Files.write(gz, gzip(plain));
+
+        String json = fromFile(gz.toString());
+
+        assertEquals(new String(plain, StandardCharsets.UTF_8), json);
+        assertEquals(20, new NewsParser(json).parse().size());
+    }
+
+    /**
+     * Tests that a multi-member gzip file is decompressed member by member back to the original bytes.
+     */
+    @Test
+    void testMultiMemberGzip() throws IOException {
+        byte[] plain = Files.readAllBytes(Paths.get("inputs/newsapi.txt"));
+        int third = plain.length / 3;
+        ByteArrayOutputStream members = new ByteArrayOutputStream();
+        members.write(gzip(Arrays.copyOfRange(plain, 0, third)));
+        members.write(gzip(Arrays.copyOfRange(plain, third, 2 * third)));
+        members.write(gzip(Arrays.copyOfRange(plain, 2 * third, plain.length)));
+
+        Path gz = Files.createTempFile("members", ".json.gz");
+        Files.write(gz, members.toByteArray());
+
+        try (InputStream in = CompressedInput.openGzip(gz, 1 << 20)) {
+            assertArrayEquals(plain, in.readAllBytes());
+        }
+    }
+
+    /**
+     * Tests that members are inflated a bounded window at a time, that a member larger than the window
+     * switches to streaming for the rest of the file, and that trailing bytes are ignored.
+     */
+    @Test
+    void testMembersAcrossWindows() throws IOException {
+        byte[] plain = new FeedGenerator(5, 0, 8, 20, 30).newsApi(400).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream members = new ByteArrayOutputStream();
+        int chunk = plain.length / 40;
+        int end = 0;
+        while (end < plain.length * 3 / 4) {
+            members.write(gzip(Arrays.copyOfRange(plain, end, end + chunk)));
+            end += chunk;
+        }
+        members.write(gzip(Arrays.copyOfRange(plain, end, plain.length)));
+        int window = members.size() / 10;
+        members.write(new byte[16]);
+        Path gz = Files.createTempFile("members", ".json.gz");
+        Files.write(gz, members.toByteArray());
+
+        try (InputStream in = CompressedInput.openGzip(gz, window)) {
+            assertArrayEquals(plain, in.readAllBytes());
+        }
+        assertEquals(new String(plain, StandardCharsets.UTF_8), fromFile(gz.toString()));
+    }
+
+    /**
+     * Tests that Zstandard input is rejected with an IOException rather than parsed as text.
+     */
+    @Test
+    void testZstdIsRejected() throws IOException {
+        Path zst = Files.createTempFile("newsapi", ".json.zst");
+        Files.write(zst, new byte[]{0x28, (byte) 0xb5, 0x2f, (byte) 0xfd, 0, 0});
+
+        assertThrows(IOException.class, () -> fromFile(zst.toString()));
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
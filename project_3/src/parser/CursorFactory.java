@@ -0,0 +1,13 @@
+package parser;
+
+import java.io.InputStream;
+
+interface CursorFactory {
+    /**
+     * Creates a cursor that reads articles straight from a stream, as they are asked for.
+     *
+     * @param in the bytes of a file or URL; closing the cursor closes the stream.
+     * @return an ArticleCursor over the valid articles of the data.
+     */
+    ArticleCursor open(InputStream in);
+}
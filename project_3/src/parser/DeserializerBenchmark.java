@@ -0,0 +1,92 @@
+package parser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class DeserializerBenchmark {
+    private static final int ARTICLES = 20_000;
+    private static final int WARMUP = 20;
+    private static final int RUNS = 15;
+
+    /**
+     * Compares binding each article of a NewsAPI document with ObjectMapper, as RecoveringArticleReader
+     * and SimpleParser used to, against ArticleDeserializer, and reports the effect on NewsParser.parse().
+     * ArticleDeserializer cleans the text fields while it binds them, so the databind articles are
+     * normalized afterwards to do the same work.
+     *
+     * @param args command-line arguments (not used).
+     * @throws JsonProcessingException if the generated document cannot be bound.
+     */
+    public static void main(String[] args) throws JsonProcessingException {
+        String document = new FeedGenerator(1, 0, 10, 30, 40).newsApi(ARTICLES);
+        char[] chars = document.toCharArray();
+        List<int[]> objects = new ArrayList<>();
+        int start = document.indexOf('{', document.indexOf('['));
+        while (start >= 0) {
+            int end = RecoveringArticleReader.matchingBrace(document, start);
+            objects.add(new int[]{start, end + 1 - start});
+            start = document.indexOf('{', end + 1);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (int[] object : objects) {
+            if (!objectMapper.readValue(document.substring(object[0], object[0] + object[1]), Article.class).normalized()
+                    .equals(ArticleDeserializer.read(chars, object[0], object[1]))) {
+                throw new IllegalStateException("Results differ at offset " + object[0]);
+            }
+        }
+        System.out.printf("%d articles, %d KiB%n", objects.size(), document.length() / 1024);
+
+        long databind = medianNanos(() -> {
+            long n = 0;
+            for (int[] object : objects) {
+                n += objectMapper.readValue(document.substring(object[0], object[0] + object[1]), Article.class)
+                        .normalized().hashCode();
+            }
+            return n;
+        });
+        long streaming = medianNanos(() -> {
+            long n = 0;
+            for (int[] object : objects) {
+                n += ArticleDeserializer.read(chars, object[0], object[1]).hashCode();
+            }
+            return n;
+        });
+        System.out.printf("Per article: databind then normalized() %.0f ns, ArticleDeserializer %.0f ns, speedup %.2fx%n",
+                (double) databind / objects.size(), (double) streaming / objects.size(), (double) databind / streaming);
+
+        String simple = new FeedGenerator(2, 0, 10, 30, 40).simple();
+        long simpleDatabind = medianNanos(() -> new ObjectMapper().readValue(simple, Article.class).hashCode());
+        long simpleStreaming = medianNanos(() -> ArticleDeserializer.read(simple).hashCode());
+        System.out.printf("Simple document: new ObjectMapper per parse %.1f us, ArticleDeserializer %.1f us%n",
+                simpleDatabind / 1e3, simpleStreaming / 1e3);
+
+        long parse = medianNanos(() -> new NewsParser(document).parse().size());
+        System.out.printf("NewsParser.parse(): %.2f ms, %.0f MB/s%n", parse / 1e6, document.length() / (parse / 1e3));
+    }
+
+    private static long medianNanos(Task task) throws JsonProcessingException {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += task.run();
+        }
+        long[] times = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            sink += task.run();
+            times[i] = System.nanoTime() - start;
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+
+    private interface Task {
+        long run() throws JsonProcessingException;
+    }
+}
@@ -0,0 +1,152 @@
+package parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+class FeedGenerator {
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final String[][] SOURCES = {
+            {"cnn", "CNN"}, {"bbc-news", "BBC News"}, {"the-hill", "The Hill"}, {"reuters", "Reuters"},
+            {"associated-press", "Associated Press"}, {"the-verge", "The Verge"}, {"espn", "ESPN"},
+            {null, "Yahoo Entertainment"}, {null, "Fox Business"}, {null, "CNBC"}
+    };
+    private static final String[] WORDS = {
+            "the", "coronavirus", "vaccine", "market", "election", "senate", "stocks", "climate", "team", "wins",
+            "report", "after", "new", "says", "court", "police", "live", "updates", "first", "week", "bitcoin",
+            "price", "record", "season", "game", "deal", "biden", "plan", "china", "covid-19", "\u00e9t\u00e9",
+            "caf\u00e9", "\"quoted\"", "M&A", "<b>bold</b>"
+    };
+    private static final String[] REQUIRED = {"title", "description", "url", "publishedAt"};
+    private static final long START = Instant.parse("2021-03-24T00:00:00Z").toEpochMilli();
+    private static final DateTimeFormatter SIMPLE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+    private final Random random;
+    private final double invalidRatio;
+    private final int titleWords;
+    private final int descriptionWords;
+    private final int contentWords;
+    private long sequence;
+
+    /**
+     * Creates a generator of synthetic feeds that look like the NewsAPI and Simple inputs.
+     *
+     * @param seed             the random seed; the same seed and settings give the same feeds.
+     * @param invalidRatio     the fraction of articles, from 0 to 1, missing one of the required fields.
+     * @param titleWords       the average number of words in a title.
+     * @param descriptionWords the average number of words in a description.
+     * @param contentWords     the average number of words in the content.
+     */
+    FeedGenerator(long seed, double invalidRatio, int titleWords, int descriptionWords, int contentWords) {
+        if (invalidRatio < 0 || invalidRatio > 1) {
+            throw new IllegalArgumentException("Invalid ratio must be between 0 and 1: " + invalidRatio);
+        }
+        this.random = new Random(seed);
+        this.invalidRatio = invalidRatio;
+        this.titleWords = titleWords;
+        this.descriptionWords = descriptionWords;
+        this.contentWords = contentWords;
+    }
+
+    /**
+     * Generates a NewsAPI response with the given number of articles, newest first like the real API.
+     *
+     * @param count the number of articles.
+     * @return the JSON document.
+     */
+    String newsApi(int count) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeStringField("status", "ok");
+            generator.writeNumberField("totalResults", count);
+            generator.writeArrayFieldStart("articles");
+            for (int i = count - 1; i >= 0; i--) {
+                writeArticle(generator, i, true);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Generates a Simple format document holding one article.
+     *
+     * @return the JSON document.
+     */
+    String simple() {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+            generator.useDefaultPrettyPrinter();
+            writeArticle(generator, 0, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    private void writeArticle(JsonGenerator generator, int index, boolean newsApi) throws IOException {
+        long id = sequence++;
+        String missing = random.nextDouble() < invalidRatio ? REQUIRED[random.nextInt(REQUIRED.length)] : null;
+        long millis = START + index * 60_000L + random.nextInt(60_000);
+
+        generator.writeStartObject();
+        if (newsApi) {
+            String[] source = SOURCES[random.nextInt(SOURCES.length)];
+            generator.writeObjectFieldStart("source");
+            generator.writeStringField("id", source[0]);
+            generator.writeStringField("name", source[1]);
+            generator.writeEndObject();
+            generator.writeStringField("author", random.nextInt(4) == 0 ? null : capitalize(words(2)));
+        }
+        if (!"title".equals(missing)) {
+            generator.writeStringField("title", capitalize(words(titleWords)));
+        }
+        if (!"description".equals(missing)) {
+            generator.writeStringField("description", capitalize(words(descriptionWords)) + ".");
+        }
+        if (!"url".equals(missing)) {
+            generator.writeStringField("url", "https://news.example.com/" + id + "/" + words(3).replace(' ', '-'));
+        }
+        if (newsApi) {
+            generator.writeStringField("urlToImage", "https://news.example.com/images/" + id + ".jpg");
+        }
+        if (!"publishedAt".equals(missing)) {
+            generator.writeStringField("publishedAt", newsApi
+                    ? Instant.ofEpochMilli(millis).toString()
+                    : LocalDateTime.ofEpochSecond(millis / 1000, 0, ZoneOffset.UTC).format(SIMPLE_TIME));
+        }
+        if (newsApi) {
+            generator.writeStringField("content", capitalize(words(contentWords)) + "\u2026 [+" + random.nextInt(5000) + " chars]");
+        }
+        generator.writeEndObject();
+    }
+
+    private String words(int average) {
+        int count = Math.max(1, average / 2 + random.nextInt(average + 1));
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+}
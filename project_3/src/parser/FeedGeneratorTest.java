@@ -0,0 +1,50 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedGeneratorTest {
+
+    /**
+     * Tests that a generated NewsAPI feed parses to the requested number of articles when all are valid.
+     */
+    @Test
+    void testNewsApiFeed() {
+        String feed = new FeedGenerator(1, 0, 8, 20, 30).newsApi(500);
+        List<Article> articles = new NewsParser(feed).parse();
+
+        assertEquals(500, articles.size());
+        for (Article article : articles) {
+            assertTrue(article.isValid());
+            assertNotEquals(Timestamps.UNKNOWN, Timestamps.toEpochMillis(article.getPublishedAt()));
+        }
+        assertTrue(Timestamps.toEpochMillis(articles.get(0).getPublishedAt())
+                > Timestamps.toEpochMillis(articles.get(499).getPublishedAt()), "Feeds are newest first.");
+    }
+
+    /**
+     * Tests that the invalid ratio controls how many articles are rejected by validation.
+     */
+    @Test
+    void testInvalidRatio() {
+        assertEquals(0, new NewsParser(new FeedGenerator(2, 1, 8, 20, 30).newsApi(200)).parse().size());
+
+        int valid = new NewsParser(new FeedGenerator(3, 0.25, 8, 20, 30).newsApi(2000)).parse().size();
+        assertTrue(valid > 1400 && valid < 1600, "About three quarters should be valid, got " + valid);
+    }
+
+    /**
+     * Tests that the same seed gives the same feed, and that Simple feeds parse with SimpleParser.
+     */
+    @Test
+    void testSeedAndSimpleFeed() {
+        assertEquals(new FeedGenerator(4, 0.1, 8, 20, 30).newsApi(50), new FeedGenerator(4, 0.1, 8, 20, 30).newsApi(50));
+
+        List<Article> articles = new SimpleParser(new FeedGenerator(5, 0, 8, 20, 30).simple()).parse();
+        assertEquals(1, articles.size());
+        assertNotEquals(Timestamps.UNKNOWN, Timestamps.toEpochMillis(articles.get(0).getPublishedAt()));
+    }
+}
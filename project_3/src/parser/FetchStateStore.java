@@ -0,0 +1,146 @@
+package parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+class FetchStateStore {
+    private static final String BREAKERS_FILE = "breakers.properties";
+
+    private final Path directory;
+    private final Path breakersPath;
+    private final Properties breakers = new Properties();
+
+    /**
+     * Opens the state kept between runs for fetched URLs: the circuit breaker of each host in a
+     * properties file, and the articles last parsed from each URL in a file of ArticleCodec records.
+     * The directory is created if needed and an existing breakers file is loaded.
+     *
+     * @param directory the directory holding the state.
+     * @throws IOException if the directory cannot be created or the breakers file cannot be read.
+     */
+    FetchStateStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.breakersPath = directory.resolve(BREAKERS_FILE);
+        if (Files.exists(breakersPath)) {
+            try (InputStream in = Files.newInputStream(breakersPath)) {
+                breakers.load(in);
+            }
+        }
+    }
+
+    /**
+     * Restores a host's breaker to the state saved by an earlier run, if there is one.
+     *
+     * @param host    the host the breaker guards.
+     * @param breaker a breaker freshly created for that host.
+     */
+    synchronized void restore(String host, CircuitBreaker breaker) {
+        String outcomes = breakers.getProperty(host + ".outcomes");
+        if (outcomes != null) {
+            breaker.restore(outcomes, Long.parseLong(breakers.getProperty(host + ".openUntil", "0")));
+        }
+    }
+
+    /**
+     * Saves the state of a host's breaker and writes the breakers file, replacing it atomically.
+     *
+     * @param host    the host the breaker guards.
+     * @param breaker the breaker to save.
+     * @throws IOException if the breakers file cannot be written.
+     */
+    synchronized void save(String host, CircuitBreaker breaker) throws IOException {
+        breakers.setProperty(host + ".outcomes", breaker.getOutcomes());
+        breakers.setProperty(host + ".openUntil", Long.toString(breaker.getOpenUntil()));
+        Path temp = breakersPath.resolveSibling(BREAKERS_FILE + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            breakers.store(out, "Circuit breakers per host");
+        }
+        Files.move(temp, breakersPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Retrieves the articles last cached for a URL, in this run or an earlier one.
+     *
+     * @param url the URL the articles were parsed from.
+     * @return the cached articles, or an empty list if none were cached.
+     * @throws IOException if the cache file cannot be read.
+     */
+    List<Article> cachedArticles(String url) throws IOException {
+        Path file = articlesPath(url);
+        if (!Files.exists(file)) {
+            return Collections.emptyList();
+        }
+        List<Article> articles = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                articles.add(ArticleCodec.decode(record, 0));
+            }
+        }
+        return articles;
+    }
+
+    /**
+     * Replaces the articles cached for a URL. The file is replaced atomically, so a crash keeps the
+     * previous set rather than leaving a half-written one.
+     *
+     * @param url      the URL the articles were parsed from.
+     * @param articles the articles to cache.
+     * @throws IOException if the cache file cannot be written.
+     */
+    void cacheArticles(String url, List<Article> articles) throws IOException {
+        Path file = articlesPath(url);
+        Path temp = Files.createTempFile(directory, "articles", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            for (Article article : articles) {
+                byte[] record = ArticleCodec.encode(article);
+                out.writeInt(record.length);
+                out.write(record);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Names a URL's cache file after a digest of the URL, since URLs are not valid file names.
+     */
+    private Path articlesPath(String url) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required of every Java platform", e);
+        }
+        StringBuilder name = new StringBuilder("articles-");
+        for (int i = 0; i < 16; i++) {
+            name.append(String.format("%02x", digest[i]));
+        }
+        return directory.resolve(name.append(".bin").toString());
+    }
+}
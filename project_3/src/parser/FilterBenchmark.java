@@ -0,0 +1,67 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class FilterBenchmark {
+    private static final int ARTICLES = 20_000;
+    private static final int SOURCES = 100;
+    private static final int WARMUP = 20;
+    private static final int RUNS = 15;
+
+    /**
+     * Compares binding every article and filtering afterwards against pushing the filter down into
+     * the streaming reader, at 1%, 10% and 50% selectivity on Source id.
+     *
+     * @param args command-line arguments (not used).
+     */
+    public static void main(String[] args) {
+        String document = syntheticDocument(ARTICLES);
+        System.out.printf("%d articles, %d KiB%n", ARTICLES, document.length() / 1024);
+
+        for (int percent : new int[]{1, 10, 50}) {
+            String[] ids = new String[percent * SOURCES / 100];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = "source-" + i;
+            }
+            ArticleFilter filter = ArticleFilter.all().withSourceIds(ids);
+
+            long bindThenFilter = medianNanos(() -> new NewsParser(document).parse().stream().filter(filter::test).count());
+            long pushdown = medianNanos(() -> new NewsParser(document).parse(filter).size());
+
+            System.out.printf("%2d%% selectivity: bind+filter %6.2f ms, pushdown %6.2f ms, speedup %.2fx%n",
+                    percent, bindThenFilter / 1e6, pushdown / 1e6, (double) bindThenFilter / pushdown);
+        }
+    }
+
+    private static long medianNanos(Runnable task) {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+        long[] times = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+
+    private static String syntheticDocument(int count) {
+        List<String> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int source = i % SOURCES;
+            articles.add("{\"source\":{\"id\":\"source-" + source + "\",\"name\":\"Source " + source + "\"},"
+                    + "\"author\":\"Author " + i + "\","
+                    + "\"title\":\"Headline number " + i + " about the news of the day\","
+                    + "\"description\":\"A description of article " + i + " that is about as long as a real one is.\","
+                    + "\"url\":\"https://example.com/articles/" + i + "\","
+                    + "\"urlToImage\":\"https://example.com/images/" + i + ".jpg\","
+                    + "\"publishedAt\":\"2021-03-24T" + String.format("%02d:%02d:00Z", (i / 60) % 24, i % 60) + "\","
+                    + "\"content\":\"The body of article " + i + " is cut short here by the API as usual... [+2476 chars]\"}");
+        }
+        return "{\"status\":\"ok\",\"totalResults\":" + count + ",\"articles\":[" + String.join(",", articles) + "]}";
+    }
+}
@@ -0,0 +1,192 @@
+package parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+class FilteringArticleReader {
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private FilteringArticleReader() {
+    }
+
+    /**
+     * Reads the articles of a NewsAPI document that pass a filter, checking each condition as soon as
+     * its field has been read.
+     *
+     * When a condition fails, the rest of that article is skipped token by token, so its remaining
+     * strings are never decoded. Articles missing a field that the filter checks are rejected. Titles
+     * are checked once cleaned by TextNormalizer, and accepted articles come back normalized.
+     *
+     * An article read in full that databind would reject, because it has an unknown field or an
+     * object or array where text belongs, fails the whole read, so the caller can fall back to the
+     * recovering parse and end up with the same articles as without the filter.
+     *
+     * @param document the NewsAPI JSON document.
+     * @param filter   the conditions the articles must meet.
+     * @return a List of the accepted articles, valid or not.
+     * @throws IOException if the document is not well-formed JSON, or an article would not bind.
+     */
+    static List<Article> read(String document, ArticleFilter filter) throws IOException {
+        List<Article> articles = new ArrayList<>();
+        try (JsonParser parser = jsonFactory.createParser(document)) {
+            if (!seekArticles(parser)) {
+                return articles;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                Article article = readArticle(parser, filter);
+                if (article != null) {
+                    articles.add(article);
+                }
+            }
+        }
+        return articles;
+    }
+
+    /**
+     * Advances a fresh parser to just inside the document's "articles" array.
+     *
+     * @return true if the array was found; false if the document has none.
+     */
+    static boolean seekArticles(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (name.equals("articles") && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * Reads one article object, returning null and skipping the rest of it as soon as a condition fails.
+     */
+    static Article readArticle(JsonParser parser, ArticleFilter filter) throws IOException {
+        Source source = null;
+        String author = null;
+        String title = null;
+        String description = null;
+        String url = null;
+        String urlToImage = null;
+        String publishedAt = null;
+        String content = null;
+        String cleanedTitle = null;
+        boolean sourceChecked = !filter.filtersSource();
+        boolean timeChecked = !filter.filtersTime();
+        boolean titleChecked = !filter.filtersTitle();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "source":
+                    source = readSource(parser);
+                    if (!filter.acceptsSourceId(source == null ? null : source.getId())) {
+                        return skipRest(parser);
+                    }
+                    sourceChecked = true;
+                    break;
+                case "title":
+                    title = text(parser);
+                    if (filter.filtersTitle()) {
+                        cleanedTitle = TextNormalizer.clean(title);
+                        if (!filter.acceptsTitle(cleanedTitle)) {
+                            return skipRest(parser);
+                        }
+                    }
+                    titleChecked = true;
+                    break;
+                case "publishedAt":
+                    publishedAt = text(parser);
+                    if (!filter.acceptsPublishedAt(publishedAt)) {
+                        return skipRest(parser);
+                    }
+                    timeChecked = true;
+                    break;
+                case "author":
+                    author = text(parser);
+                    break;
+                case "description":
+                    description = text(parser);
+                    break;
+                case "url":
+                    url = text(parser);
+                    break;
+                case "urlToImage":
+                    urlToImage = text(parser);
+                    break;
+                case "content":
+                    content = text(parser);
+                    break;
+                default:
+                    throw unrecognized(parser, name, "Article");
+            }
+        }
+
+        if (!sourceChecked || !timeChecked || !titleChecked) {
+            return null;
+        }
+        Article article = new Article(source, author, title, description, url, urlToImage, publishedAt, content);
+        // A title the filter checked is already cleaned; the rest are cleaned only for accepted articles.
+        return filter.filtersTitle() ? article.normalized(cleanedTitle) : article.normalized();
+    }
+
+    private static Source readSource(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Cannot bind a Source from " + parser.currentToken());
+        }
+        String id = null;
+        String name = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (field.equals("id")) {
+                id = text(parser);
+            } else if (field.equals("name")) {
+                name = text(parser);
+            } else {
+                throw unrecognized(parser, field, "Source");
+            }
+        }
+        return new Source(id, name);
+    }
+
+    /**
+     * Reads a text value as databind binds it: scalars as their text and null as null.
+     */
+    private static String text(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            throw new JsonParseException(parser, "Cannot bind a String from " + token);
+        }
+        return parser.getValueAsString();
+    }
+
+    private static JsonParseException unrecognized(JsonParser parser, String field, String type) {
+        return new JsonParseException(parser, "Unrecognized field \"" + field + "\" of " + type);
+    }
+
+    private static Article skipRest(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+package parser;
+
+enum FormatCapability {
+    /** The data is a sequence of independent top-level objects that can be parsed in separate chunks. */
+    SPLITTABLE,
+    /** Articles can be read one at a time straight from a stream, through the format's cursor factory. */
+    STREAMABLE,
+    /** The parser can skip fields or articles it was not asked for while reading. */
+    PROJECTION
+}
@@ -0,0 +1,215 @@
+package parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class FormatRegistry {
+    private static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    static class Entry {
+        private final ParserFactory factory;
+        private final CursorFactory cursorFactory;
+        private final Set<FormatCapability> capabilities;
+
+        private Entry(ParserFactory factory, CursorFactory cursorFactory, Set<FormatCapability> capabilities) {
+            this.factory = factory;
+            this.cursorFactory = cursorFactory;
+            this.capabilities = capabilities;
+        }
+
+        /**
+         * Retrieves the factory that creates parsers for this format.
+         *
+         * @return the ParserFactory of this entry.
+         */
+        ParserFactory getFactory() {
+            return factory;
+        }
+
+        /**
+         * Retrieves the factory that creates streaming cursors for this format.
+         *
+         * @return the CursorFactory of this entry, or null if the format is not STREAMABLE.
+         */
+        CursorFactory getCursorFactory() {
+            return cursorFactory;
+        }
+
+        /**
+         * Checks whether this format declared the given capability.
+         *
+         * @param capability the capability to check.
+         * @return true if the format has the capability; false otherwise.
+         */
+        boolean has(FormatCapability capability) {
+            return capabilities.contains(capability);
+        }
+    }
+
+    private final Map<SourceFormat, Entry> entries = new HashMap<>();
+
+    /**
+     * Creates a registry holding the built-in NewsAPI and Simple formats.
+     *
+     * A Simple document holds one article, and SimpleParser binds only the first object of its data,
+     * so SIMPLE is not SPLITTABLE: splitting would turn trailing objects into extra articles.
+     *
+     * @return a FormatRegistry with NEWSAPI and SIMPLE registered for files and URLs.
+     */
+    static FormatRegistry defaults() {
+        FormatRegistry registry = new FormatRegistry();
+        registry.register(new SourceFormat(SourceEnum.FILE, FormatEnum.NEWSAPI), NewsParser::new,
+                NewsArticleCursor::new, FormatCapability.STREAMABLE, FormatCapability.PROJECTION);
+        registry.register(new SourceFormat(SourceEnum.URL, FormatEnum.NEWSAPI), NewsParser::new,
+                NewsArticleCursor::new, FormatCapability.STREAMABLE, FormatCapability.PROJECTION);
+        registry.register(new SourceFormat(SourceEnum.FILE, FormatEnum.SIMPLE), SimpleParser::new);
+        registry.register(new SourceFormat(SourceEnum.URL, FormatEnum.SIMPLE), SimpleParser::new);
+        return registry;
+    }
+
+    /**
+     * Registers a parser factory for a source format, replacing any earlier registration.
+     *
+     * @param sourceFormat the source and format combination handled by the factory.
+     * @param factory      the factory creating parsers for that combination.
+     * @param capabilities the capabilities the parsers provide.
+     */
+    void register(SourceFormat sourceFormat, ParserFactory factory, FormatCapability... capabilities) {
+        register(sourceFormat, factory, null, capabilities);
+    }
+
+    /**
+     * Registers a parser factory and a cursor factory for a source format, replacing any earlier
+     * registration. The cursor factory is what a STREAMABLE format streams its articles with.
+     *
+     * @param sourceFormat  the source and format combination handled by the factories.
+     * @param factory       the factory creating parsers for that combination.
+     * @param cursorFactory the factory creating streaming cursors for that combination; may be null
+     *                      unless the format is STREAMABLE.
+     * @param capabilities  the capabilities the parsers provide.
+     * @throws IllegalArgumentException if the format is STREAMABLE without a cursor factory.
+     */
+    void register(SourceFormat sourceFormat, ParserFactory factory, CursorFactory cursorFactory,
+                  FormatCapability... capabilities) {
+        Set<FormatCapability> set = EnumSet.noneOf(FormatCapability.class);
+        Collections.addAll(set, capabilities);
+        if (set.contains(FormatCapability.STREAMABLE) && cursorFactory == null) {
+            throw new IllegalArgumentException("A STREAMABLE format needs a cursor factory: " + sourceFormat);
+        }
+        entries.put(sourceFormat, new Entry(factory, cursorFactory, set));
+    }
+
+    /**
+     * Retrieves the entry registered for a source format.
+     *
+     * @param sourceFormat the source and format combination to look up.
+     * @return the registered Entry.
+     * @throws IllegalArgumentException if nothing is registered for the combination.
+     */
+    Entry lookup(SourceFormat sourceFormat) {
+        Entry entry = entries.get(sourceFormat);
+        if (entry == null) {
+            throw new IllegalArgumentException("Unsupported source format: " + sourceFormat);
+        }
+        return entry;
+    }
+
+    /**
+     * Parses data with the parser registered for its source format, picking the execution path from
+     * the format's capabilities. SPLITTABLE data is always cut at top-level object boundaries and each
+     * piece parsed on its own, so the result does not depend on the size of the data; only large data
+     * has its pieces parsed in parallel. Everything else goes through the visitor in a single pass.
+     *
+     * @param sourceFormat the source and format combination of the data.
+     * @param data         the loaded contents of a file or URL.
+     * @param visitor      the visitor to process the parsed articles.
+     * @return a List of valid Article objects, in input order.
+     * @throws IllegalArgumentException if nothing is registered for the combination.
+     */
+    List<Article> parse(SourceFormat sourceFormat, String data, ParserVisitor visitor) {
+        Entry entry = lookup(sourceFormat);
+        if (entry.has(FormatCapability.SPLITTABLE)) {
+            List<String> objects = splitObjects(data);
+            Stream<String> pieces = data.length() >= PARALLEL_THRESHOLD ? objects.parallelStream() : objects.stream();
+            return pieces.map(chunk -> entry.getFactory().create(chunk).accept(visitor))
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList());
+        }
+        return entry.getFactory().create(data).accept(visitor);
+    }
+
+    /**
+     * Parses data with the parser registered for its source format, keeping only the articles that
+     * pass a filter. Formats with the PROJECTION capability evaluate the filter while reading; the
+     * others are parsed as usual and filtered afterwards.
+     *
+     * @param sourceFormat the source and format combination of the data.
+     * @param data         the loaded contents of a file or URL.
+     * @param visitor      the visitor to process the parsed articles.
+     * @param filter       the conditions the articles must meet.
+     * @return a List of valid Article objects accepted by the filter, in input order.
+     * @throws IllegalArgumentException if nothing is registered for the combination.
+     */
+    List<Article> parse(SourceFormat sourceFormat, String data, ParserVisitor visitor, ArticleFilter filter) {
+        Entry entry = lookup(sourceFormat);
+        if (entry.has(FormatCapability.PROJECTION)) {
+            return entry.getFactory().create(data).parse(filter);
+        }
+        return parse(sourceFormat, data, visitor).stream().filter(filter::test).collect(Collectors.toList());
+    }
+
+    /**
+     * Opens a cursor over the valid articles of a stream with the format registered for its source
+     * format. STREAMABLE formats read the stream through their cursor factory, one article at a time,
+     * without the visitor; the others have the whole stream loaded and parsed as parse does.
+     *
+     * @param sourceFormat the source and format combination of the data.
+     * @param in           the bytes of a file or URL; closing the cursor closes the stream.
+     * @param visitor      the visitor to process the parsed articles of formats that are not STREAMABLE.
+     * @return a cursor over the valid articles, in input order.
+     * @throws IOException              if the stream of a format that is not STREAMABLE cannot be read.
+     * @throws IllegalArgumentException if nothing is registered for the combination.
+     */
+    ArticleCursor cursor(SourceFormat sourceFormat, InputStream in, ParserVisitor visitor) throws IOException {
+        Entry entry = lookup(sourceFormat);
+        if (entry.has(FormatCapability.STREAMABLE)) {
+            return entry.getCursorFactory().open(in);
+        }
+        String data;
+        try (InputStream stream = in) {
+            data = Main.read(stream);
+        }
+        return ArticlePublisher.cursorOver(parse(sourceFormat, data, visitor));
+    }
+
+    /**
+     * Cuts data made of consecutive top-level JSON objects into one string per object.
+     * A trailing incomplete object is kept as its own piece so its parser reports the error.
+     *
+     * @param data the data to split.
+     * @return the objects in input order.
+     */
+    static List<String> splitObjects(String data) {
+        List<String> objects = new ArrayList<>();
+        int pos = data.indexOf('{');
+        while (pos >= 0) {
+            int end = RecoveringArticleReader.matchingBrace(data, pos);
+            if (end < 0) {
+                objects.add(data.substring(pos));
+                break;
+            }
+            objects.add(data.substring(pos, end + 1));
+            pos = data.indexOf('{', end + 1);
+        }
+        return objects;
+    }
+}
@@ -0,0 +1,131 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class FormatRegistryTest {
+
+    private final ParserVisitor parserVisitor = new ParserVisitorImplementation();
+    private final FormatRegistry registry = FormatRegistry.defaults();
+
+    /**
+     * Tests that the built-in NewsAPI entry behaves like NewsParser.
+     */
+    @Test
+    void testNewsApiEntry() throws IOException {
+        String json = fromFile("inputs/newsapi.txt");
+        SourceFormat newsApiSource = new SourceFormat(SourceEnum.FILE, FormatEnum.NEWSAPI);
+
+        assertTrue(registry.lookup(newsApiSource).getFactory().create(json) instanceof NewsParser);
+        assertEquals(20, registry.parse(newsApiSource, json, parserVisitor).size());
+    }
+
+    /**
+     * Tests that SIMPLE format is parsed from URLs as it was before the registry existed.
+     */
+    @Test
+    void testSimpleFromUrl() {
+        SourceFormat urlSource = new SourceFormat(SourceEnum.URL, FormatEnum.SIMPLE);
+        String json = "{\"title\": \"t\", \"description\": \"d\", \"publishedAt\": \"p\", \"url\": \"u\"}";
+
+        assertTrue(registry.lookup(urlSource).getFactory().create(json) instanceof SimpleParser);
+        assertEquals(1, registry.parse(urlSource, json, parserVisitor).size());
+    }
+
+    /**
+     * Tests that Simple data gives the same single article whatever its size.
+     */
+    @Test
+    void testSimpleIsNotSplit() throws IOException {
+        String one = fromFile("inputs/simple_valid.txt");
+        SourceFormat simpleSource = new SourceFormat(SourceEnum.FILE, FormatEnum.SIMPLE);
+
+        assertEquals(1, registry.parse(simpleSource, one + one, parserVisitor).size());
+        assertEquals(1, registry.parse(simpleSource, repeat(one, 1 << 20), parserVisitor).size());
+    }
+
+    /**
+     * Tests that splittable data is parsed piece by piece and keeps input order, whether or not it is
+     * large enough to be parsed in parallel.
+     */
+    @Test
+    void testSplittableParallelPath() throws IOException {
+        String one = fromFile("inputs/simple_valid.txt");
+        String data = repeat(one, 1 << 20);
+        int copies = data.length() / one.length();
+        SourceFormat splittable = new SourceFormat(SourceEnum.FILE, FormatEnum.SIMPLE);
+        registry.register(splittable, SimpleParser::new, FormatCapability.SPLITTABLE);
+
+        List<Article> articles = registry.parse(splittable, data, parserVisitor);
+
+        assertEquals(copies, articles.size());
+        assertEquals(new SimpleParser(one).parse().get(0), articles.get(copies - 1));
+        assertEquals(3, registry.parse(splittable, one + one + one, parserVisitor).size(),
+                "Small splittable data is split the same way.");
+    }
+
+    /**
+     * Tests that STREAMABLE formats are opened as streaming cursors, and the others are loaded and
+     * parsed before their articles are handed out.
+     */
+    @Test
+    void testCursorFollowsCapabilities() throws IOException {
+        SourceFormat newsApiSource = new SourceFormat(SourceEnum.FILE, FormatEnum.NEWSAPI);
+        SourceFormat simpleSource = new SourceFormat(SourceEnum.FILE, FormatEnum.SIMPLE);
+
+        try (ArticleCursor cursor = registry.cursor(newsApiSource, CompressedInput.open("inputs/newsapi.txt"), parserVisitor)) {
+            assertTrue(cursor instanceof NewsArticleCursor);
+            assertEquals(registry.parse(newsApiSource, fromFile("inputs/newsapi.txt"), parserVisitor), drain(cursor));
+        }
+        try (ArticleCursor cursor = registry.cursor(simpleSource, CompressedInput.open("inputs/simple_valid.txt"), parserVisitor)) {
+            assertFalse(cursor instanceof NewsArticleCursor);
+            assertEquals(1, drain(cursor).size());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.register(simpleSource, SimpleParser::new, FormatCapability.STREAMABLE));
+    }
+
+    /**
+     * Tests that a newly registered format works with existing visitors through the generic visit.
+     */
+    @Test
+    void testCustomFormatRegistration() {
+        SourceFormat custom = new SourceFormat(SourceEnum.URL, FormatEnum.SIMPLE);
+        registry.register(custom, data -> new Parser() {
+            public List<Article> parse() {
+                return Collections.singletonList(new SimpleParser(data).parse().get(0));
+            }
+
+            public List<Article> accept(ParserVisitor visitor) {
+                return visitor.visit(this);
+            }
+        });
+
+        String json = "{\"title\": \"t\", \"description\": \"d\", \"publishedAt\": \"p\", \"url\": \"u\"}";
+        assertEquals(1, registry.parse(custom, json, parserVisitor).size());
+    }
+
+    private static List<Article> drain(ArticleCursor cursor) throws IOException {
+        List<Article> articles = new ArrayList<>();
+        Article article;
+        while ((article = cursor.next()) != null) {
+            articles.add(article);
+        }
+        return articles;
+    }
+
+    private static String repeat(String one, int minLength) {
+        StringBuilder data = new StringBuilder();
+        while (data.length() < minLength) {
+            data.append(one);
+        }
+        return data.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package parser;
+
+class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = {0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+
+    private final byte[] counters;
+    private final int width;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Creates a count-min sketch of small counters that estimates how often keys were seen recently.
+     *
+     * @param expectedKeys the number of keys the cache holds; the sketch is sized and aged for it.
+     */
+    FrequencySketch(int expectedKeys) {
+        // Four counters per key keeps one-off keys of a scan from saturating the counters of popular ones.
+        int width = 16;
+        while (width < 4L * expectedKeys && width < 1 << 28) {
+            width <<= 1;
+        }
+        this.width = width;
+        this.counters = new byte[DEPTH * width];
+        this.sampleSize = 10 * Math.max(expectedKeys, 1);
+    }
+
+    /**
+     * Records one occurrence of a key. After a sample of ten times the expected keys, every counter is
+     * halved so that the sketch follows changes in popularity.
+     *
+     * @param hash the key's 64-bit hash.
+     */
+    void increment(long hash) {
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(hash, row);
+            if (counters[index] < MAX_COUNT) {
+                counters[index]++;
+            }
+        }
+        if (++additions >= sampleSize) {
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] >>= 1;
+            }
+            additions >>>= 1;
+        }
+    }
+
+    /**
+     * Estimates how often a key was seen recently.
+     *
+     * @param hash the key's 64-bit hash.
+     * @return the estimated count, from 0 to 15.
+     */
+    int frequency(long hash) {
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, counters[index(hash, row)]);
+        }
+        return frequency;
+    }
+
+    private int index(long hash, int row) {
+        long h = (hash ^ SEEDS[row]) * 0x9E3779B97F4A7C15L;
+        return row * width + ((int) (h >>> 32) & (width - 1));
+    }
+}
@@ -0,0 +1,131 @@
+package parser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+class GovernedIngestion {
+    private final HeapGovernor governor;
+    private final int threads;
+    private final Path spillDirectory;
+    private final long admissionTimeoutMillis;
+    private final List<SourceFormat> sourceFormats = new ArrayList<>();
+    private final List<String> sources = new ArrayList<>();
+    private final ParserVisitor visitor = new ParserVisitorImplementation();
+
+    /**
+     * Creates an ingestion run that parses several sources at once under a heap governor.
+     *
+     * @param governor               decides the batch sizes, when sources are admitted and when to spill.
+     * @param threads                how many sources are parsed at the same time.
+     * @param spillDirectory         where articles are spilled to under pressure.
+     * @param admissionTimeoutMillis the longest time a source waits for admission under critical pressure.
+     */
+    GovernedIngestion(HeapGovernor governor, int threads, Path spillDirectory, long admissionTimeoutMillis) {
+        this.governor = governor;
+        this.threads = threads;
+        this.spillDirectory = spillDirectory;
+        this.admissionTimeoutMillis = admissionTimeoutMillis;
+    }
+
+    /**
+     * Adds a source to the run.
+     *
+     * @param sourceFormat the source type and format of the source.
+     * @param source       the path to the file or the URL.
+     */
+    void add(SourceFormat sourceFormat, String source) {
+        sourceFormats.add(sourceFormat);
+        sources.add(source);
+    }
+
+    /**
+     * Parses every source and passes the valid articles to a sink.
+     *
+     * Each source waits for admission before it is opened. NewsAPI files are read through a streaming
+     * cursor, so neither the file contents nor its full article list is held in memory; other sources
+     * are loaded and parsed as Main does. Articles are handed to a shared buffer in batches of the
+     * governor's current size, and the buffer spills them to disk while the heap is under critical
+     * pressure. Spilled articles are read back once the pressure drops, or once every source is done
+     * and the spill file can be streamed to the sink one article at a time. The sink is called from the calling thread only, in the order each source's articles
+     * were read, with sources interleaved. A source that fails is logged and skipped, as in Main.
+     *
+     * @param sink receives each valid article.
+     * @return the number of articles passed to the sink.
+     * @throws IOException if the spill file cannot be written or read.
+     * @throws InterruptedException if interrupted while waiting for the sources.
+     */
+    int run(Consumer<Article> sink) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        int delivered = 0;
+        try (SpillingArticleBuffer buffer = new SpillingArticleBuffer(governor, spillDirectory)) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < sources.size(); i++) {
+                SourceFormat sourceFormat = sourceFormats.get(i);
+                String source = sources.get(i);
+                tasks.add(pool.submit(() -> {
+                    ingest(sourceFormat, source, buffer);
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                while (!task.isDone()) {
+                    // Reading spilled articles back while the heap is critical would undo the spill.
+                    delivered += buffer.drainTo(sink, !governor.shouldSpill());
+                    buffer.awaitArticles(50);
+                }
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException) {
+                        throw (IOException) e.getCause();
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            delivered += buffer.drainTo(sink);
+        } finally {
+            pool.shutdownNow();
+        }
+        return delivered;
+    }
+
+    private void ingest(SourceFormat sourceFormat, String source, SpillingArticleBuffer buffer)
+            throws IOException, InterruptedException {
+        governor.awaitAdmission(admissionTimeoutMillis);
+        ArticleCursor cursor;
+        try {
+            cursor = Main.openCursor(sourceFormat, source, visitor);
+        } catch (IOException e) {
+            Main.logger.severe("Error loading data from source: " + e.getMessage());
+            return;
+        }
+        List<Article> batch = new ArrayList<>();
+        try (ArticleCursor articles = cursor) {
+            while (true) {
+                Article article;
+                try {
+                    article = articles.next();
+                } catch (IOException e) {
+                    Main.logger.severe("Error reading or parsing JSON file: " + e.getMessage());
+                    break;
+                }
+                if (article == null) {
+                    break;
+                }
+                batch.add(article);
+                if (batch.size() >= governor.batchSize()) {
+                    buffer.add(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+        }
+        buffer.add(batch);
+    }
+}
@@ -0,0 +1,151 @@
+package parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class GovernedIngestionTest {
+
+    private final ParserVisitor visitor = new ParserVisitorImplementation();
+    private final SourceFormat newsApi = new SourceFormat(SourceEnum.FILE, FormatEnum.NEWSAPI);
+    private final SourceFormat simple = new SourceFormat(SourceEnum.FILE, FormatEnum.SIMPLE);
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("governed");
+    }
+
+    /**
+     * Tests that several sources parsed at once give the same articles as parsing them one by one.
+     */
+    @Test
+    void testSameArticlesAsParsing() throws Exception {
+        Path feed = dir.resolve("feed.json");
+        Files.write(feed, new FeedGenerator(3, 0.1, 8, 20, 30).newsApi(500).getBytes(StandardCharsets.UTF_8));
+        HeapGovernor governor = new HeapGovernor(0.6, 0.8, 4, 64, 500);
+        GovernedIngestion ingestion = new GovernedIngestion(governor, 3, dir, 1_000);
+        ingestion.add(newsApi, feed.toString());
+        ingestion.add(newsApi, "inputs/newsapi.txt");
+        ingestion.add(simple, "inputs/simple.txt");
+        ingestion.add(newsApi, "inputs/missing_two.json");
+        ingestion.add(newsApi, "inputs/does_not_exist.json");
+
+        List<Article> ingested = new ArrayList<>();
+        int delivered = ingestion.run(ingested::add);
+
+        List<Article> expected = new ArrayList<>();
+        expected.addAll(Main.formatRegistry.parse(newsApi, fromFile(feed.toString()), visitor));
+        expected.addAll(Main.formatRegistry.parse(newsApi, fromFile("inputs/newsapi.txt"), visitor));
+        expected.addAll(Main.formatRegistry.parse(simple, fromFile("inputs/simple.txt"), visitor));
+        expected.addAll(Main.formatRegistry.parse(newsApi, fromFile("inputs/missing_two.json"), visitor));
+        assertEquals(expected.size(), delivered);
+        assertEquals(sorted(expected), sorted(ingested));
+        assertEquals(0, metric(governor, "spilledArticles"));
+    }
+
+    /**
+     * Tests that under critical pressure the articles are spilled, come back in order, and leave no
+     * spill file behind.
+     */
+    @Test
+    void testSpillsUnderPressure() throws Exception {
+        HeapGovernor governor = new HeapGovernor(0.6, 0.8, 4, 64, 500);
+        governor.onCollection(900, 1000, 10);
+        GovernedIngestion ingestion = new GovernedIngestion(governor, 1, dir, 10);
+        ingestion.add(newsApi, "inputs/newsapi.txt");
+
+        List<Article> ingested = new ArrayList<>();
+        ingestion.run(ingested::add);
+
+        List<Article> expected = Main.formatRegistry.parse(newsApi, fromFile("inputs/newsapi.txt"), visitor);
+        assertEquals(expected.toString(), ingested.toString());
+        assertEquals(expected.size(), metric(governor, "spilledArticles"));
+        assertEquals(1, metric(governor, "admissionTimeouts"));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * Tests that articles added while spilling come out after the spilled ones, and those added after
+     * a drain go back to memory once the pressure is gone.
+     */
+    @Test
+    void testBufferKeepsOrderAcrossSpills() throws IOException {
+        HeapGovernor governor = new HeapGovernor(0.6, 0.8, 4, 64, 500);
+        List<Article> articles = new NewsParser(fromFile("inputs/newsapi.txt")).parse();
+        List<Article> drained = new ArrayList<>();
+        try (SpillingArticleBuffer buffer = new SpillingArticleBuffer(governor, dir)) {
+            buffer.add(articles.subList(0, 3));
+            governor.onCollection(900, 1000, 10);
+            buffer.add(articles.subList(3, 6));
+            governor.onCollection(100, 1000, 10);
+            buffer.add(articles.subList(6, 8));
+            assertEquals(8, buffer.drainTo(drained::add));
+            assertEquals(5, buffer.getSpilled());
+
+            buffer.add(articles.subList(8, 10));
+            assertEquals(2, buffer.drainTo(drained::add));
+            assertEquals(5, buffer.getSpilled());
+        }
+        assertEquals(articles.subList(0, 10).toString(), drained.toString());
+    }
+
+    /**
+     * Tests that spilled articles stay on disk while the heap is critical, and come back after the
+     * articles that were in memory once the pressure drops.
+     */
+    @Test
+    void testSpilledArticlesWaitForPressureToDrop() throws IOException {
+        HeapGovernor governor = new HeapGovernor(0.6, 0.8, 4, 64, 500);
+        List<Article> articles = new NewsParser(fromFile("inputs/newsapi.txt")).parse();
+        List<Article> drained = new ArrayList<>();
+        try (SpillingArticleBuffer buffer = new SpillingArticleBuffer(governor, dir)) {
+            buffer.add(articles.subList(0, 3));
+            governor.onCollection(900, 1000, 10);
+            buffer.add(articles.subList(3, 6));
+
+            assertEquals(3, buffer.drainTo(drained::add, !governor.shouldSpill()));
+            assertEquals(0, buffer.drainTo(drained::add, !governor.shouldSpill()));
+            governor.onCollection(100, 1000, 10);
+            assertEquals(3, buffer.drainTo(drained::add, !governor.shouldSpill()));
+        }
+        assertEquals(articles.subList(0, 6).toString(), drained.toString());
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * Tests that an empty buffer drains nothing.
+     */
+    @Test
+    void testEmptyBuffer() throws IOException {
+        HeapGovernor governor = new HeapGovernor(0.6, 0.8, 4, 64, 500);
+        try (SpillingArticleBuffer buffer = new SpillingArticleBuffer(governor, dir)) {
+            buffer.add(Collections.emptyList());
+            assertEquals(0, buffer.drainTo(article -> fail("Nothing was added")));
+        }
+    }
+
+    private static List<String> sorted(List<Article> articles) {
+        return articles.stream().map(Article::toString).sorted().collect(Collectors.toList());
+    }
+
+    private static long metric(HeapGovernor governor, String name) {
+        return governor.metrics().get(name);
+    }
+}
@@ -0,0 +1,336 @@
+package parser;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class HeapGovernor implements AutoCloseable {
+    enum State {
+        NORMAL,
+        ELEVATED,
+        CRITICAL
+    }
+
+    private final double lowFraction;
+    private final double highFraction;
+    private final int minBatch;
+    private final int maxBatch;
+    private final long longPauseMillis;
+    private final NotificationListener listener = this::handle;
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final List<SavedThresholds> savedThresholds = new ArrayList<>();
+    private final Set<String> heapPools = new HashSet<>();
+
+    private State state = State.NORMAL;
+    private int batchSize;
+    private double heapFraction;
+    private long gcCount;
+    private long gcMillis;
+    private long longPauses;
+    private long thresholdCrossings;
+    private long stateChanges;
+    private long admissionPauses;
+    private long admissionPausedMillis;
+    private long admissionTimeouts;
+    private long spilledArticles;
+
+    /**
+     * Creates a governor; install() connects it to the JVM's memory pools and collectors.
+     *
+     * @param lowFraction     the share of the maximum heap still in use after a collection above which
+     *                        batches shrink, e.g. 0.6.
+     * @param highFraction    the share above which admission pauses and buffered articles are spilled, e.g. 0.8.
+     * @param minBatch        the smallest batch size handed out.
+     * @param maxBatch        the largest batch size, and the one handed out while there is no pressure.
+     * @param longPauseMillis the collection time at or above which a collection counts as pressure by itself.
+     */
+    HeapGovernor(double lowFraction, double highFraction, int minBatch, int maxBatch, long longPauseMillis) {
+        this.lowFraction = lowFraction;
+        this.highFraction = highFraction;
+        this.minBatch = minBatch;
+        this.maxBatch = maxBatch;
+        this.longPauseMillis = longPauseMillis;
+        this.batchSize = maxBatch;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool.getName());
+            }
+        }
+    }
+
+    /**
+     * Starts watching the heap. The tenured heap pool gets a usage threshold and a collection usage
+     * threshold at the high fraction of its maximum, so crossing them is reported as
+     * soon as it happens, and every collection is reported with the heap left in use and its duration,
+     * which is also how the governor sees the pressure drop again. The thresholds the pool had before
+     * are saved, so close() can put them back.
+     */
+    void install() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long max = pool.getUsage().getMax();
+            // Only the tenured pool supports a usage threshold; survivor spaces are full after most
+            // young collections by design, so their collection usage says nothing about pressure.
+            if (pool.getType() != MemoryType.HEAP || max <= 0 || !pool.isUsageThresholdSupported()) {
+                continue;
+            }
+            boolean collectionSupported = pool.isCollectionUsageThresholdSupported();
+            savedThresholds.add(new SavedThresholds(pool, pool.getUsageThreshold(),
+                    collectionSupported ? pool.getCollectionUsageThreshold() : 0));
+            pool.setUsageThreshold((long) (max * highFraction));
+            if (collectionSupported) {
+                pool.setCollectionUsageThreshold((long) (max * highFraction));
+            }
+        }
+        emitters.add((NotificationEmitter) ManagementFactory.getMemoryMXBean());
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                emitters.add((NotificationEmitter) collector);
+            }
+        }
+        for (NotificationEmitter emitter : emitters) {
+            emitter.addNotificationListener(listener, null, null);
+        }
+    }
+
+    /**
+     * Stops watching the heap and restores the thresholds the pools had before install().
+     */
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(listener);
+            } catch (ListenerNotFoundException e) {
+                // Already removed.
+            }
+        }
+        emitters.clear();
+        for (SavedThresholds saved : savedThresholds) {
+            saved.pool.setUsageThreshold(saved.usage);
+            if (saved.pool.isCollectionUsageThresholdSupported()) {
+                saved.pool.setCollectionUsageThreshold(saved.collectionUsage);
+            }
+        }
+        savedThresholds.clear();
+    }
+
+    private void handle(Notification notification, Object handback) {
+        String type = notification.getType();
+        if (type.equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+            GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            onCollection(heapUsed(info.getGcInfo().getMemoryUsageAfterGc()), Runtime.getRuntime().maxMemory(), info.getGcInfo().getDuration());
+        } else if (type.equals(MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED)
+                || type.equals(MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED)) {
+            MemoryNotificationInfo info = MemoryNotificationInfo.from((CompositeData) notification.getUserData());
+            onThresholdExceeded(info.getPoolName(), type.equals(MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED));
+        }
+    }
+
+    /**
+     * Adds up the usage of the heap pools in a collection's report. The report covers every pool,
+     * Metaspace and the code cache included, while the maximum it is compared with is the heap's alone.
+     *
+     * @param usageByPool the usage of each memory pool, by pool name.
+     * @return the bytes in use in the heap pools.
+     */
+    long heapUsed(Map<String, MemoryUsage> usageByPool) {
+        long used = 0;
+        for (Map.Entry<String, MemoryUsage> pool : usageByPool.entrySet()) {
+            if (heapPools.contains(pool.getKey())) {
+                used += pool.getValue().getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Updates the state after a collection, which is the one point where the heap in use says how much
+     * is still live. Batch sizes follow the state: halved while it is elevated, quartered while it is
+     * critical, and grown back by a sixteenth of the maximum after each collection without pressure.
+     * Leaving the critical state takes a drop below halfway between the two fractions, so admission
+     * does not flap around the high fraction.
+     *
+     * @param usedAfter      the bytes of heap in use after the collection.
+     * @param maxHeap        the maximum heap size in bytes.
+     * @param durationMillis how long the collection took.
+     */
+    synchronized void onCollection(long usedAfter, long maxHeap, long durationMillis) {
+        gcCount++;
+        gcMillis += durationMillis;
+        heapFraction = (double) usedAfter / maxHeap;
+        boolean longPause = durationMillis >= longPauseMillis;
+        if (longPause) {
+            longPauses++;
+        }
+
+        State next;
+        if (heapFraction >= highFraction
+                || (state == State.CRITICAL && heapFraction >= (lowFraction + highFraction) / 2)) {
+            next = State.CRITICAL;
+        } else if (heapFraction >= lowFraction || longPause) {
+            next = State.ELEVATED;
+        } else {
+            next = State.NORMAL;
+        }
+
+        if (next == State.CRITICAL) {
+            batchSize = Math.max(minBatch, batchSize / 4);
+        } else if (next == State.ELEVATED) {
+            batchSize = Math.max(minBatch, batchSize / 2);
+        } else {
+            batchSize = Math.min(maxBatch, batchSize + Math.max(1, maxBatch / 16));
+        }
+        moveTo(next, String.format("%.0f%% of the heap in use after a %d ms collection", heapFraction * 100, durationMillis));
+    }
+
+    /**
+     * Reacts to a pool crossing its threshold. Crossing the collection usage threshold means the pool
+     * is still that full after a collection, so the state becomes critical at once; crossing the usage
+     * threshold only says the pool is filling up, so batches shrink until the next collection tells more.
+     *
+     * @param pool            the name of the memory pool.
+     * @param afterCollection whether it was the collection usage threshold that was crossed.
+     */
+    synchronized void onThresholdExceeded(String pool, boolean afterCollection) {
+        thresholdCrossings++;
+        batchSize = Math.max(minBatch, batchSize / 2);
+        if (afterCollection) {
+            moveTo(State.CRITICAL, pool + " is above its collection usage threshold");
+        } else if (state == State.NORMAL) {
+            moveTo(State.ELEVATED, pool + " is above its usage threshold");
+        }
+    }
+
+    private void moveTo(State next, String reason) {
+        if (next != state) {
+            Main.logger.info("Heap pressure " + state + " -> " + next + ": " + reason + ", batch size " + batchSize);
+            state = next;
+            stateChanges++;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Waits until new sources may be started, which is whenever the state is not critical.
+     *
+     * A critical state can only clear after a collection, so the wait is bounded: when it times out
+     * the source is admitted anyway, at the smallest batch size, rather than stalling ingestion on a
+     * heap that is full of live data for other reasons.
+     *
+     * @param timeoutMillis the longest time to wait.
+     * @return true if the source was admitted without timing out.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    synchronized boolean awaitAdmission(long timeoutMillis) throws InterruptedException {
+        if (state != State.CRITICAL) {
+            return true;
+        }
+        admissionPauses++;
+        long start = System.currentTimeMillis();
+        long remaining = timeoutMillis;
+        while (state == State.CRITICAL && remaining > 0) {
+            wait(remaining);
+            remaining = timeoutMillis - (System.currentTimeMillis() - start);
+        }
+        admissionPausedMillis += System.currentTimeMillis() - start;
+        if (state == State.CRITICAL) {
+            admissionTimeouts++;
+            Main.logger.warning("Admitting a source after " + timeoutMillis + " ms of critical heap pressure");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves how many articles to read before handing them on.
+     *
+     * @return the current batch size, between the minimum and maximum batch sizes.
+     */
+    synchronized int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Checks whether buffered articles should go to disk instead of staying on the heap.
+     *
+     * @return true while the state is critical.
+     */
+    synchronized boolean shouldSpill() {
+        return state == State.CRITICAL;
+    }
+
+    /**
+     * Counts articles that were spilled to disk, for the metrics.
+     *
+     * @param articles the number of articles spilled.
+     */
+    synchronized void recordSpill(int articles) {
+        spilledArticles += articles;
+    }
+
+    /**
+     * Retrieves the current state.
+     *
+     * @return NORMAL, ELEVATED or CRITICAL.
+     */
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Retrieves the governor's state and the decisions it has made so far, as named values. The state
+     * is given as 0 for NORMAL, 1 for ELEVATED and 2 for CRITICAL, and the heap in use as a percentage
+     * of the maximum heap after the last collection.
+     *
+     * @return the metrics, in a fixed order.
+     */
+    synchronized Map<String, Long> metrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("state", (long) state.ordinal());
+        metrics.put("heapUsedPercent", Math.round(heapFraction * 100));
+        metrics.put("batchSize", (long) batchSize);
+        metrics.put("gcCount", gcCount);
+        metrics.put("gcMillis", gcMillis);
+        metrics.put("longPauses", longPauses);
+        metrics.put("thresholdCrossings", thresholdCrossings);
+        metrics.put("stateChanges", stateChanges);
+        metrics.put("admissionPauses", admissionPauses);
+        metrics.put("admissionPausedMillis", admissionPausedMillis);
+        metrics.put("admissionTimeouts", admissionTimeouts);
+        metrics.put("spilledArticles", spilledArticles);
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        return "HeapGovernor" + metrics();
+    }
+
+    private static class SavedThresholds {
+        private final MemoryPoolMXBean pool;
+        private final long usage;
+        private final long collectionUsage;
+
+        private SavedThresholds(MemoryPoolMXBean pool, long usage, long collectionUsage) {
+            this.pool = pool;
+            this.usage = usage;
+            this.collectionUsage = collectionUsage;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeapGovernorTest {
+
+    private static final long MAX = 1000;
+
+    private final HeapGovernor governor = new HeapGovernor(0.6, 0.8, 16, 1024, 500);
+
+    /**
+     * Tests the states reached after collections, including the hysteresis on leaving the critical state.
+     */
+    @Test
+    void testStateFollowsHeapInUseAfterCollection() {
+        governor.onCollection(500, MAX, 10);
+        assertEquals(HeapGovernor.State.NORMAL, governor.getState());
+        governor.onCollection(650, MAX, 10);
+        assertEquals(HeapGovernor.State.ELEVATED, governor.getState());
+        governor.onCollection(850, MAX, 10);
+        assertEquals(HeapGovernor.State.CRITICAL, governor.getState());
+        assertTrue(governor.shouldSpill());
+
+        governor.onCollection(750, MAX, 10);
+        assertEquals(HeapGovernor.State.CRITICAL, governor.getState());
+        governor.onCollection(690, MAX, 10);
+        assertEquals(HeapGovernor.State.ELEVATED, governor.getState());
+        assertFalse(governor.shouldSpill());
+        governor.onCollection(100, MAX, 10);
+        assertEquals(HeapGovernor.State.NORMAL, governor.getState());
+        assertEquals(4, metric(governor, "stateChanges"));
+    }
+
+    /**
+     * Tests that batches shrink quickly under pressure, never below the minimum, and grow back slowly.
+     */
+    @Test
+    void testBatchSizeShrinksAndRampsBack() {
+        assertEquals(1024, governor.batchSize());
+        governor.onCollection(650, MAX, 10);
+        assertEquals(512, governor.batchSize());
+        governor.onCollection(900, MAX, 10);
+        assertEquals(128, governor.batchSize());
+        for (int i = 0; i < 10; i++) {
+            governor.onCollection(900, MAX, 10);
+        }
+        assertEquals(16, governor.batchSize());
+
+        governor.onCollection(100, MAX, 10);
+        assertEquals(16 + 64, governor.batchSize());
+        for (int i = 0; i < 20; i++) {
+            governor.onCollection(100, MAX, 10);
+        }
+        assertEquals(1024, governor.batchSize());
+    }
+
+    /**
+     * Tests that a long collection counts as pressure even when little of the heap is in use.
+     */
+    @Test
+    void testLongPauseIsPressure() {
+        governor.onCollection(100, MAX, 800);
+        assertEquals(HeapGovernor.State.ELEVATED, governor.getState());
+        assertEquals(512, governor.batchSize());
+        assertEquals(1, metric(governor, "longPauses"));
+    }
+
+    /**
+     * Tests that crossing a collection usage threshold is critical at once, while crossing a usage
+     * threshold only shrinks batches.
+     */
+    @Test
+    void testThresholdNotifications() {
+        governor.onThresholdExceeded("G1 Old Gen", false);
+        assertEquals(HeapGovernor.State.ELEVATED, governor.getState());
+        assertEquals(512, governor.batchSize());
+        governor.onThresholdExceeded("G1 Old Gen", true);
+        assertEquals(HeapGovernor.State.CRITICAL, governor.getState());
+        assertEquals(2, metric(governor, "thresholdCrossings"));
+    }
+
+    /**
+     * Tests that admission waits while the state is critical and resumes once a collection relieves it.
+     */
+    @Test
+    void testAdmissionPausesUntilPressureDrops() throws Exception {
+        assertTrue(governor.awaitAdmission(0));
+        governor.onCollection(900, MAX, 10);
+
+        AtomicBoolean admitted = new AtomicBoolean();
+        Thread source = new Thread(() -> {
+            try {
+                admitted.set(governor.awaitAdmission(10_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        source.start();
+        Thread.sleep(100);
+        assertTrue(source.isAlive());
+
+        governor.onCollection(200, MAX, 10);
+        source.join(5_000);
+        assertFalse(source.isAlive());
+        assertTrue(admitted.get());
+        assertEquals(1, metric(governor, "admissionPauses"));
+        assertTrue(metric(governor, "admissionPausedMillis") >= 90);
+    }
+
+    /**
+     * Tests that a source is admitted anyway once the wait times out.
+     */
+    @Test
+    void testAdmissionTimesOut() throws InterruptedException {
+        governor.onCollection(900, MAX, 10);
+        assertFalse(governor.awaitAdmission(50));
+        assertEquals(1, metric(governor, "admissionTimeouts"));
+    }
+
+    /**
+     * Tests that an installed governor hears about real collections.
+     */
+    @Test
+    void testInstalledGovernorSeesCollections() throws InterruptedException {
+        governor.install();
+        try {
+            List<byte[]> garbage = new ArrayList<>();
+            for (int i = 0; i < 50 && metric(governor, "gcCount") == 0; i++) {
+                for (int j = 0; j < 1000; j++) {
+                    garbage.add(new byte[1024]);
+                }
+                garbage.clear();
+                System.gc();
+                Thread.sleep(20);
+            }
+            assertTrue(metric(governor, "gcCount") > 0);
+        } finally {
+            governor.close();
+        }
+        assertTrue(governor.metrics().containsKey("heapUsedPercent"));
+    }
+
+    /**
+     * Tests that closing the governor puts back the thresholds the pools had before it was installed.
+     */
+    @Test
+    void testCloseRestoresThresholds() {
+        Map<String, Long> before = new HashMap<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported() && pool.getUsage().getMax() > 0) {
+                pool.setUsageThreshold(1024);
+                before.put(pool.getName(), pool.getUsageThreshold());
+            }
+        }
+        try {
+            governor.install();
+            governor.close();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (before.containsKey(pool.getName())) {
+                    assertEquals(before.get(pool.getName()).longValue(), pool.getUsageThreshold(), pool.getName());
+                }
+            }
+        } finally {
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (before.containsKey(pool.getName())) {
+                    pool.setUsageThreshold(0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that only heap pools count towards the heap in use, not Metaspace or the code cache.
+     */
+    @Test
+    void testOnlyHeapPoolsCount() {
+        Map<String, MemoryUsage> usage = new HashMap<>();
+        long heap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long used = 1L << 20;
+            usage.put(pool.getName(), new MemoryUsage(0, used, used, -1));
+            if (pool.getType() == MemoryType.HEAP) {
+                heap += used;
+            }
+        }
+        assertTrue(heap > 0 && heap < usage.size() * (1L << 20));
+        assertEquals(heap, governor.heapUsed(usage));
+    }
+
+    private static long metric(HeapGovernor governor, String name) {
+        return governor.metrics().get(name);
+    }
+}
@@ -0,0 +1,188 @@
+package parser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+class IncrementalFileReader {
+    private static final int HASH_WINDOW = 4096;
+    private static final int CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final CheckpointStore store;
+    private final int chunkSize;
+
+    IncrementalFileReader(CheckpointStore store) {
+        this(store, CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a reader that reads the new bytes of a file a chunk at a time.
+     *
+     * @param store     holds the checkpoint of each file.
+     * @param chunkSize the number of bytes read at once; a chunk grows only for an article larger than it.
+     */
+    IncrementalFileReader(CheckpointStore store, int chunkSize) {
+        this.store = store;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads the articles appended to a file since its last checkpoint.
+     *
+     * The file may be NDJSON or a sequence of Simple format objects. Only the bytes after the saved
+     * offset are read, a chunk at a time. A trailing object that is still being written is left for the
+     * next call. An object whose braces or quotes never balance is logged and skipped once the start of
+     * another object on a new line shows it is over, so it cannot hold back what follows it. If the
+     * file was rotated (new inode), shrank since the last read, or was rewritten before the offset,
+     * reading restarts from 0.
+     *
+     * @param filePath the path of the append-only file.
+     * @return a List of the valid articles added since the last call.
+     * @throws IOException if the file cannot be read or the checkpoint cannot be saved.
+     */
+    List<Article> readNew(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        String fileKey = attributes.fileKey() == null ? "" : attributes.fileKey().toString();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = startOffset(store.get(filePath), fileKey, size, channel);
+            if (offset == size) {
+                return new ArrayList<>();
+            }
+
+            List<Article> validArticles = new ArrayList<>();
+            long position = offset;
+            int chunk = chunkSize;
+            while (position < size) {
+                int length = (int) Math.min(chunk, size - position);
+                byte[] bytes = new byte[length];
+                readFully(channel, ByteBuffer.wrap(bytes), position);
+                int consumed = bindObjects(bytes, validArticles);
+                if (consumed > 0) {
+                    position += consumed;
+                    chunk = chunkSize;
+                } else if (position + length == size) {
+                    break;
+                } else {
+                    // An object larger than the chunk; read more of it at once.
+                    chunk = (int) Math.min(2L * chunk, Integer.MAX_VALUE - 8);
+                }
+            }
+
+            store.put(filePath, new Checkpoint(fileKey, size, position, windowHash(channel, position)));
+            return validArticles;
+        }
+    }
+
+    /**
+     * Decides where to resume reading, falling back to the start of the file when the checkpoint no
+     * longer describes it.
+     */
+    private long startOffset(Checkpoint checkpoint, String fileKey, long size, FileChannel channel) throws IOException {
+        if (checkpoint == null) {
+            return 0;
+        }
+        if (!checkpoint.getFileKey().equals(fileKey)) {
+            Main.logger.info("File rotated, restarting from offset 0");
+            return 0;
+        }
+        if (size < checkpoint.getSize()) {
+            Main.logger.info("File truncated, restarting from offset 0");
+            return 0;
+        }
+        if (windowHash(channel, checkpoint.getOffset()) != checkpoint.getHash()) {
+            Main.logger.info("File rewritten, restarting from offset 0");
+            return 0;
+        }
+        return checkpoint.getOffset();
+    }
+
+    /**
+     * Binds every complete top-level JSON object in the bytes, keeping the valid articles.
+     *
+     * @return the number of bytes consumed, which ends after the last complete or skipped object, or
+     *         just before an object that is still incomplete.
+     */
+    private static int bindObjects(byte[] bytes, List<Article> validArticles) {
+        // Structural characters are ASCII and never appear inside a UTF-8 multi-byte sequence, so the
+        // bytes can be scanned for braces as Latin-1 characters at the same offsets.
+        String chars = new String(bytes, StandardCharsets.ISO_8859_1);
+        int pos = 0;
+        while (true) {
+            while (pos < bytes.length && bytes[pos] != '{') {
+                pos++;
+            }
+            if (pos == bytes.length) {
+                return pos;
+            }
+            int end = RecoveringArticleReader.matchingBrace(chars, pos);
+            if (end < 0) {
+                int next = nextObjectOnNewLine(bytes, pos + 1);
+                if (next < 0) {
+                    return pos;
+                }
+                Main.logger.severe("Skipping malformed article at byte " + pos + " of the new data");
+                pos = next;
+                continue;
+            }
+            try {
+                Article article = objectMapper.readValue(bytes, pos, end + 1 - pos, Article.class).normalized();
+                if (article.isValid()) {
+                    validArticles.add(article);
+                } else {
+                    Main.logger.warning("Invalid Required Fields: " + article.getInvalidFields());
+                }
+            } catch (IOException e) {
+                Main.logger.severe("Error reading or parsing JSON file: " + e.getMessage());
+            }
+            pos = end + 1;
+        }
+    }
+
+    /**
+     * Finds the next '{' that starts a line, which begins another top-level object in NDJSON and in
+     * pretty-printed Simple objects alike.
+     *
+     * @return its offset, or -1 if there is none yet.
+     */
+    private static int nextObjectOnNewLine(byte[] bytes, int from) {
+        for (int i = Math.max(from, 1); i < bytes.length; i++) {
+            if (bytes[i] == '{' && bytes[i - 1] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long windowHash(FileChannel channel, long offset) throws IOException {
+        long from = Math.max(0, offset - HASH_WINDOW);
+        ByteBuffer window = ByteBuffer.allocate((int) (offset - from));
+        readFully(channel, window, from);
+        CRC32 crc = new CRC32();
+        crc.update(window.array());
+        return crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("File shrank while reading");
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalFileReaderTest {
+
+    private Path dir;
+    private Path feed;
+    private IncrementalFileReader reader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("incremental");
+        feed = dir.resolve("feed.ndjson");
+        reader = new IncrementalFileReader(new CheckpointStore(dir.resolve("checkpoints.properties").toString()));
+    }
+
+    /**
+     * Tests that only the articles appended since the previous read are returned.
+     */
+    @Test
+    void testReadsOnlyAppendedArticles() throws IOException {
+        append(article("One") + article("Two"));
+        assertEquals(2, reader.readNew(feed.toString()).size());
+
+        append(article("Three"));
+        List<Article> articles = reader.readNew(feed.toString());
+        assertEquals(1, articles.size());
+        assertTrue(articles.get(0).toString().contains("Title Three"));
+
+        assertEquals(0, reader.readNew(feed.toString()).size());
+    }
+
+    /**
+     * Tests that the checkpoint survives a new reader, as it would across runs.
+     */
+    @Test
+    void testCheckpointPersists() throws IOException {
+        append(article("One"));
+        reader.readNew(feed.toString());
+
+        append(article("Two"));
+        IncrementalFileReader next = new IncrementalFileReader(
+                new CheckpointStore(dir.resolve("checkpoints.properties").toString()));
+        assertEquals(1, next.readNew(feed.toString()).size());
+    }
+
+    /**
+     * Tests that a half-written trailing article is left for the next read.
+     */
+    @Test
+    void testPartialArticleIsDeferred() throws IOException {
+        String whole = article("One");
+        append(whole.substring(0, 40));
+        assertEquals(0, reader.readNew(feed.toString()).size());
+
+        append(whole.substring(40));
+        assertEquals(1, reader.readNew(feed.toString()).size());
+    }
+
+    /**
+     * Tests that truncating and rewriting the file restarts reading from the beginning.
+     */
+    @Test
+    void testTruncationRestarts() throws IOException {
+        append(article("One") + article("Two"));
+        reader.readNew(feed.toString());
+
+        Files.write(feed, article("New").getBytes(StandardCharsets.UTF_8));
+        assertEquals(1, reader.readNew(feed.toString()).size());
+    }
+
+    /**
+     * Tests that a rotated file with different content of the same length is read again from the start.
+     */
+    @Test
+    void testRotationRestarts() throws IOException {
+        append(article("One"));
+        reader.readNew(feed.toString());
+
+        Path rotated = dir.resolve("rotated.ndjson");
+        Files.write(rotated, (article("Uno") + article("Two")).getBytes(StandardCharsets.UTF_8));
+        Files.move(rotated, feed, StandardCopyOption.REPLACE_EXISTING);
+        assertEquals(2, reader.readNew(feed.toString()).size());
+    }
+
+    /**
+     * Tests that a file which shrank below the size last read is read again from the start, even when
+     * it still holds the bytes before the saved offset.
+     */
+    @Test
+    void testShrinkBelowSavedSizeRestarts() throws IOException {
+        String partial = article("Two").substring(0, 40);
+        append(article("One") + partial);
+        assertEquals(1, reader.readNew(feed.toString()).size());
+
+        Files.write(feed, (article("One") + partial.substring(0, 10)).getBytes(StandardCharsets.UTF_8));
+        assertEquals(1, reader.readNew(feed.toString()).size());
+    }
+
+    /**
+     * Tests that an article whose quote is never closed is skipped once another article starts on a
+     * new line, so the articles after it are still read.
+     */
+    @Test
+    void testMalformedArticleIsSkipped() throws IOException {
+        append(article("One") + "{\"title\": \"Unclosed, \"description}\n");
+        assertEquals(1, reader.readNew(feed.toString()).size());
+
+        append(article("Two") + article("Three"));
+        assertEquals(2, reader.readNew(feed.toString()).size());
+
+        append(article("Four"));
+        assertEquals(1, reader.readNew(feed.toString()).size());
+    }
+
+    /**
+     * Tests that the new bytes are read in chunks, including an article larger than a chunk.
+     */
+    @Test
+    void testReadsInChunks() throws IOException {
+        reader = new IncrementalFileReader(new CheckpointStore(dir.resolve("chunked.properties").toString()), 64);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            text.append(article("A" + i));
+        }
+        text.append(article(new String(new char[1000]).replace('\0', 'x')));
+        text.append(article("Last"));
+        append(text.toString());
+        assertEquals(52, reader.readNew(feed.toString()).size());
+
+        append(article("More"));
+        assertEquals(1, reader.readNew(feed.toString()).size());
+    }
+
+    private void append(String text) throws IOException {
+        Files.write(feed, text.getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String article(String name) {
+        return "{\"title\": \"Title " + name + "\", \"description\": \"Description " + name + "\", "
+                + "\"publishedAt\": \"2023-10-17T12:00:00Z\", \"url\": \"http://example.com/" + name + "\"}\n";
+    }
+}
@@ -0,0 +1,95 @@
+package parser;
+
+import java.util.Arrays;
+
+class IntCounter {
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private long[] counts;
+    private int size;
+
+    IntCounter() {
+        keys = new int[16];
+        counts = new long[16];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Adds one to the count of a key.
+     *
+     * @param key a non-negative key, such as a dictionary id.
+     */
+    void increment(int key) {
+        add(key, 1);
+    }
+
+    /**
+     * Adds to the count of a key.
+     *
+     * @param key   a non-negative key, such as a dictionary id.
+     * @param delta the amount to add.
+     */
+    void add(int key, long delta) {
+        if ((size + 1) * 4 > keys.length * 3) {
+            resize();
+        }
+        int slot = slot(keys, key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        counts[slot] += delta;
+    }
+
+    /**
+     * Retrieves the count of a key.
+     *
+     * @param key the key to look up.
+     * @return the count, or 0 if the key was never incremented.
+     */
+    long get(int key) {
+        int slot = slot(keys, key);
+        return keys[slot] == EMPTY ? 0 : counts[slot];
+    }
+
+    /**
+     * Retrieves the keys that have been counted, in no particular order.
+     *
+     * @return an array of the keys.
+     */
+    int[] keys() {
+        int[] result = new int[size];
+        int n = 0;
+        for (int key : keys) {
+            if (key != EMPTY) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    private static int slot(int[] keys, int key) {
+        int mask = keys.length - 1;
+        int slot = (key * 0x9E3779B9) >>> 16 & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new int[oldKeys.length * 2];
+        counts = new long[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package parser;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF = SUB_BUCKETS / 2;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SUB_BUCKETS + (64 - SUB_BUCKET_BITS) * HALF);
+
+    /**
+     * Records one latency. Values are kept in log-linear buckets, so any recorded value is reported
+     * within 1/64 (about 1.6%) of what was recorded, with no allocation and no locking.
+     *
+     * @param micros the latency in microseconds; negative values count as 0.
+     */
+    void record(long micros) {
+        counts.incrementAndGet(bucket(Math.max(0, micros)));
+    }
+
+    /**
+     * Retrieves the number of recorded latencies.
+     *
+     * @return the count.
+     */
+    long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Retrieves a percentile of the recorded latencies.
+     *
+     * @param percentile the percentile, from 0 to 100 (e.g. 99.9).
+     * @return the latency in microseconds at or below which that share of the recordings fall,
+     *         or 0 if nothing was recorded.
+     */
+    long percentile(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(counts.length() - 1);
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKETS + (shift - 1) * HALF + (int) (value >>> shift) - HALF;
+    }
+
+    private static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / HALF + 1;
+        long first = (long) ((bucket - SUB_BUCKETS) % HALF + HALF) << shift;
+        return first + (1L << shift) - 1;
+    }
+}
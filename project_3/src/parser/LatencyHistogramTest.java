@@ -0,0 +1,42 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    /**
+     * Tests percentiles of a uniform distribution against their exact values, within the bucket precision.
+     */
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertEquals(100_000, histogram.count());
+        assertEquals(50_000, histogram.percentile(50), 50_000 / 64.0);
+        assertEquals(99_000, histogram.percentile(99), 99_000 / 64.0);
+        assertEquals(99_900, histogram.percentile(99.9), 99_900 / 64.0);
+        assertEquals(100_000, histogram.percentile(100), 100_000 / 64.0);
+    }
+
+    /**
+     * Tests small values, which are kept exactly, and the empty histogram.
+     */
+    @Test
+    void testSmallValuesAndEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(99));
+
+        histogram.record(3);
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(0, histogram.percentile(33));
+        assertEquals(3, histogram.percentile(66));
+        assertTrue(histogram.percentile(100) >= Long.MAX_VALUE / 64 * 63);
+    }
+}
@@ -0,0 +1,193 @@
+package parser;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.FileHandler;
+import java.util.logging.SimpleFormatter;
+
+class LoadHarness {
+    private static final Map<String, String> DEFAULTS = new HashMap<>();
+
+    static {
+        DEFAULTS.put("format", "newsapi");
+        DEFAULTS.put("source", "url");
+        DEFAULTS.put("articles", "100");
+        DEFAULTS.put("invalid", "0.05");
+        DEFAULTS.put("title-words", "10");
+        DEFAULTS.put("description-words", "30");
+        DEFAULTS.put("content-words", "40");
+        DEFAULTS.put("rate", "20");
+        DEFAULTS.put("duration", "10");
+        DEFAULTS.put("threads", "16");
+        DEFAULTS.put("latency", "20");
+        DEFAULTS.put("jitter", "30");
+        DEFAULTS.put("errors", "0.01");
+        DEFAULTS.put("seed", "1");
+    }
+
+    private final SourceFormat sourceFormat;
+    private final String source;
+    private final ParserVisitor visitor = new ParserVisitorImplementation();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder articles = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final Consumer<Article> sink = article -> articles.increment();
+
+    private LoadHarness(SourceFormat sourceFormat, String source) {
+        this.sourceFormat = sourceFormat;
+        this.source = source;
+    }
+
+    /**
+     * Runs a load test of the load, parse, validate and sink path that Main runs for each source.
+     *
+     * A synthetic feed is generated and either served by a local mock NewsAPI server or written to a
+     * temporary file. Loads are then started at a fixed rate for the given duration, whether or not
+     * earlier ones have finished, and each latency is measured from the time the load was due to start,
+     * so a stalled system is charged for the loads queued behind it. Finally the throughput, latency
+     * percentiles and the allocation rate of the load threads are printed.
+     *
+     * Options, each given as "--name value": format (newsapi or simple), source (url or file),
+     * articles, invalid (ratio of articles missing a required field), title-words, description-words,
+     * content-words, rate (loads per second), duration (seconds), threads, latency and jitter
+     * (milliseconds added by the mock server), errors (ratio of 503 responses) and seed.
+     *
+     * @param args the options; any not given use their defaults.
+     * @throws IOException if the feed cannot be written or the mock server cannot be started.
+     * @throws InterruptedException if interrupted while waiting for the loads to finish.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--") || !DEFAULTS.containsKey(args[i].substring(2))) {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+
+        FileHandler fileHandler = new FileHandler("articles-parser.log", true);
+        fileHandler.setFormatter(new SimpleFormatter());
+        Main.logger.addHandler(fileHandler);
+        Main.logger.setUseParentHandlers(false);
+
+        boolean simple = options.get("format").equals("simple");
+        FeedGenerator generator = new FeedGenerator(Long.parseLong(options.get("seed")),
+                Double.parseDouble(options.get("invalid")), Integer.parseInt(options.get("title-words")),
+                Integer.parseInt(options.get("description-words")), Integer.parseInt(options.get("content-words")));
+        String feed = simple ? generator.simple() : generator.newsApi(Integer.parseInt(options.get("articles")));
+        FormatEnum format = simple ? FormatEnum.SIMPLE : FormatEnum.NEWSAPI;
+
+        MockNewsApiServer server = null;
+        LoadHarness harness;
+        if (options.get("source").equals("url")) {
+            server = new MockNewsApiServer(feed, Long.parseLong(options.get("latency")),
+                    Long.parseLong(options.get("jitter")), Double.parseDouble(options.get("errors")));
+            server.start();
+            harness = new LoadHarness(new SourceFormat(SourceEnum.URL, format), server.getUrl());
+        } else {
+            Path file = Files.createTempFile("load-test-feed", ".json");
+            file.toFile().deleteOnExit();
+            Files.write(file, feed.getBytes(StandardCharsets.UTF_8));
+            harness = new LoadHarness(new SourceFormat(SourceEnum.FILE, format), file.toString());
+        }
+
+        System.out.printf("Feed: %s from %s, %d KiB%n", format, options.get("source"), feed.length() / 1024);
+        try {
+            Main.formatRegistry.lookup(harness.sourceFormat);
+            harness.run(Double.parseDouble(options.get("rate")), Long.parseLong(options.get("duration")),
+                    Integer.parseInt(options.get("threads")));
+        } finally {
+            if (server != null) {
+                System.out.printf("Mock server: %d requests, %d injected errors%n",
+                        server.getRequests(), server.getInjectedErrors());
+                server.stop();
+            }
+        }
+    }
+
+    private void run(double rate, long durationSeconds, int threads) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long period = (long) (1e9 / rate);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long scheduled = 0;
+        for (long due = start; due < end; due = start + ++scheduled * period) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long dueAt = due;
+            workers.execute(() -> loadOnce(dueAt));
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+            System.out.println("Loads still running after a minute; results are incomplete.");
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long completed = succeeded.sum() + failed.sum() + rejected.sum();
+        System.out.printf("Scheduled %d loads at %.1f/s over %d s with %d threads%n", scheduled, rate, durationSeconds, threads);
+        System.out.printf("Completed %d loads (%d ok, %d failed, %d rejected by the circuit breaker)%n",
+                completed, succeeded.sum(), failed.sum(), rejected.sum());
+        System.out.printf("Throughput: %.1f loads/s, %.0f valid articles/s%n", completed / seconds, articles.sum() / seconds);
+        if (completed / seconds < rate * 0.95) {
+            System.out.println("The target rate was not sustained; latencies include the time loads waited to start.");
+        }
+        System.out.printf("Latency: p50 %.1f ms, p99 %.1f ms, p99.9 %.1f ms, max %.1f ms%n",
+                latencies.percentile(50) / 1e3, latencies.percentile(99) / 1e3,
+                latencies.percentile(99.9) / 1e3, latencies.percentile(100) / 1e3);
+        if (allocatedBytes.sum() > 0) {
+            System.out.printf("Allocation: %.1f MiB/s, %.1f KiB per load%n",
+                    allocatedBytes.sum() / seconds / (1 << 20), allocatedBytes.sum() / 1024.0 / Math.max(1, completed));
+        } else {
+            System.out.println("Allocation: not measurable on this JVM");
+        }
+    }
+
+    private void loadOnce(long due) {
+        long allocatedBefore = allocatedBytes();
+        try {
+            String data = Main.loadData(sourceFormat, source);
+            List<Article> valid = Main.formatRegistry.parse(sourceFormat, data, visitor);
+            valid.forEach(sink);
+            succeeded.increment();
+        } catch (CircuitOpenException e) {
+            rejected.increment();
+        } catch (IOException e) {
+            failed.increment();
+        } finally {
+            latencies.record((System.nanoTime() - due) / 1000);
+            long allocatedAfter = allocatedBytes();
+            if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+                allocatedBytes.add(allocatedAfter - allocatedBefore);
+            }
+        }
+    }
+
+    /**
+     * Reads the bytes allocated by the current thread, where the JVM (like HotSpot) reports them.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
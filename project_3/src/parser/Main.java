@@ -1,8 +1,13 @@
 package parser;
 
 import java.io.*;
-import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import java.util.function.Consumer;
 import java.util.logging.FileHandler;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
@@ -12,6 +17,17 @@ class Main {
     private static final String newsapiFile = "inputs/newsapi.txt";
     private static final String simpleFile = "inputs/simple.txt";
     static final String url = "https://newsapi.org/v2/top-headlines?country=us&apiKey=67a30faa94b04c68a3e64ca1c20912cc";
+    private static final long HOUR_MILLIS = 60 * 60 * 1000;
+    private static final String checkpointFile = "articles-checkpoints.properties";
+    private static final String fetchStateDirectory = "articles-fetch-state";
+    private static final long SHARD_BYTES = 64L * 1024 * 1024;
+    private static final long LEASE_MILLIS = 10_000;
+    private static final int TIMELINE_BUFFER = 1024;
+    private static final long NEAR_DUPLICATE_RETENTION_MILLIS = 24 * HOUR_MILLIS;
+    private static final int NEAR_DUPLICATE_MAX_ENTRIES = 100_000;
+    static final UrlFetcher urlFetcher = new UrlFetcher(5_000, 10_000, 4, 200, 5_000, new RetryBudget(0.2, 10));
+    static final FormatRegistry formatRegistry = FormatRegistry.defaults();
+    private static FetchStateStore fetchState;
     /**
      * The main method for the parser.
      *
@@ -20,12 +36,44 @@ class Main {
      * is parsed to extract and display the articles contained within it. If any errors occur during
      * parsing, they will be logged to the configured log file.
      *
-     * @param args command-line arguments (not used).
+     * When started with "--tail" followed by file paths, it instead prints only the articles appended
+     * to those files since the previous run, using checkpoints saved next to the log file. When started
+     * with "--aggregate", it prints hourly counts per source and top title terms instead of each article.
+     * When started with "--serve" and an optional port, it keeps the articles in memory and serves them
+     * over HTTP at /articles until the process is stopped. When started with "--validate" followed by
+     * file paths, it only reports how many articles in each file are valid and where the invalid ones are.
+     * When started with "--coordinate", a worker count, an output file and input files, it splits the
+     * inputs into shards, parses them in that many worker processes, started with "--work", and merges
+     * the articles into the output file without duplicates. When started with "--ingest" followed by
+     * file paths, it parses those files at the same time under a heap governor, which shrinks batches,
+     * pauses new files and spills articles to disk while the heap is under pressure, and prints each
+     * article followed by the governor's metrics. When started with "--timeline", it merges the
+     * articles of all sources into one timeline, newest first, instead of printing each source in turn.
+     * When "--near-dup" and a number of bits from 0 to 8 come before any of these, articles that are
+     * printed, aggregated, served, tailed or ingested are checked for near-duplicates: one whose title
+     * and description are within that many SimHash bits of an article seen in the last day is logged
+     * and dropped.
+     *
+     * @param args command-line arguments; optionally "--near-dup" bits, then either nothing, "--aggregate",
+     *             "--serve" [port], "--timeline", "--tail", "--validate" or "--ingest" followed by file
+     *             paths, "--coordinate" workers output followed by file paths, or "--work" queue-directory
+     *             slot lease-millis.
      * @throws IOException if an error occurs while reading JSON files or accessing the URL.
      */
     public static void main(String[] args) throws IOException {
+        // Near-duplicates, such as one wire story under several outlets' names, are only dropped on request
+        NearDuplicateDetector nearDuplicates = null;
+        if (args.length > 1 && args[0].equals("--near-dup")) {
+            nearDuplicates = new NearDuplicateDetector(Integer.parseInt(args[1]), NEAR_DUPLICATE_RETENTION_MILLIS,
+                    NEAR_DUPLICATE_MAX_ENTRIES, System::currentTimeMillis);
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+
         try {
-            FileHandler fileHandler = new FileHandler("articles-parser.log", true);
+            // Workers log next to their queue, since another process holds the lock of the shared log file.
+            String logFile = args.length > 2 && args[0].equals("--work")
+                    ? Paths.get(args[1], "worker-" + args[2] + ".log").toString() : "articles-parser.log";
+            FileHandler fileHandler = new FileHandler(logFile, true);
             fileHandler.setFormatter(new SimpleFormatter());
             logger.addHandler(fileHandler);
 
@@ -34,6 +82,81 @@ class Main {
             e.printStackTrace();
         }
 
+        if (args.length > 0 && args[0].equals("--tail")) {
+            IncrementalFileReader reader = new IncrementalFileReader(new CheckpointStore(checkpointFile));
+            Consumer<Article> printer = droppingNearDuplicates(nearDuplicates, System.out::println);
+            for (int i = 1; i < args.length; i++) {
+                try {
+                    reader.readNew(args[i]).forEach(printer);
+                } catch (IOException e) {
+                    logger.severe("Error loading data from source: " + e.getMessage());
+                }
+            }
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--validate")) {
+            for (int i = 1; i < args.length; i++) {
+                try (InputStream in = CompressedInput.open(args[i])) {
+                    System.out.println(args[i] + "\n" + ValidationScanner.scan(in));
+                } catch (IOException e) {
+                    logger.severe("Error loading data from source: " + e.getMessage());
+                }
+            }
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--ingest")) {
+            HeapGovernor governor = new HeapGovernor(0.6, 0.8, 16, 1024, 500);
+            governor.install();
+            GovernedIngestion ingestion = new GovernedIngestion(governor,
+                    Math.max(2, Runtime.getRuntime().availableProcessors()), Paths.get(System.getProperty("java.io.tmpdir")), 30_000);
+            for (Shard shard : ShardCoordinator.plan(Arrays.asList(args).subList(1, args.length), Long.MAX_VALUE)) {
+                ingestion.add(shard.getSourceFormat(), shard.getSource());
+            }
+            try {
+                ingestion.run(droppingNearDuplicates(nearDuplicates, System.out::println));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                governor.close();
+                logger.info(governor.toString());
+                System.out.println(governor.metrics());
+            }
+            return;
+        }
+
+        if (args.length > 2 && args[0].equals("--coordinate")) {
+            int workers = Integer.parseInt(args[1]);
+            ShardCoordinator coordinator = new ShardCoordinator(workers, LEASE_MILLIS, workers);
+            try {
+                int written = coordinator.run(Arrays.asList(args).subList(3, args.length), SHARD_BYTES, Paths.get(args[2]));
+                System.out.println("Wrote " + written + " articles to " + args[2]);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+
+        if (args.length > 3 && args[0].equals("--work")) {
+            ShardWorker worker = new ShardWorker(new ShardQueue(Paths.get(args[1])), Integer.parseInt(args[2]), Long.parseLong(args[3]));
+            try {
+                worker.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+
+        // URL breakers and the articles last fetched from each URL are kept next to the log file,
+        // so a run started while a host is failing falls back to them at once
+        try {
+            fetchState = new FetchStateStore(Paths.get(fetchStateDirectory));
+            urlFetcher.persistTo(fetchState);
+        } catch (IOException e) {
+            logger.warning("Error loading the fetch state, URL fallbacks are disabled: " + e.getMessage());
+        }
+
         // Create a ParserVisitor
         ParserVisitor parserVisitor = new ParserVisitorImplementation();
 
@@ -42,35 +165,167 @@ class Main {
         SourceFormat simpleSource = new SourceFormat(SourceEnum.FILE, FormatEnum.SIMPLE);
         SourceFormat urlSource = new SourceFormat(SourceEnum.URL, FormatEnum.NEWSAPI);
 
+        if (args.length > 0 && args[0].equals("--timeline")) {
+            printTimeline(Arrays.asList(newsApiSource, simpleSource, urlSource), Arrays.asList(newsapiFile, simpleFile, url),
+                    parserVisitor, droppingNearDuplicates(nearDuplicates, System.out::println));
+            return;
+        }
+
+        // Either print every article, aggregate them into hourly windows, or keep them to serve over HTTP
+        boolean aggregate = args.length > 0 && args[0].equals("--aggregate");
+        boolean serve = args.length > 0 && args[0].equals("--serve");
+        WindowedAggregator aggregator = new WindowedAggregator(HOUR_MILLIS, HOUR_MILLIS, HOUR_MILLIS, 256, 10, System.out::println);
+        ArticleStore store = new ArticleStore();
+        Consumer<Article> sink = droppingNearDuplicates(nearDuplicates, aggregate ? aggregator : serve ? store : System.out::println);
+
         // Parse and print the News API file, Simple format file, and URL
-        parseAndPrint(newsApiSource, newsapiFile, parserVisitor);
-        parseAndPrint(simpleSource, simpleFile, parserVisitor);
-        parseAndPrint(urlSource, url, parserVisitor);
+        parseAndPrint(newsApiSource, newsapiFile, parserVisitor, sink);
+        parseAndPrint(simpleSource, simpleFile, parserVisitor, sink);
+        parseAndPrint(urlSource, url, parserVisitor, sink);
+
+        if (aggregate) {
+            aggregator.flush();
+        }
+        if (serve) {
+            // Small responses otherwise wait on Nagle's algorithm and delayed ACKs; the JDK server reads
+            // this once, when the first HttpServer in the process is created.
+            if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+                System.setProperty("sun.net.httpserver.nodelay", "true");
+            }
+            ArticleServer server = new ArticleServer(store, args.length > 1 ? Integer.parseInt(args[1]) : 8080);
+            server.start();
+            System.out.println("Serving " + store.snapshot().size() + " articles at http://localhost:" + server.getPort() + "/articles");
+        }
+    }
+
+    /**
+     * Wraps a sink so that near-duplicates are dropped before they reach it, if detection was requested.
+     *
+     * @param nearDuplicates the detector, or null if near-duplicates are kept.
+     * @param sink           the sink for the articles that are kept.
+     * @return the sink itself, or one that checks each article with the detector first.
+     */
+    private static Consumer<Article> droppingNearDuplicates(NearDuplicateDetector nearDuplicates, Consumer<Article> sink) {
+        return nearDuplicates == null ? sink : nearDuplicates.dropping(sink);
+    }
+
+    /**
+     * Parses data from the specified source and passes the parsed articles to a sink.
+     *
+     * The parser is chosen from the format registry, which also decides how the data is parsed
+     * based on the capabilities of the registered format.
+     *
+     * @param sourceFormat the format of the source, specifying the source type (file or URL) and the format (NEWSAPI or SIMPLE).
+     * @param source       the path to the file or the URL to fetch data from.
+     * @param visitor      the visitor to process the parsed articles.
+     * @param sink         receives each valid article, e.g. System.out::println to print them.
+     */
+    private static void parseAndPrint(SourceFormat sourceFormat, String source, ParserVisitor visitor, Consumer<Article> sink) {
+        try {
+            parseSource(sourceFormat, source, visitor).forEach(sink);
+        } catch (IOException e) {
+            logger.severe("Error loading data from source: " + e.getMessage());
+        }
     }
 
     /**
-     * Parses data from the specified source and prints the parsed articles.
+     * Loads and parses the valid articles of a source.
+     *
+     * The articles parsed from a URL are cached in the fetch state, and while the URL's circuit
+     * breaker is open the articles last cached for it are returned instead. Both the breakers and
+     * the cached articles are saved on disk, so the fallback also applies to a later run that starts
+     * while the breaker is still open.
      *
      * @param sourceFormat the format of the source, specifying the source type (file or URL) and the format (NEWSAPI or SIMPLE).
      * @param source       the path to the file or the URL to fetch data from.
      * @param visitor      the visitor to process the parsed articles.
+     * @return the valid articles of the source, or the cached ones while its breaker is open.
+     * @throws IOException if the source cannot be loaded and there is no fallback.
      */
-    private static void parseAndPrint(SourceFormat sourceFormat, String source, ParserVisitor visitor) {
+    static List<Article> parseSource(SourceFormat sourceFormat, String source, ParserVisitor visitor) throws IOException {
+        String data;
         try {
-            String data = loadData(sourceFormat, source);
+            data = loadData(sourceFormat, source);
+        } catch (CircuitOpenException e) {
+            if (fetchState == null) {
+                throw e;
+            }
+            logger.warning(e.getMessage() + ", using last cached articles");
+            return fetchState.cachedArticles(source);
+        }
 
-            Parser parser;
-            if (sourceFormat.getFormat() == FormatEnum.NEWSAPI) {
-                parser = new NewsParser(data);
-            } else {
-                parser = new SimpleParser(data);
+        List<Article> articles = formatRegistry.parse(sourceFormat, data, visitor);
+        if (sourceFormat.getSource() == SourceEnum.URL && fetchState != null) {
+            try {
+                fetchState.cacheArticles(source, articles);
+            } catch (IOException e) {
+                logger.warning("Error caching the articles of " + source + ": " + e.getMessage());
             }
+        }
+        return articles;
+    }
 
-            parser.accept(visitor).forEach(System.out::println);
+    /**
+     * Prints the articles of several sources merged into one timeline by publishedAt, newest first.
+     *
+     * Sources are read as cursors and merged by TimelineMerge, so only a bounded number of articles
+     * per source is held at a time. Articles may be up to an hour out of order within a source. A
+     * source that cannot be opened or read is logged and left out, as when printing each source.
+     *
+     * @param sourceFormats the source type and format of each source.
+     * @param sources       the path to the file or the URL of each source.
+     * @param visitor       the visitor to process the parsed articles.
+     * @param printer       receives the articles in timeline order, e.g. System.out::println to print them.
+     */
+    private static void printTimeline(List<SourceFormat> sourceFormats, List<String> sources, ParserVisitor visitor,
+                                      Consumer<Article> printer) {
+        List<ArticleCursor> cursors = new ArrayList<>();
+        for (int i = 0; i < sources.size(); i++) {
+            try {
+                cursors.add(openCursor(sourceFormats.get(i), sources.get(i), visitor));
+            } catch (IOException e) {
+                logger.severe("Error loading data from source: " + e.getMessage());
+            }
+        }
+        try (TimelineMerge timeline = new TimelineMerge(cursors, HOUR_MILLIS, TIMELINE_BUFFER, true)) {
+            while (true) {
+                Article article;
+                try {
+                    article = timeline.next();
+                } catch (IOException e) {
+                    logger.severe("Error reading or parsing JSON file: " + e.getMessage());
+                    continue;
+                }
+                if (article == null) {
+                    break;
+                }
+                printer.accept(article);
+            }
+            if (timeline.getLate() > 0) {
+                logger.warning("Left " + timeline.getLate() + " late articles out of the timeline");
+            }
+        }
+    }
 
-        } catch (IOException e) {
-            logger.severe("Error loading data from source: " + e.getMessage());
+    /**
+     * Opens a source as a cursor over its valid articles.
+     *
+     * Files are opened as streams and handed to the format registry, which reads STREAMABLE formats
+     * through their streaming cursor, so neither the file contents nor its full article list is held in
+     * memory, and a damaged article is skipped rather than ending the source. URLs are loaded and parsed
+     * by parseSource, with its fallback to the cached articles.
+     *
+     * @param sourceFormat the source type and format of the source.
+     * @param source       the path to the file or the URL.
+     * @param visitor      the visitor to process the parsed articles.
+     * @return a cursor over the source's valid articles.
+     * @throws IOException if the source cannot be opened or loaded.
+     */
+    static ArticleCursor openCursor(SourceFormat sourceFormat, String source, ParserVisitor visitor) throws IOException {
+        if (sourceFormat.getSource() == SourceEnum.URL) {
+            return ArticlePublisher.cursorOver(parseSource(sourceFormat, source, visitor));
         }
+        return formatRegistry.cursor(sourceFormat, CompressedInput.open(source), visitor);
     }
 
     /**
@@ -81,7 +336,7 @@ class Main {
      * @return the data as a string loaded from the file or URL.
      * @throws IOException if an error occurs while reading the file or fetching data from the URL.
      */
-    private static String loadData(SourceFormat sourceFormat, String source) throws IOException {
+    static String loadData(SourceFormat sourceFormat, String source) throws IOException {
         if (sourceFormat.getSource() == SourceEnum.URL) {
             return fromUrl(source);
         } else {
@@ -92,17 +347,37 @@ class Main {
     /**
      * Reads the contents of a file specified by the given file path and returns it as a String.
      *
+     * Gzip-compressed files are detected from their magic bytes and decompressed while they are read,
+     * so archived dumps do not have to be unpacked to disk first.
+     *
      * @param filePath the path to the file to be read
-     * @return a String containing the contents of the file
-     * @throws IOException if an I/O error occurs while reading the file
+     * @return a String containing the (uncompressed) contents of the file
+     * @throws IOException if an I/O error occurs while reading the file, or its compression is not supported
      */
     static String fromFile(String filePath) throws IOException {
+        try (InputStream in = CompressedInput.open(filePath)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Reads the whole of a UTF-8 stream into a String. The stream is not closed.
+     *
+     * @param in the stream to be read.
+     * @return a String containing the contents of the stream.
+     * @throws IOException if an I/O error occurs while reading the stream.
+     */
+    static String read(InputStream in) throws IOException {
         StringBuilder stringBuilder = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                stringBuilder.append(line).append(System.lineSeparator());
+        char[] buffer = BufferPool.CHARS.acquire();
+        try {
+            Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+            int read;
+            while ((read = reader.read(buffer)) > 0) {
+                stringBuilder.append(buffer, 0, read);
             }
+        } finally {
+            BufferPool.CHARS.release(buffer);
         }
         return stringBuilder.toString();
     }
@@ -110,19 +385,14 @@ class Main {
     /**
      * Reads the contents from a URL specified by the given file path and returns it as a String.
      *
+     * The request goes through the shared UrlFetcher, so it is bounded by timeouts, retried within
+     * the retry budget, and rejected immediately while the host's circuit breaker is open.
+     *
      * @param filePath the URL to be read
      * @return a String containing the contents retrieved from the URL
      * @throws IOException if an I/O error occurs while reading from the URL
      */
     static String fromUrl(String filePath) throws IOException {
-        StringBuilder sb = new StringBuilder();
-        URL url = new URL(filePath);
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sb.append(line);
-            }
-        }
-        return sb.toString();
+        return urlFetcher.fetch(filePath);
     }
 }
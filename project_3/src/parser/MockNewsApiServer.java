@@ -0,0 +1,121 @@
+package parser;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+class MockNewsApiServer {
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private volatile byte[] body;
+
+    /**
+     * Creates a local stand-in for NewsAPI that answers every GET with the same feed.
+     *
+     * @param feed          the JSON document to serve.
+     * @param latencyMillis the delay added before every response.
+     * @param jitterMillis  the most extra delay, chosen uniformly for each response.
+     * @param errorRate     the fraction of requests, from 0 to 1, answered with 503 instead of the feed.
+     * @throws IOException if no local port can be bound.
+     */
+    MockNewsApiServer(String feed, long latencyMillis, long jitterMillis, double errorRate) throws IOException {
+        this.body = feed.getBytes(StandardCharsets.UTF_8);
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts accepting requests in the background.
+     */
+    void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, dropping any requests still in progress.
+     */
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Replaces the feed served from the next request on.
+     *
+     * @param feed the JSON document to serve.
+     */
+    void setFeed(String feed) {
+        body = feed.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Retrieves the URL of the top headlines endpoint, in the form Main uses for the real API.
+     *
+     * @return the URL on the bound local port.
+     */
+    String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v2/top-headlines?country=us&apiKey=test";
+    }
+
+    /**
+     * Retrieves the number of requests received.
+     *
+     * @return the request count.
+     */
+    long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Retrieves the number of requests answered with an injected error.
+     *
+     * @return the injected error count.
+     */
+    long getInjectedErrors() {
+        return injectedErrors.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long delay = latencyMillis + (jitterMillis > 0 ? random.nextLong(jitterMillis + 1) : 0);
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+            if (random.nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            byte[] feed = body;
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, feed.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(feed);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MockNewsApiServerTest {
+
+    /**
+     * Tests that the mock server serves its feed with the configured latency.
+     */
+    @Test
+    void testServesFeedWithLatency() throws IOException {
+        String feed = new FeedGenerator(1, 0, 8, 20, 30).newsApi(20);
+        MockNewsApiServer server = new MockNewsApiServer(feed, 50, 0, 0);
+        server.start();
+        try {
+            UrlFetcher fetcher = new UrlFetcher(1_000, 1_000, 1, 1, 1, new RetryBudget(0, 0));
+            long start = System.nanoTime();
+            String body = fetcher.fetch(server.getUrl());
+
+            assertTrue(System.nanoTime() - start >= 50_000_000L);
+            assertEquals(new NewsParser(feed).parse(), new NewsParser(body).parse());
+            assertEquals(1, server.getRequests());
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Tests that injected errors reach the client as failed fetches.
+     */
+    @Test
+    void testInjectsErrors() throws IOException {
+        MockNewsApiServer server = new MockNewsApiServer("{}", 0, 0, 1);
+        server.start();
+        try {
+            UrlFetcher fetcher = new UrlFetcher(1_000, 1_000, 1, 1, 1, new RetryBudget(0, 0));
+
+            assertThrows(IOException.class, () -> fetcher.fetch(server.getUrl()));
+            assertEquals(1, server.getInjectedErrors());
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package parser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+class NearDuplicateBenchmark {
+    private static final int ARTICLES = 200_000;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 7;
+
+    /**
+     * Measures single-threaded near-duplicate detection throughput. The input cycles through the
+     * stories of inputs/example.json with a unique suffix on each title, so most articles are
+     * near-duplicates of an earlier one, as they are when wire stories are syndicated.
+     *
+     * @param args command-line arguments (not used).
+     * @throws IOException if inputs/example.json cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        List<Article> stories = new NewsParser(Main.fromFile("inputs/example.json")).parse();
+        Article[] articles = new Article[ARTICLES];
+        for (int i = 0; i < ARTICLES; i++) {
+            Article story = stories.get(i % stories.size());
+            articles[i] = new Article(story.getSource(), story.getAuthor(), story.getTitle() + " " + i,
+                    story.getDescription(), story.getUrl() + "?" + i, null, story.getPublishedAt(), null);
+        }
+
+        for (int maxDistance : new int[]{3, 6, 8}) {
+            long[] times = new long[RUNS];
+            int duplicates = 0;
+            for (int run = -WARMUP; run < RUNS; run++) {
+                NearDuplicateDetector detector = new NearDuplicateDetector(maxDistance, Long.MAX_VALUE, ARTICLES, () -> 0L);
+                duplicates = 0;
+                long start = System.nanoTime();
+                for (Article article : articles) {
+                    if (detector.check(article) != null) {
+                        duplicates++;
+                    }
+                }
+                if (run >= 0) {
+                    times[run] = System.nanoTime() - start;
+                }
+            }
+            Arrays.sort(times);
+            System.out.printf("maxDistance %d: %,.0f articles/sec, %d near-duplicates%n",
+                    maxDistance, ARTICLES / (times[RUNS / 2] / 1e9), duplicates);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+class NearDuplicateDetector {
+    private static final int MIN_KEY_BITS = 12;
+
+    private final int maxDistance;
+    private final long[] keyMasks;
+    private final long retentionMillis;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final List<Map<Long, List<Entry>>> tables = new ArrayList<>();
+    private final ArrayDeque<Entry> byAge = new ArrayDeque<>();
+
+    /**
+     * Creates a detector for articles whose title and description SimHash fingerprints are within
+     * maxDistance bits of an article seen in the last retentionMillis. At most maxEntries articles are
+     * remembered; past that, the oldest is forgotten first, so memory stays bounded however fast
+     * articles arrive.
+     *
+     * The fingerprint is cut into maxDistance + m blocks. Two fingerprints that differ in at most
+     * maxDistance bits must agree on at least m whole blocks, so there is one lookup table for every
+     * choice of m blocks, and only articles that share a key in some table are compared. m is the
+     * smallest number of blocks that gives keys of at least 12 bits.
+     *
+     * @param maxDistance     the largest Hamming distance still counted as a near-duplicate (0 to 8).
+     * @param retentionMillis how long an article is remembered after it was first seen.
+     * @param maxEntries      the most articles remembered at a time.
+     * @param clock           supplies the current time in epoch milliseconds.
+     */
+    NearDuplicateDetector(int maxDistance, long retentionMillis, int maxEntries, LongSupplier clock) {
+        if (maxDistance < 0 || maxDistance > 8) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and 8");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.maxDistance = maxDistance;
+        this.retentionMillis = retentionMillis;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+
+        int keyBlocks = 1;
+        while (keyBlocks * (64 / (maxDistance + keyBlocks)) < MIN_KEY_BITS) {
+            keyBlocks++;
+        }
+        long[] blockMasks = blockMasks(maxDistance + keyBlocks);
+        List<Long> masks = new ArrayList<>();
+        combineMasks(blockMasks, keyBlocks, 0, 0L, masks);
+        this.keyMasks = new long[masks.size()];
+        for (int i = 0; i < keyMasks.length; i++) {
+            keyMasks[i] = masks.get(i);
+            tables.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Checks an article against the recent ones, remembering it if it is new.
+     *
+     * An article whose title and description hold no words has nothing to fingerprint; it would get
+     * the same empty fingerprint as every other such article, so it is never a duplicate and is not
+     * remembered.
+     *
+     * @param article the article to check.
+     * @return the URL of the earlier article it nearly duplicates, or null if it is not a duplicate.
+     */
+    String check(Article article) {
+        long now = clock.getAsLong();
+        evict(now);
+        if (!hasWord(article.getTitle()) && !hasWord(article.getDescription())) {
+            return null;
+        }
+
+        long fingerprint = SimHash.of(article.getTitle(), article.getDescription());
+        for (int table = 0; table < keyMasks.length; table++) {
+            List<Entry> candidates = tables.get(table).get(fingerprint & keyMasks[table]);
+            if (candidates == null) {
+                continue;
+            }
+            for (Entry candidate : candidates) {
+                if (SimHash.distance(candidate.fingerprint, fingerprint) <= maxDistance) {
+                    return candidate.url;
+                }
+            }
+        }
+
+        if (byAge.size() == maxEntries) {
+            forget(byAge.pollFirst());
+        }
+        Entry entry = new Entry(fingerprint, now, article.getUrl());
+        byAge.addLast(entry);
+        for (int table = 0; table < keyMasks.length; table++) {
+            tables.get(table).computeIfAbsent(fingerprint & keyMasks[table], k -> new ArrayList<>(1)).add(entry);
+        }
+        return null;
+    }
+
+    /**
+     * Wraps a sink so that near-duplicates are dropped before they reach it.
+     *
+     * @param downstream the sink for articles that are not near-duplicates.
+     * @return a sink that checks each article first.
+     */
+    Consumer<Article> dropping(Consumer<Article> downstream) {
+        return article -> {
+            String original = check(article);
+            if (original == null) {
+                downstream.accept(article);
+            } else {
+                Main.logger.info("Dropped near-duplicate of " + original + ": " + article.getUrl());
+            }
+        };
+    }
+
+    /**
+     * Wraps a sink so that every article reaches it, tagged with the URL of the article it duplicates.
+     *
+     * @param downstream receives each article and the URL of its original, or null if it is not a duplicate.
+     * @return a sink that checks each article first.
+     */
+    Consumer<Article> tagging(BiConsumer<Article, String> downstream) {
+        return article -> downstream.accept(article, check(article));
+    }
+
+    /**
+     * Retrieves the number of articles currently remembered.
+     *
+     * @return the number of remembered articles.
+     */
+    int size() {
+        return byAge.size();
+    }
+
+    private static boolean hasWord(String text) {
+        if (text == null) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void evict(long now) {
+        while (!byAge.isEmpty() && now - byAge.peekFirst().seenAt >= retentionMillis) {
+            forget(byAge.pollFirst());
+        }
+    }
+
+    /**
+     * Removes an entry already taken off byAge from every lookup table.
+     */
+    private void forget(Entry entry) {
+        for (int table = 0; table < keyMasks.length; table++) {
+            Long key = entry.fingerprint & keyMasks[table];
+            List<Entry> entries = tables.get(table).get(key);
+            entries.remove(entry);
+            if (entries.isEmpty()) {
+                tables.get(table).remove(key);
+            }
+        }
+    }
+
+    /**
+     * Cuts the 64 bits into contiguous blocks; the last block also takes the bits left over by the division.
+     */
+    private static long[] blockMasks(int blocks) {
+        long[] masks = new long[blocks];
+        int width = 64 / blocks;
+        for (int i = 0; i < blocks; i++) {
+            int shift = i * width;
+            int bits = i == blocks - 1 ? 64 - shift : width;
+            masks[i] = (bits == 64 ? -1L : (1L << bits) - 1) << shift;
+        }
+        return masks;
+    }
+
+    private static void combineMasks(long[] blockMasks, int remaining, int from, long mask, List<Long> masks) {
+        if (remaining == 0) {
+            masks.add(mask);
+            return;
+        }
+        for (int i = from; i <= blockMasks.length - remaining; i++) {
+            combineMasks(blockMasks, remaining - 1, i + 1, mask | blockMasks[i], masks);
+        }
+    }
+
+    private static class Entry {
+        private final long fingerprint;
+        private final long seenAt;
+        private final String url;
+
+        private Entry(long fingerprint, long seenAt, String url) {
+            this.fingerprint = fingerprint;
+            this.seenAt = seenAt;
+            this.url = url;
+        }
+    }
+}
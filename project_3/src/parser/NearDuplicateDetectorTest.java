@@ -0,0 +1,109 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class NearDuplicateDetectorTest {
+
+    private static final String TITLE = "Ever Given, the massive cargo ship that ran aground in the Suez Canal, is still stuck";
+    private static final String DESCRIPTION = "The Ever Given, which become lodged in the Suez Canal, is still stuck, "
+            + "halting traffic in one of the world's busiest waterways.";
+
+    private final AtomicLong now = new AtomicLong();
+
+    /**
+     * Tests that a lightly edited copy of a story is found as a near-duplicate of the original.
+     */
+    @Test
+    void testEditedCopyIsDuplicate() {
+        NearDuplicateDetector detector = new NearDuplicateDetector(8, 60_000, 1_000, now::get);
+
+        assertNull(detector.check(article(TITLE + " - CNBC", DESCRIPTION, "https://cnbc.com/a")));
+        assertEquals("https://cnbc.com/a",
+                detector.check(article(TITLE + " - Reuters", DESCRIPTION, "https://reuters.com/b")));
+    }
+
+    /**
+     * Tests that the distinct stories of the NewsAPI file are not flagged as duplicates of each other.
+     */
+    @Test
+    void testDistinctStoriesAreKept() throws IOException {
+        NearDuplicateDetector detector = new NearDuplicateDetector(8, 60_000, 1_000, now::get);
+        List<Article> kept = new ArrayList<>();
+
+        new NewsParser(fromFile("inputs/newsapi.txt")).parse().forEach(detector.dropping(kept::add));
+
+        assertEquals(20, kept.size());
+    }
+
+    /**
+     * Tests that remembered articles are evicted after the retention period.
+     */
+    @Test
+    void testEviction() {
+        NearDuplicateDetector detector = new NearDuplicateDetector(8, 60_000, 1_000, now::get);
+        detector.check(article(TITLE, DESCRIPTION, "https://cnbc.com/a"));
+
+        now.set(60_000);
+        assertNull(detector.check(article(TITLE, DESCRIPTION, "https://reuters.com/b")));
+        assertEquals(1, detector.size());
+    }
+
+    /**
+     * Tests that the oldest article is forgotten once the entry limit is reached, before it expires.
+     */
+    @Test
+    void testEntryLimit() {
+        NearDuplicateDetector detector = new NearDuplicateDetector(8, 60_000, 2, now::get);
+        detector.check(article(TITLE, DESCRIPTION, "https://cnbc.com/a"));
+        detector.check(article("Stocks rally as bond yields fall", "Markets rose on Wednesday.", "https://example.com/b"));
+        detector.check(article("Storm heads for the coast", "Residents were told to leave.", "https://example.com/c"));
+
+        assertEquals(2, detector.size());
+        assertNull(detector.check(article(TITLE, DESCRIPTION, "https://reuters.com/d")));
+    }
+
+    /**
+     * Tests that the tagging sink passes every article on with the URL of its original.
+     */
+    @Test
+    void testTagging() {
+        NearDuplicateDetector detector = new NearDuplicateDetector(8, 60_000, 1_000, now::get);
+        List<String> tags = new ArrayList<>();
+        Consumer<Article> sink = detector.tagging((article, original) -> tags.add(original));
+
+        sink.accept(article(TITLE, DESCRIPTION, "https://cnbc.com/a"));
+        sink.accept(article(TITLE, DESCRIPTION, "https://reuters.com/b"));
+
+        assertNull(tags.get(0));
+        assertEquals("https://cnbc.com/a", tags.get(1));
+    }
+
+    /**
+     * Tests that articles with no words in their title and description are never duplicates of each
+     * other and are not remembered.
+     */
+    @Test
+    void testArticlesWithoutTextAreSkipped() {
+        NearDuplicateDetector detector = new NearDuplicateDetector(8, 60_000, 1_000, now::get);
+
+        assertNull(detector.check(article(null, null, "https://example.com/a")));
+        assertNull(detector.check(article(null, null, "https://example.com/b")));
+        assertNull(detector.check(article("--", " ", "https://example.com/c")));
+        assertEquals(0, detector.size());
+        assertNull(detector.check(article(TITLE, null, "https://example.com/d")));
+        assertEquals("https://example.com/d", detector.check(article(TITLE, null, "https://example.com/e")));
+    }
+
+    private static Article article(String title, String description, String url) {
+        return new Article(null, null, title, description, url, null, "2021-03-24T21:39:00Z", null);
+    }
+}
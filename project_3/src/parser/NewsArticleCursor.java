@@ -0,0 +1,250 @@
+package parser;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+class NewsArticleCursor implements ArticleCursor {
+    private static final char[] ARTICLES_KEY = "\"articles\"".toCharArray();
+
+    private final Reader reader;
+    private char[] buffer;
+    // The first character still needed; everything before it may be dropped when the buffer is refilled.
+    private int start;
+    private int pos;
+    private int limit;
+    // The document offset of buffer[0], for error messages.
+    private long bufferOffset;
+    private boolean started;
+    private boolean exhausted;
+
+    NewsArticleCursor(String document) {
+        this.reader = null;
+        this.buffer = document.toCharArray();
+        this.limit = buffer.length;
+    }
+
+    /**
+     * Creates a cursor that reads the document straight from a stream, so the whole document never
+     * has to be held as a String. Only the article being read is kept in memory. Closing the cursor
+     * closes the stream.
+     *
+     * @param in the UTF-8 bytes of the NewsAPI document.
+     */
+    NewsArticleCursor(InputStream in) {
+        this.reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        this.buffer = new char[8192];
+    }
+
+    /**
+     * Reads the next valid article of the NewsAPI document, reading only up to its end.
+     *
+     * Invalid articles are logged as warnings and skipped, as in NewsParser. Damaged parts of the
+     * document are logged with their offsets and skipped the way RecoveringArticleReader does: after
+     * an error the cursor resumes at the next article boundary ("}, {"), and a document that ends
+     * early still yields every article completed before the cut.
+     *
+     * @return the next valid Article, or null once the articles array ends.
+     * @throws IOException if the stream cannot be read.
+     */
+    @Override
+    public Article next() throws IOException {
+        if (!started) {
+            started = true;
+            exhausted = !seekArticles();
+            if (exhausted) {
+                error(0, "No articles array found");
+            }
+        }
+        while (!exhausted) {
+            Article article = nextArticle();
+            if (article == null) {
+                break;
+            }
+            if (article.isValid()) {
+                return article;
+            }
+            Main.logger.warning("Invalid Required Fields: " + article.getInvalidFields());
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (IOException e) {
+            Main.logger.warning("Error closing JSON stream: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Advances to just inside the "articles" array.
+     *
+     * @return true if the array was found; false if the document has none.
+     */
+    private boolean seekArticles() throws IOException {
+        int matched = 0;
+        while (matched < ARTICLES_KEY.length) {
+            start = pos;
+            if (!available()) {
+                return false;
+            }
+            char c = buffer[pos++];
+            if (c == ARTICLES_KEY[matched]) {
+                matched++;
+            } else {
+                matched = c == '"' ? 1 : 0;
+            }
+        }
+        while (available()) {
+            start = pos;
+            if (buffer[pos++] == '[') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Binds the next article of the array, skipping damaged ones.
+     *
+     * @return the article, valid or not, or null once the array or the document ends.
+     */
+    private Article nextArticle() throws IOException {
+        while (true) {
+            start = pos;
+            while (available() && (Character.isWhitespace(buffer[pos]) || buffer[pos] == ',')) {
+                start = ++pos;
+            }
+            if (!available()) {
+                exhausted = true;
+                return null;
+            }
+            char c = buffer[pos];
+            if (c == ']') {
+                exhausted = true;
+                return null;
+            }
+            if (c != '{') {
+                error(pos, "Unexpected character '" + c + "' between articles");
+                resync(pos);
+                continue;
+            }
+
+            start = pos;
+            if (!seekMatchingBrace()) {
+                error(start, "Article truncated at end of document");
+                exhausted = true;
+                return null;
+            }
+            int from = start;
+            pos++;
+            try {
+                return ArticleDeserializer.read(buffer, from, pos - from);
+            } catch (JsonProcessingException e) {
+                JsonLocation location = e.getLocation();
+                int errorIndex = location == null || location.getCharOffset() < 0
+                        ? from : from + (int) location.getCharOffset();
+                error(errorIndex, e.getOriginalMessage());
+                // Binding errors such as an unknown field may be reported past the article's end.
+                resync(Math.min(errorIndex, pos - 1));
+            }
+        }
+    }
+
+    /**
+     * Moves pos from the '{' at start to its closing brace, skipping braces inside strings, and
+     * keeps the whole object in the buffer. The buffer is scanned with RecoveringArticleReader's
+     * matchingBrace, which carries its state across refills.
+     *
+     * @return true if the closing brace was found; false if the document ends first.
+     */
+    private boolean seekMatchingBrace() throws IOException {
+        int[] state = new int[2];
+        while (available()) {
+            int end = RecoveringArticleReader.matchingBrace(CharBuffer.wrap(buffer), pos, limit, state);
+            if (end >= 0) {
+                pos = end;
+                return true;
+            }
+            pos = limit;
+        }
+        return false;
+    }
+
+    /**
+     * Moves pos to the start of the next article after a damaged region, as RecoveringArticleReader
+     * does: a closing brace followed by a comma and an opening brace, or the end of the document.
+     *
+     * @param from the buffer index to search from.
+     */
+    private void resync(int from) throws IOException {
+        pos = from;
+        start = from;
+        // 0: looking for '}', 1: after '}' looking for ',', 2: after ',' looking for '{'.
+        int state = 0;
+        while (true) {
+            start = pos;
+            if (!available()) {
+                return;
+            }
+            char c = buffer[pos];
+            if (state > 0 && Character.isWhitespace(c)) {
+                pos++;
+            } else if (state == 1 && c == ',') {
+                state = 2;
+                pos++;
+            } else if (state == 2 && c == '{') {
+                return;
+            } else {
+                state = c == '}' ? 1 : 0;
+                pos++;
+            }
+        }
+    }
+
+    /**
+     * Makes sure buffer[pos] can be read, refilling the buffer from the stream if needed. Characters
+     * from start onwards are kept, moving to the front of the buffer, which grows only when they fill it.
+     *
+     * @return false once the document has no more characters.
+     */
+    private boolean available() throws IOException {
+        while (pos >= limit) {
+            if (reader == null) {
+                return false;
+            }
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, limit - start);
+                bufferOffset += start;
+                pos -= start;
+                limit -= start;
+                start = 0;
+            }
+            if (limit == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            int read = reader.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                return false;
+            }
+            limit += read;
+        }
+        return true;
+    }
+
+    private void error(int index, String message) {
+        Main.logger.severe("Error reading or parsing JSON file at offset " + (bufferOffset + index) + ": " + message);
+    }
+}
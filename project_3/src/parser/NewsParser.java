@@ -1,11 +1,9 @@
 package parser;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Flow;
 
 class NewsParser implements Parser{
     private final String file;
@@ -17,34 +15,62 @@ class NewsParser implements Parser{
     /**
      * Parses the NewsAPI format and extracts valid articles.
      *
-     * This method reads the JSON content from the specified file, deserializes it into a News object,
-     * and collects articles that meet the validation criteria. Articles with missing required fields
-     * are logged as warnings.
+     * This method reads the JSON content from the specified file article by article, and collects
+     * articles that meet the validation criteria. Articles with missing required fields are logged
+     * as warnings. Damaged or truncated parts of the file are logged with their offsets and skipped,
+     * so the articles around them are still returned.
      *
      * @return a List of valid Article objects extracted from the JSON file. Returns an empty list if
-     *         there are no valid articles or if an error occurs during parsing.
+     *         there are no valid articles or if no articles could be recovered.
      */
     public List<Article> parse() {
-        ObjectMapper objectMapper = new ObjectMapper();
         List<Article> validArticles = new ArrayList<>();
+        ParseResult result = RecoveringArticleReader.read(file);
 
-        try {
-            News news = objectMapper.readValue(file, News.class);
+        for (ParseError error : result.getErrors()) {
+            Main.logger.severe("Error reading or parsing JSON file at " + error);
+        }
 
-            for (Article article : news.getArticleList()) {
-                if (article.isValid()) {
-                    validArticles.add(article);
-                } else {
-                    Main.logger.warning("Invalid Required Fields: " + article.getInvalidFields());
-                }
+        for (Article article : result.getArticles()) {
+            if (article.isValid()) {
+                validArticles.add(article);
+            } else {
+                Main.logger.warning("Invalid Required Fields: " + article.getInvalidFields());
             }
+        }
 
-            return validArticles;
+        return validArticles;
+    }
 
+    /**
+     * Parses the NewsAPI format and extracts the valid articles that pass a filter.
+     *
+     * The filter is pushed down into the streaming reader, so articles are dropped as soon as one of
+     * their fields fails a condition, before the rest of them is bound. If the JSON turns out to be
+     * damaged, the recovering parse is used instead and its articles are filtered afterwards.
+     *
+     * @param filter the conditions the articles must meet.
+     * @return a List of valid Article objects accepted by the filter.
+     */
+    @Override
+    public List<Article> parse(ArticleFilter filter) {
+        List<Article> articles;
+        try {
+            articles = FilteringArticleReader.read(file, filter);
         } catch (IOException e) {
             Main.logger.severe("Error reading or parsing JSON file: " + e.getMessage());
-            return Collections.emptyList();
+            return Parser.super.parse(filter);
         }
+
+        List<Article> validArticles = new ArrayList<>();
+        for (Article article : articles) {
+            if (article.isValid()) {
+                validArticles.add(article);
+            } else {
+                Main.logger.warning("Invalid Required Fields: " + article.getInvalidFields());
+            }
+        }
+        return validArticles;
     }
 
     /**
@@ -57,6 +83,29 @@ class NewsParser implements Parser{
         return visitor.visit(this);
     }
 
+    /**
+     * Publishes the valid articles on demand, reading the JSON only as far as the requested articles
+     * reach. Damaged articles are logged and skipped as in parse(), so they do not end the stream.
+     * Cancelling a subscription closes the underlying cursor.
+     *
+     * @return a Flow.Publisher of the valid articles.
+     */
+    @Override
+    public Flow.Publisher<Article> publish() {
+        return new ArticlePublisher(() -> new NewsArticleCursor(file));
+    }
+
+    /**
+     * Accepts a visitor that decides how this parser's articles are published.
+     *
+     * @param visitor the visitor implementing specific processing logic for this parser.
+     * @return a publisher of the articles processed by the visitor.
+     */
+    @Override
+    public Flow.Publisher<Article> publish(ParserVisitor visitor) {
+        return visitor.publish(this);
+    }
+
     /**
      * Retrieves the file associated with this parser.
      *
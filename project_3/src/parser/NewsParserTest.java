@@ -1,5 +1,6 @@
 package parser;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -12,6 +13,15 @@ class NewsParserTest {
 
     private NewsParser newsParser;
 
+    /**
+     * Resets the URL breakers shared through Main, so URL failures in one test cannot open the
+     * breaker for the next.
+     */
+    @BeforeEach
+    void resetBreakers() {
+        Main.urlFetcher.resetBreakers();
+    }
+
     /**
      * Tests the parsing of a valid NewsAPI file.
      * This test verifies that the article is parsed correctly and match expected values.
@@ -0,0 +1,34 @@
+package parser;
+
+class ParseError {
+    private final int offset;
+    private final String message;
+
+    ParseError(int offset, String message) {
+        this.offset = offset;
+        this.message = message;
+    }
+
+    /**
+     * Retrieves the offset in the document where the error was detected.
+     *
+     * @return the character offset of the error.
+     */
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Retrieves the description of the error.
+     *
+     * @return the error message.
+     */
+    String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "offset " + offset + ": " + message;
+    }
+}
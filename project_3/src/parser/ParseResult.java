@@ -0,0 +1,54 @@
+package parser;
+
+import java.util.List;
+
+class ParseResult {
+    private final List<Article> articles;
+    private final List<ParseError> errors;
+    private final int resumeOffset;
+    private final boolean truncated;
+
+    ParseResult(List<Article> articles, List<ParseError> errors, int resumeOffset, boolean truncated) {
+        this.articles = articles;
+        this.errors = errors;
+        this.resumeOffset = resumeOffset;
+        this.truncated = truncated;
+    }
+
+    /**
+     * Retrieves every article that could be bound, valid or not.
+     *
+     * @return a List of the Article objects recovered from the document.
+     */
+    List<Article> getArticles() {
+        return articles;
+    }
+
+    /**
+     * Retrieves the errors that were skipped over while reading the document.
+     *
+     * @return a List of ParseError objects in document order; empty if the document was clean.
+     */
+    List<ParseError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Retrieves the offset just past the last article that was read completely.
+     * Reading can be resumed from here once more of a truncated document is available.
+     *
+     * @return the character offset to resume from.
+     */
+    int getResumeOffset() {
+        return resumeOffset;
+    }
+
+    /**
+     * Checks whether the document ended before its articles array was closed.
+     *
+     * @return true if the document is truncated; false otherwise.
+     */
+    boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -1,6 +1,8 @@
 package parser;
 
 import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
 
 interface Parser {
     /**
@@ -20,4 +22,39 @@ interface Parser {
      *         The exact behavior depends on the visitor's implementation.
      */
     List<Article> accept(ParserVisitor visitor);
-}
\ No newline at end of file
+
+    /**
+     * Parses the data and returns the valid articles that pass a filter.
+     *
+     * Parsers that can evaluate the filter while reading override this; by default every article is
+     * bound first and filtered afterwards.
+     *
+     * @param filter the conditions the articles must meet.
+     * @return a List of valid Article objects accepted by the filter.
+     */
+    default List<Article> parse(ArticleFilter filter) {
+        return parse().stream().filter(filter::test).collect(Collectors.toList());
+    }
+
+    /**
+     * Publishes the valid articles on demand instead of returning them all at once.
+     *
+     * Parsers that can read one article at a time override this so that parsing only advances as
+     * subscribers request items; by default the data is parsed in full on the first request.
+     *
+     * @return a Flow.Publisher of the valid articles.
+     */
+    default Flow.Publisher<Article> publish() {
+        return new ArticlePublisher(() -> ArticlePublisher.cursorOver(parse()));
+    }
+
+    /**
+     * Accepts a visitor that decides how this parser's articles are published.
+     *
+     * @param visitor the ParserVisitor that implements specific processing logic for this parser.
+     * @return a Flow.Publisher of the articles processed by the visitor.
+     */
+    default Flow.Publisher<Article> publish(ParserVisitor visitor) {
+        return visitor.publish(this);
+    }
+}
@@ -0,0 +1,11 @@
+package parser;
+
+interface ParserFactory {
+    /**
+     * Creates a parser for the given data.
+     *
+     * @param data the loaded contents of a file or URL.
+     * @return a Parser that will read articles from the data.
+     */
+    Parser create(String data);
+}
@@ -1,6 +1,7 @@
 package parser;
 
 import java.util.List;
+import java.util.concurrent.Flow;
 
 interface ParserVisitor {
     /**
@@ -20,4 +21,45 @@ interface ParserVisitor {
      *         The exact behavior depends on the visitor's implementation.
      */
     List<Article> visit(SimpleParser simpleParser);
+
+    /**
+     * Processes any other Parser, letting formats added through the FormatRegistry work with existing
+     * visitors without a dedicated overload.
+     *
+     * @param parser the Parser to be visited.
+     * @return a List of Article objects produced by the parser itself.
+     */
+    default List<Article> visit(Parser parser) {
+        return parser.parse();
+    }
+
+    /**
+     * Publishes the articles of a NewsParser on demand.
+     *
+     * @param newsParser the NewsParser to be visited.
+     * @return a Flow.Publisher of the articles; by default the parser's own streaming publisher.
+     */
+    default Flow.Publisher<Article> publish(NewsParser newsParser) {
+        return newsParser.publish();
+    }
+
+    /**
+     * Publishes the articles of a SimpleParser on demand.
+     *
+     * @param simpleParser the SimpleParser to be visited.
+     * @return a Flow.Publisher of the articles processed by visit(SimpleParser).
+     */
+    default Flow.Publisher<Article> publish(SimpleParser simpleParser) {
+        return new ArticlePublisher(() -> ArticlePublisher.cursorOver(visit(simpleParser)));
+    }
+
+    /**
+     * Publishes the articles of any other Parser on demand.
+     *
+     * @param parser the Parser to be visited.
+     * @return a Flow.Publisher of the articles; by default the parser's own publisher.
+     */
+    default Flow.Publisher<Article> publish(Parser parser) {
+        return parser.publish();
+    }
 }
@@ -1,7 +1,5 @@
 package parser;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -11,35 +9,32 @@ class ParserVisitorImplementation implements ParserVisitor {
     /**
      * Processes a NewsParser instance to parse NewsAPI format data and extract valid articles.
      *
-     * This method deserializes the JSON content into a News object, iterates through its articles,
-     * and collects articles that pass validation. Articles with missing required fields are logged as warnings.
+     * This method reads the JSON content article by article, and collects articles that pass
+     * validation. Articles with missing required fields are logged as warnings. Damaged or truncated
+     * parts of the data are logged with their offsets and skipped, so the articles around them are kept.
      *
      * @param newsParser the NewsParser instance containing the JSON data to parse.
      * @return a List of valid Article objects extracted from the NewsAPI data.
-     *         Returns an empty list if no valid articles are found or if an error occurs during parsing.
+     *         Returns an empty list if no valid articles are found or if no articles could be recovered.
      */
     @Override
     public List<Article> visit(NewsParser newsParser) {
-        ObjectMapper objectMapper = new ObjectMapper();
         List<Article> validArticles = new ArrayList<>();
+        ParseResult result = RecoveringArticleReader.read(newsParser.getFile());
 
-        try {
-            News news = objectMapper.readValue(newsParser.getFile(), News.class);
+        for (ParseError error : result.getErrors()) {
+            Main.logger.severe("Error reading or parsing JSON file at " + error);
+        }
 
-            for (Article article : news.getArticleList()) {
-                if (article.isValid()) {
-                    validArticles.add(article);
-                } else {
-                    Main.logger.warning("Invalid Required Fields: " + article.getInvalidFields());
-                }
+        for (Article article : result.getArticles()) {
+            if (article.isValid()) {
+                validArticles.add(article);
+            } else {
+                Main.logger.warning("Invalid Required Fields: " + article.getInvalidFields());
             }
-
-            return validArticles;
-
-        } catch (IOException e) {
-            Main.logger.severe("Error reading or parsing JSON file: " + e.getMessage());
-            return Collections.emptyList();
         }
+
+        return validArticles;
     }
 
     /**
@@ -55,11 +50,10 @@ class ParserVisitorImplementation implements ParserVisitor {
      */
     @Override
     public List<Article> visit(SimpleParser simpleParser) {
-        ObjectMapper objectMapper = new ObjectMapper();
         List<Article> validArticles = new ArrayList<>();
 
         try {
-            Article article = objectMapper.readValue(simpleParser.getFile(), Article.class);
+            Article article = ArticleDeserializer.read(simpleParser.getFile());
 
             if (article.isValid()) {
                 validArticles.add(article);
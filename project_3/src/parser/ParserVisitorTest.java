@@ -1,5 +1,6 @@
 package parser;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -13,6 +14,15 @@ class ParserVisitorTest {
 
     private final ParserVisitor parserVisitor = new ParserVisitorImplementation();
 
+    /**
+     * Resets the URL breakers shared through Main, so URL failures in one test cannot open the
+     * breaker for the next.
+     */
+    @BeforeEach
+    void resetBreakers() {
+        Main.urlFetcher.resetBreakers();
+    }
+
     /**
      * Tests that a SimpleParser is correctly created for files in SIMPLE format
      * and validates the visitor functionality.
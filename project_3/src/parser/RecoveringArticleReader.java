@@ -0,0 +1,180 @@
+package parser;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+class RecoveringArticleReader {
+    // String states of matchingBrace: inside a string, and right after a backslash inside one.
+    private static final int IN_STRING = 1;
+    private static final int IN_ESCAPE = 2;
+
+    private RecoveringArticleReader() {
+    }
+
+    /**
+     * Reads the articles of a NewsAPI document, skipping over damaged parts instead of giving up.
+     *
+     * Each element of the "articles" array is bound on its own, so a corrupt article only costs that
+     * article. After an error the reader resynchronizes at the next article boundary ("}, {"), and a
+     * document that ends early keeps every article completed before the cut.
+     *
+     * @param document the NewsAPI JSON document.
+     * @return a ParseResult with the recovered articles, the errors and where reading can resume.
+     */
+    static ParseResult read(String document) {
+        int key = document.indexOf("\"articles\"");
+        int start = key < 0 ? -1 : document.indexOf('[', key);
+        if (start < 0) {
+            List<ParseError> errors = new ArrayList<>();
+            errors.add(new ParseError(0, "No articles array found"));
+            return new ParseResult(new ArrayList<>(), errors, 0, true);
+        }
+        return resume(document, start + 1);
+    }
+
+    /**
+     * Continues reading the articles array of a NewsAPI document from a given offset.
+     *
+     * @param document the NewsAPI JSON document, typically a longer copy of one that was truncated.
+     * @param offset   an offset inside the articles array, such as a previous result's resume offset.
+     * @return a ParseResult with the articles found from the offset onwards.
+     */
+    static ParseResult resume(String document, int offset) {
+        return resume(document.toCharArray(), offset);
+    }
+
+    /**
+     * Continues reading the articles array of a NewsAPI document held as characters, so a caller that
+     * resumes the same document several times copies it only once.
+     *
+     * @param document the characters of the NewsAPI JSON document; they are bound in place.
+     * @param offset   an offset inside the articles array, such as a previous result's resume offset.
+     * @return a ParseResult with the articles found from the offset onwards.
+     */
+    static ParseResult resume(char[] document, int offset) {
+        List<Article> articles = new ArrayList<>();
+        List<ParseError> errors = new ArrayList<>();
+        CharBuffer chars = CharBuffer.wrap(document);
+        int length = document.length;
+        int pos = offset;
+        int resumeOffset = offset;
+
+        while (true) {
+            while (pos < length && (Character.isWhitespace(document[pos]) || document[pos] == ',')) {
+                pos++;
+            }
+            if (pos >= length) {
+                return new ParseResult(articles, errors, resumeOffset, true);
+            }
+            char c = document[pos];
+            if (c == ']') {
+                return new ParseResult(articles, errors, pos + 1, false);
+            }
+            if (c != '{') {
+                errors.add(new ParseError(pos, "Unexpected character '" + c + "' between articles"));
+                pos = resync(document, pos);
+                continue;
+            }
+
+            int end = matchingBrace(chars, pos);
+            if (end < 0) {
+                errors.add(new ParseError(pos, "Article truncated at end of document"));
+                return new ParseResult(articles, errors, resumeOffset, true);
+            }
+
+            try {
+                articles.add(ArticleDeserializer.read(document, pos, end + 1 - pos));
+                pos = end + 1;
+                resumeOffset = pos;
+            } catch (JsonProcessingException e) {
+                JsonLocation location = e.getLocation();
+                int errorOffset = location == null || location.getCharOffset() < 0
+                        ? pos : pos + (int) location.getCharOffset();
+                errors.add(new ParseError(errorOffset, e.getOriginalMessage()));
+                // Binding errors such as an unknown field may be reported past the article's end.
+                pos = resync(document, Math.min(errorOffset, end));
+            }
+        }
+    }
+
+    /**
+     * Finds the end of the JSON object starting at the given offset, skipping braces inside strings.
+     *
+     * @return the offset of the closing brace, or -1 if the document ends first.
+     */
+    static int matchingBrace(CharSequence document, int start) {
+        return matchingBrace(document, start, document.length(), new int[2]);
+    }
+
+    /**
+     * Finds the end of a JSON object whose characters may arrive in pieces, continuing from the state
+     * the previous piece ended in. Backslash escapes are tracked in the state rather than skipped
+     * over, so an escape split between two pieces is still honoured.
+     *
+     * @param document the characters to scan.
+     * @param from     the index to scan from; the object's opening brace for the first piece.
+     * @param to       the index to scan up to, exclusive.
+     * @param state    the brace depth and string state, both 0 before the object's first piece; it is
+     *                 updated in place, so the next piece can be scanned with it.
+     * @return the index of the closing brace, or -1 if the object does not end before to.
+     */
+    static int matchingBrace(CharSequence document, int from, int to, int[] state) {
+        int depth = state[0];
+        int string = state[1];
+        int end = -1;
+        for (int i = from; i < to; i++) {
+            char c = document.charAt(i);
+            if (string == IN_ESCAPE) {
+                string = IN_STRING;
+            } else if (string == IN_STRING) {
+                if (c == '\\') {
+                    string = IN_ESCAPE;
+                } else if (c == '"') {
+                    string = 0;
+                }
+            } else if (c == '"') {
+                string = IN_STRING;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                end = i;
+                break;
+            }
+        }
+        state[0] = depth;
+        state[1] = string;
+        return end;
+    }
+
+    /**
+     * Finds the start of the next article after a damaged region. Articles hold no arrays of objects,
+     * so a closing brace followed by a comma and an opening brace can only be a gap between articles.
+     *
+     * @return the offset of the next article's opening brace, or the end of the document.
+     */
+    private static int resync(char[] document, int from) {
+        for (int i = Math.max(from, 0); i < document.length; i++) {
+            if (document[i] != '}') {
+                continue;
+            }
+            int j = i + 1;
+            while (j < document.length && Character.isWhitespace(document[j])) {
+                j++;
+            }
+            if (j < document.length && document[j] == ',') {
+                j++;
+                while (j < document.length && Character.isWhitespace(document[j])) {
+                    j++;
+                }
+                if (j < document.length && document[j] == '{') {
+                    return j;
+                }
+            }
+        }
+        return document.length;
+    }
+}
@@ -0,0 +1,91 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class RecoveringArticleReaderTest {
+
+    /**
+     * Tests that a clean NewsAPI file is read completely with no errors.
+     */
+    @Test
+    void testCleanDocument() throws IOException {
+        String json = fromFile("inputs/newsapi.txt");
+        ParseResult result = RecoveringArticleReader.read(json);
+
+        assertEquals(20, result.getArticles().size());
+        assertTrue(result.getErrors().isEmpty());
+        assertFalse(result.isTruncated());
+    }
+
+    /**
+     * Tests that a corrupt article only costs that article.
+     * Verifies that the articles before and after it are kept and the error offset points into it.
+     */
+    @Test
+    void testCorruptArticleIsSkipped() throws IOException {
+        String json = fromFile("inputs/newsapi.txt");
+        int second = json.indexOf("\"title\"", json.indexOf("\"title\"") + 1);
+        String corrupt = json.substring(0, second) + "\"title\" ?? " + json.substring(second + 8);
+
+        ParseResult result = RecoveringArticleReader.read(corrupt);
+
+        assertEquals(19, result.getArticles().size());
+        assertEquals(1, result.getErrors().size());
+        int offset = result.getErrors().get(0).getOffset();
+        assertTrue(offset >= second && offset < second + 20, "Error offset should point at the damage.");
+        assertFalse(result.isTruncated());
+    }
+
+    /**
+     * Tests that a truncated download keeps the articles completed before the cut,
+     * and that reading resumes from the last good offset once the rest is available.
+     */
+    @Test
+    void testTruncatedDocumentResumes() throws IOException {
+        String json = fromFile("inputs/newsapi.txt");
+        String partial = json.substring(0, json.length() / 2);
+
+        ParseResult first = RecoveringArticleReader.read(partial);
+        assertTrue(first.isTruncated());
+        assertTrue(first.getArticles().size() > 0);
+
+        ParseResult rest = RecoveringArticleReader.resume(json, first.getResumeOffset());
+        assertFalse(rest.isTruncated());
+        assertTrue(rest.getErrors().isEmpty());
+        assertEquals(20, first.getArticles().size() + rest.getArticles().size());
+        assertEquals(rest.getArticles(), RecoveringArticleReader.resume(json.toCharArray(), first.getResumeOffset()).getArticles());
+    }
+
+    /**
+     * Tests that a document without an articles array is reported rather than thrown.
+     */
+    @Test
+    void testMissingArticlesArray() {
+        ParseResult result = RecoveringArticleReader.read("");
+
+        assertEquals(0, result.getArticles().size());
+        assertEquals(1, result.getErrors().size());
+    }
+
+    /**
+     * Tests that an object scanned in two pieces ends at the same brace wherever it is split, even
+     * between a backslash and the character it escapes.
+     */
+    @Test
+    void testMatchingBraceAcrossPieces() {
+        String json = "{\"a\": \"x\\\"}\", \"b\": {\"c\": \"\\\\\"}, \"d\": \"{\"} tail";
+        int end = RecoveringArticleReader.matchingBrace(json, 0);
+        assertEquals(json.indexOf(" tail") - 1, end);
+
+        for (int split = 1; split < end; split++) {
+            int[] state = new int[2];
+            assertEquals(-1, RecoveringArticleReader.matchingBrace(json, 0, split, state));
+            assertEquals(end, RecoveringArticleReader.matchingBrace(json, split, json.length(), state), "Split at " + split);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package parser;
+
+class RetryBudget {
+    private final double tokensPerRequest;
+    private final double maxTokens;
+    private double tokens;
+
+    /**
+     * Creates a retry budget shared by every fetch.
+     *
+     * Each first attempt deposits a fraction of a token and each retry withdraws a whole one, so
+     * retries can never exceed that fraction of the overall traffic once the initial tokens are spent.
+     *
+     * @param tokensPerRequest the tokens earned by each first attempt (e.g. 0.1 for a 10% retry ratio).
+     * @param maxTokens        the most tokens the budget can hold, which is also its starting balance.
+     */
+    RetryBudget(double tokensPerRequest, double maxTokens) {
+        this.tokensPerRequest = tokensPerRequest;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+    }
+
+    /**
+     * Records a first attempt and earns its share of a retry.
+     */
+    synchronized void recordRequest() {
+        tokens = Math.min(maxTokens, tokens + tokensPerRequest);
+    }
+
+    /**
+     * Tries to spend one retry from the budget.
+     *
+     * @return true if a retry may be made; false if the budget is exhausted.
+     */
+    synchronized boolean tryAcquireRetry() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
@@ -0,0 +1,94 @@
+package parser;
+
+class Shard {
+    /**
+     * What a shard covers: a whole file, a byte range of articles within a NewsAPI file, or one URL.
+     */
+    enum Kind {
+        FILE, RANGE, URL
+    }
+
+    private final int id;
+    private final Kind kind;
+    private final FormatEnum format;
+    private final String source;
+    private final long start;
+    private final long end;
+
+    Shard(int id, Kind kind, FormatEnum format, String source, long start, long end) {
+        this.id = id;
+        this.kind = kind;
+        this.format = format;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Retrieves the shard's position in the input set, which also orders the merged output.
+     *
+     * @return the shard id.
+     */
+    int getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves what the shard covers.
+     *
+     * @return FILE, RANGE or URL.
+     */
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Retrieves the format of the shard's data.
+     *
+     * @return the FormatEnum of the data.
+     */
+    FormatEnum getFormat() {
+        return format;
+    }
+
+    /**
+     * Retrieves where the shard's data is read from.
+     *
+     * @return the file path or URL.
+     */
+    String getSource() {
+        return source;
+    }
+
+    /**
+     * Retrieves where a byte range starts.
+     *
+     * @return for a RANGE, the byte offset of its first article's opening brace; otherwise 0.
+     */
+    long getStart() {
+        return start;
+    }
+
+    /**
+     * Retrieves where a byte range ends.
+     *
+     * @return for a RANGE, the byte offset just past its last article's closing brace; otherwise 0.
+     */
+    long getEnd() {
+        return end;
+    }
+
+    /**
+     * Retrieves the source and format combination the shard's data is parsed as.
+     *
+     * @return URL for URL shards and FILE otherwise, with the shard's format.
+     */
+    SourceFormat getSourceFormat() {
+        return new SourceFormat(kind == Kind.URL ? SourceEnum.URL : SourceEnum.FILE, format);
+    }
+
+    @Override
+    public String toString() {
+        return "shard " + id + " (" + source + (kind == Kind.RANGE ? " bytes " + start + "-" + end : "") + ")";
+    }
+}
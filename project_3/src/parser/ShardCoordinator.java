@@ -0,0 +1,279 @@
+package parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class ShardCoordinator {
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final String URL_LIST_SUFFIX = ".urls";
+
+    private final int workers;
+    private final long leaseMillis;
+    private final int maxRestarts;
+
+    /**
+     * Creates a coordinator that runs the shards of an input set on worker JVMs of this host.
+     *
+     * @param workers     the number of worker processes to keep running.
+     * @param leaseMillis how long a worker's lease on a shard lasts without being renewed, and so how
+     *                    long the shard of a dead worker waits before another worker takes it over.
+     * @param maxRestarts how many times in total a worker that crashed is replaced by a new process.
+     */
+    ShardCoordinator(int workers, long leaseMillis, int maxRestarts) {
+        this.workers = workers;
+        this.leaseMillis = leaseMillis;
+        this.maxRestarts = maxRestarts;
+    }
+
+    /**
+     * Splits the input set, runs it on the worker processes and merges their results. The shard
+     * queue directory next to the output is removed once the merge succeeds, and kept for inspection
+     * if it fails.
+     *
+     * @param inputs     the inputs; see plan().
+     * @param shardBytes the size above which a NewsAPI file is split into byte ranges of about this size.
+     * @param output     the file the merged articles are written to.
+     * @return the number of articles written.
+     * @throws IOException if an input cannot be planned, the workers fail, or the output cannot be written.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     */
+    int run(List<String> inputs, long shardBytes, Path output) throws IOException, InterruptedException {
+        Path directory = output.resolveSibling(output.getFileName() + ".shards");
+        ShardQueue queue = ShardQueue.create(directory, plan(inputs, shardBytes), workers);
+        process(queue);
+        int written = merge(queue, output);
+        deleteDirectory(directory);
+        return written;
+    }
+
+    /**
+     * Deletes a directory and everything in it, such as a queue whose results have been merged
+     * along with its lock file and worker logs.
+     */
+    private static void deleteDirectory(Path directory) throws IOException {
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Splits an input set into shards.
+     *
+     * A file ending in ".urls" lists one NewsAPI URL per line, and each URL becomes a shard. Any other
+     * file is a NewsAPI file if its top-level object has an "articles" array, and a Simple file
+     * otherwise. An uncompressed NewsAPI file larger than shardBytes is split at article boundaries
+     * into byte ranges of about shardBytes each; every other file is a single shard. A file that is
+     * not well-formed JSON is not split, so its worker reports the damage the way Main does.
+     *
+     * @param inputs     the file paths.
+     * @param shardBytes the target size of a byte range.
+     * @return the shards, numbered in input order.
+     * @throws IOException if an input cannot be read.
+     */
+    static List<Shard> plan(List<String> inputs, long shardBytes) throws IOException {
+        List<Shard> shards = new ArrayList<>();
+        for (String input : inputs) {
+            if (input.endsWith(URL_LIST_SUFFIX)) {
+                for (String line : Files.readAllLines(Paths.get(input), StandardCharsets.UTF_8)) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#")) {
+                        shards.add(new Shard(shards.size(), Shard.Kind.URL, FormatEnum.NEWSAPI, line, 0, 0));
+                    }
+                }
+                continue;
+            }
+            boolean splittable = Files.size(Paths.get(input)) > shardBytes && !isCompressed(input);
+            List<long[]> ranges = new ArrayList<>();
+            FormatEnum format = scan(input, splittable ? shardBytes : -1, ranges);
+            if (ranges.size() > 1) {
+                for (long[] range : ranges) {
+                    shards.add(new Shard(shards.size(), Shard.Kind.RANGE, format, input, range[0], range[1]));
+                }
+            } else {
+                shards.add(new Shard(shards.size(), Shard.Kind.FILE, format, input, 0, 0));
+            }
+        }
+        return shards;
+    }
+
+    /**
+     * Starts the workers and keeps them running until every shard of the queue is done. A worker
+     * that exits with an error is replaced while restarts are left; its leased shard is picked up
+     * again once the lease expires.
+     *
+     * @param queue the queue the workers lease shards from.
+     * @throws IOException if a worker cannot be started, or every worker has exited with shards left.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     */
+    void process(ShardQueue queue) throws IOException, InterruptedException {
+        Process[] processes = new Process[workers];
+        int restarts = 0;
+        try {
+            for (int slot = 0; slot < workers; slot++) {
+                processes[slot] = start(queue, slot);
+            }
+            while (true) {
+                boolean alive = false;
+                for (int slot = 0; slot < workers; slot++) {
+                    if (processes[slot].isAlive()) {
+                        alive = true;
+                    } else if (processes[slot].exitValue() != 0 && restarts < maxRestarts) {
+                        Main.logger.warning("Worker " + slot + " exited with " + processes[slot].exitValue() + ", restarting it");
+                        processes[slot] = start(queue, slot);
+                        restarts++;
+                        alive = true;
+                    }
+                }
+                int remaining = queue.remaining();
+                if (remaining == 0) {
+                    return;
+                }
+                if (!alive) {
+                    throw new IOException("All workers exited with " + remaining + " shards left");
+                }
+                Thread.sleep(100);
+            }
+        } finally {
+            for (Process process : processes) {
+                if (process != null) {
+                    process.destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges the results of every completed shard into one NewsAPI document, in shard order. An
+     * article whose URL was already written, by this or an earlier shard, is left out. Text fields are
+     * written as they were in the feed, so parsing the output gives the same articles and raw values.
+     *
+     * @param queue  the queue whose results are merged.
+     * @param output the file to write the document to.
+     * @return the number of articles written.
+     * @throws IOException if a result cannot be read or the output cannot be written.
+     */
+    static int merge(ShardQueue queue, Path output) throws IOException {
+        Set<String> urls = new HashSet<>();
+        int written = 0;
+        try (OutputStream out = Files.newOutputStream(output);
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("status", "ok");
+            generator.writeArrayFieldStart("articles");
+            for (Path result : queue.results()) {
+                try (BufferedReader reader = Files.newBufferedReader(result, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        Article article = ArticleDeserializer.read(line);
+                        if (urls.add(article.getUrl())) {
+                            ArticleServer.write(generator, article, true);
+                            written++;
+                        }
+                    }
+                }
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("totalResults", written);
+            generator.writeEndObject();
+        }
+        return written;
+    }
+
+    private Process start(ShardQueue queue, int slot) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                Main.class.getName(), "--work", queue.getDirectory().toString(), Integer.toString(slot),
+                Long.toString(leaseMillis));
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(ProcessBuilder.Redirect.appendTo(
+                queue.getDirectory().resolve("worker-" + slot + ".out").toFile()));
+        return builder.start();
+    }
+
+    private static boolean isCompressed(String filePath) throws IOException {
+        try (InputStream in = Files.newInputStream(Paths.get(filePath))) {
+            return in.read() == 0x1f && in.read() == 0x8b;
+        }
+    }
+
+    /**
+     * Tells a NewsAPI file from a Simple one by its top-level fields and, if asked to, cuts the
+     * articles array into ranges of about rangeBytes. Byte offsets are those of the file itself, so
+     * this is only asked of uncompressed files.
+     *
+     * @param rangeBytes the target range size, or -1 to only detect the format.
+     * @param ranges     receives the [start, end) byte offsets of each range.
+     */
+    private static FormatEnum scan(String filePath, long rangeBytes, List<long[]> ranges) throws IOException {
+        FormatEnum format = FormatEnum.SIMPLE;
+        try (InputStream in = CompressedInput.open(filePath);
+             JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return format;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (name.equals("articles") && value == JsonToken.START_ARRAY) {
+                    format = FormatEnum.NEWSAPI;
+                    if (rangeBytes >= 0) {
+                        cut(parser, rangeBytes, ranges);
+                    }
+                    return format;
+                }
+                parser.skipChildren();
+            }
+            return format;
+        } catch (JsonProcessingException e) {
+            ranges.clear();
+            return format;
+        }
+    }
+
+    private static void cut(JsonParser parser, long rangeBytes, List<long[]> ranges) throws IOException {
+        long start = -1;
+        long end = -1;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end of the articles array");
+            }
+            if (start < 0) {
+                start = parser.getTokenLocation().getByteOffset();
+            }
+            parser.skipChildren();
+            end = parser.getCurrentLocation().getByteOffset();
+            if (end - start >= rangeBytes) {
+                ranges.add(new long[]{start, end});
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            ranges.add(new long[]{start, end});
+        }
+    }
+}
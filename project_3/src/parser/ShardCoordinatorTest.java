@@ -0,0 +1,128 @@
+package parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class ShardCoordinatorTest {
+
+    private final ParserVisitor visitor = new ParserVisitorImplementation();
+    private Path dir;
+    private Path feed;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("shards");
+        feed = dir.resolve("feed.json");
+        Files.write(feed, new FeedGenerator(7, 0.1, 8, 20, 30).newsApi(300).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests that a large NewsAPI file is cut into byte ranges of whole articles that together give the
+     * same articles as the whole file.
+     */
+    @Test
+    void testSplitsNewsApiFileIntoRanges() throws IOException {
+        List<Shard> shards = ShardCoordinator.plan(Arrays.asList(feed.toString()), 16 * 1024);
+        assertTrue(shards.size() > 4);
+
+        List<Article> fromRanges = new ArrayList<>();
+        try (RandomAccessFile file = new RandomAccessFile(feed.toFile(), "r")) {
+            for (Shard shard : shards) {
+                assertEquals(Shard.Kind.RANGE, shard.getKind());
+                assertEquals(FormatEnum.NEWSAPI, shard.getFormat());
+                byte[] bytes = new byte[(int) (shard.getEnd() - shard.getStart())];
+                file.seek(shard.getStart());
+                file.readFully(bytes);
+                assertEquals('{', bytes[0]);
+                assertEquals('}', bytes[bytes.length - 1]);
+                fromRanges.addAll(RecoveringArticleReader.read("{\"articles\":[" + new String(bytes, StandardCharsets.UTF_8) + "]}").getArticles());
+            }
+        }
+        List<Article> whole = RecoveringArticleReader.read(fromFile(feed.toString())).getArticles();
+        assertEquals(300, whole.size());
+        assertEquals(whole.toString(), fromRanges.toString());
+    }
+
+    /**
+     * Tests the format detection of small files and that each line of a URL list becomes a shard.
+     */
+    @Test
+    void testPlansFilesAndUrlLists() throws IOException {
+        Path urls = dir.resolve("feeds.urls");
+        Files.write(urls, Arrays.asList("http://localhost:1/a", "", "# skipped", "http://localhost:1/b"));
+        List<Shard> shards = ShardCoordinator.plan(Arrays.asList("inputs/newsapi.txt", "inputs/simple.txt",
+                urls.toString(), "inputs/bad.json"), 1 << 20);
+
+        assertEquals(5, shards.size());
+        assertEquals(Shard.Kind.FILE, shards.get(0).getKind());
+        assertEquals(FormatEnum.NEWSAPI, shards.get(0).getFormat());
+        assertEquals(FormatEnum.SIMPLE, shards.get(1).getFormat());
+        assertEquals(Shard.Kind.URL, shards.get(2).getKind());
+        assertEquals("http://localhost:1/a", shards.get(2).getSource());
+        assertEquals("http://localhost:1/b", shards.get(3).getSource());
+        assertEquals(4, shards.get(4).getId());
+    }
+
+    /**
+     * Tests a run on worker JVMs in which one shard is held by a worker that died: the shard is taken
+     * over once its lease expires, and the merged output holds each valid article of the inputs once.
+     */
+    @Test
+    void testWorkerProcessesMergeWithoutDuplicates() throws Exception {
+        List<String> inputs = Arrays.asList(feed.toString(), "inputs/newsapi.txt", "inputs/simple.txt",
+                "inputs/newsapi.txt", feed.toString());
+        ShardQueue queue = ShardQueue.create(dir.resolve("queue"), ShardCoordinator.plan(inputs, 32 * 1024), 2);
+        ShardQueue.Lease dead = queue.lease(1, "worker-1@dead", 500);
+        assertNotNull(dead);
+
+        new ShardCoordinator(2, 500, 2).process(queue);
+        Path output = dir.resolve("merged.json");
+        int written = ShardCoordinator.merge(queue, output);
+
+        Map<String, Article> expected = new LinkedHashMap<>();
+        for (String input : inputs) {
+            FormatEnum format = input.endsWith("simple.txt") ? FormatEnum.SIMPLE : FormatEnum.NEWSAPI;
+            SourceFormat sourceFormat = new SourceFormat(SourceEnum.FILE, format);
+            for (Article article : Main.formatRegistry.parse(sourceFormat, fromFile(input), visitor)) {
+                expected.putIfAbsent(article.getUrl(), article);
+            }
+        }
+        List<Article> merged = new NewsParser(fromFile(output.toString())).parse();
+        assertEquals(expected.size(), written);
+        assertEquals(new ArrayList<>(expected.values()).toString(), merged.toString());
+        int i = 0;
+        for (Article article : expected.values()) {
+            assertEquals(article.getRawAuthor(), merged.get(i).getRawAuthor());
+            assertEquals(article.getRawContent(), merged.get(i++).getRawContent());
+        }
+        assertFalse(queue.complete(dead));
+        assertEquals(0, queue.remaining());
+    }
+
+    /**
+     * Tests a whole run: the merged output is written and the shard queue directory is removed.
+     */
+    @Test
+    void testRunRemovesQueueDirectory() throws Exception {
+        Path output = dir.resolve("run.json");
+        int written = new ShardCoordinator(1, 5000, 1).run(Arrays.asList("inputs/newsapi.txt"), 32 * 1024, output);
+
+        assertEquals(20, written);
+        assertEquals(20, new NewsParser(fromFile(output.toString())).parse().size());
+        assertFalse(Files.exists(dir.resolve("run.json.shards")));
+    }
+}
@@ -0,0 +1,382 @@
+package parser;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+class ShardQueue {
+    private static final String QUEUE_FILE = "queue.tsv";
+    private static final String LOCK_FILE = "queue.lock";
+    // A FileLock is held per JVM, so threads of one JVM also have to take turns among themselves.
+    private static final ReentrantLock jvmLock = new ReentrantLock();
+
+    private final Path directory;
+
+    /**
+     * Opens a shard queue created by create() in the same directory, possibly by another process.
+     *
+     * @param directory the directory holding the queue file, its lock file and the shard results.
+     */
+    ShardQueue(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a queue of pending shards, replacing any queue already in the directory.
+     *
+     * Shards are dealt out to the workers in turn so each worker starts on its own share; workers
+     * that run out of their own shards steal from the others.
+     *
+     * @param directory the directory to create the queue in; it is created if missing.
+     * @param shards    the shards, in the order their results are merged.
+     * @param workers   the number of worker slots the shards are dealt out to.
+     * @return the new queue.
+     * @throws IOException if the queue cannot be written.
+     */
+    static ShardQueue create(Path directory, List<Shard> shards, int workers) throws IOException {
+        Files.createDirectories(directory);
+        ShardQueue queue = new ShardQueue(directory);
+        queue.locked(entries -> {
+            entries.clear();
+            for (Shard shard : shards) {
+                entries.add(new Entry(shard, shard.getId() % workers));
+            }
+            return true;
+        });
+        return queue;
+    }
+
+    /**
+     * Leases a shard to a worker.
+     *
+     * The worker gets its own pending shards first, in order. Once they are gone it steals the last
+     * pending shard of the worker with the most left, and after that it takes over shards whose lease
+     * has expired, which is how the shards of a worker that died are re-assigned. Each lease gets a
+     * new token, so a worker that lost its lease cannot complete the shard afterwards.
+     *
+     * @param slot        the worker's slot, which decides its own shards.
+     * @param owner       a name for the worker process, kept for diagnostics.
+     * @param leaseMillis how long the lease lasts unless it is renewed.
+     * @return the lease, or null if every shard is either done or leased by a live worker.
+     * @throws IOException if the queue cannot be read or written.
+     */
+    Lease lease(int slot, String owner, long leaseMillis) throws IOException {
+        return locked(entries -> {
+            long now = System.currentTimeMillis();
+            Entry chosen = null;
+            boolean stolen = false;
+            for (Entry entry : entries) {
+                if (entry.state == State.PENDING && entry.slot == slot) {
+                    chosen = entry;
+                    break;
+                }
+            }
+            if (chosen == null) {
+                chosen = steal(entries);
+                stolen = chosen != null;
+            }
+            if (chosen == null) {
+                for (Entry entry : entries) {
+                    if (entry.state == State.LEASED && entry.expiry < now) {
+                        Main.logger.warning("Lease of " + entry.shard + " held by " + entry.owner
+                                + " expired, re-assigning it to " + owner);
+                        chosen = entry;
+                        break;
+                    }
+                }
+            }
+            if (chosen == null) {
+                return null;
+            }
+            long token = 0;
+            for (Entry entry : entries) {
+                token = Math.max(token, entry.token);
+            }
+            chosen.state = State.LEASED;
+            chosen.owner = owner;
+            chosen.token = token + 1;
+            chosen.expiry = now + leaseMillis;
+            return new Lease(chosen.shard, chosen.token, stolen);
+        });
+    }
+
+    /**
+     * Extends a lease, as the worker holding it does periodically while it works on the shard.
+     *
+     * @param lease       the lease to extend.
+     * @param leaseMillis how long the lease lasts from now.
+     * @return true if the lease was extended; false if the shard has been re-assigned meanwhile.
+     * @throws IOException if the queue cannot be read or written.
+     */
+    boolean renew(Lease lease, long leaseMillis) throws IOException {
+        return locked(entries -> {
+            Entry entry = holding(entries, lease);
+            if (entry == null) {
+                return false;
+            }
+            entry.expiry = System.currentTimeMillis() + leaseMillis;
+            return true;
+        });
+    }
+
+    /**
+     * Marks a leased shard done. Its results must already be in resultFile(lease).
+     *
+     * A lease that expired but was not taken over can still complete, since its results are as good
+     * as anyone's.
+     *
+     * @param lease the lease of the finished shard.
+     * @return true if the shard is now done; false if it was re-assigned, so the results are not used.
+     * @throws IOException if the queue cannot be read or written.
+     */
+    boolean complete(Lease lease) throws IOException {
+        return locked(entries -> {
+            Entry entry = holding(entries, lease);
+            if (entry == null) {
+                return false;
+            }
+            entry.state = State.DONE;
+            return true;
+        });
+    }
+
+    /**
+     * Counts the shards that are not done yet.
+     *
+     * @return the number of pending and leased shards.
+     * @throws IOException if the queue cannot be read.
+     */
+    int remaining() throws IOException {
+        return locked(entries -> {
+            int remaining = 0;
+            for (Entry entry : entries) {
+                if (entry.state != State.DONE) {
+                    remaining++;
+                }
+            }
+            return remaining;
+        });
+    }
+
+    /**
+     * Retrieves the result files of the completed shards, in shard order.
+     *
+     * @return the files written under the leases that completed each done shard.
+     * @throws IOException if the queue cannot be read.
+     */
+    List<Path> results() throws IOException {
+        return locked(entries -> {
+            List<Path> results = new ArrayList<>();
+            for (Entry entry : entries) {
+                if (entry.state == State.DONE) {
+                    results.add(resultFile(entry.shard.getId(), entry.token));
+                }
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Retrieves the file a leased shard's results are written to. Each lease has its own file, so a
+     * worker that lost its lease never overwrites the results of the one that took it over.
+     *
+     * @param lease the lease of the shard.
+     * @return the path of the result file in the queue directory.
+     */
+    Path resultFile(Lease lease) {
+        return resultFile(lease.getShard().getId(), lease.getToken());
+    }
+
+    /**
+     * Retrieves the directory holding the queue.
+     *
+     * @return the queue directory.
+     */
+    Path getDirectory() {
+        return directory;
+    }
+
+    private Path resultFile(int id, long token) {
+        return directory.resolve("shard-" + id + "-" + token + ".ndjson");
+    }
+
+    /**
+     * Picks the last pending shard of the worker with the most pending shards, so the stolen work
+     * comes from the end of the longest remaining share.
+     */
+    private static Entry steal(List<Entry> entries) {
+        int slots = 0;
+        for (Entry entry : entries) {
+            slots = Math.max(slots, entry.slot + 1);
+        }
+        int[] pending = new int[slots];
+        Entry[] last = new Entry[slots];
+        for (Entry entry : entries) {
+            if (entry.state == State.PENDING) {
+                pending[entry.slot]++;
+                last[entry.slot] = entry;
+            }
+        }
+        int victim = -1;
+        for (int slot = 0; slot < slots; slot++) {
+            if (pending[slot] > 0 && (victim < 0 || pending[slot] > pending[victim])) {
+                victim = slot;
+            }
+        }
+        return victim < 0 ? null : last[victim];
+    }
+
+    private static Entry holding(List<Entry> entries, Lease lease) {
+        for (Entry entry : entries) {
+            if (entry.shard.getId() == lease.getShard().getId()) {
+                return entry.state == State.LEASED && entry.token == lease.getToken() ? entry : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs an update of the queue while holding both the JVM-wide lock and an exclusive lock on the
+     * lock file, so workers in other processes see each update whole. The queue file is replaced
+     * atomically, so a worker killed in the middle of an update leaves the previous queue behind.
+     */
+    private <T> T locked(Update<T> update) throws IOException {
+        jvmLock.lock();
+        try (FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                List<Entry> entries = read();
+                String before = write(entries);
+                T result = update.apply(entries);
+                String after = write(entries);
+                if (!after.equals(before)) {
+                    Path queueFile = directory.resolve(QUEUE_FILE);
+                    Path temp = directory.resolve(QUEUE_FILE + ".tmp");
+                    Files.write(temp, after.getBytes(StandardCharsets.UTF_8));
+                    Files.move(temp, queueFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return result;
+            } finally {
+                lock.release();
+            }
+        } finally {
+            jvmLock.unlock();
+        }
+    }
+
+    private List<Entry> read() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        Path queueFile = directory.resolve(QUEUE_FILE);
+        if (!Files.exists(queueFile)) {
+            return entries;
+        }
+        for (String line : Files.readAllLines(queueFile, StandardCharsets.UTF_8)) {
+            if (!line.isEmpty()) {
+                entries.add(Entry.parse(line));
+            }
+        }
+        return entries;
+    }
+
+    private static String write(List<Entry> entries) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (Entry entry : entries) {
+            stringBuilder.append(entry).append('\n');
+        }
+        return stringBuilder.toString();
+    }
+
+    private interface Update<T> {
+        T apply(List<Entry> entries) throws IOException;
+    }
+
+    private enum State {
+        PENDING, LEASED, DONE
+    }
+
+    /**
+     * One line of the queue file: the shard's state and lease, then the shard itself. Fields are
+     * separated by tabs and the source comes last, so paths and URLs need no escaping.
+     */
+    private static class Entry {
+        private final Shard shard;
+        private final int slot;
+        private State state = State.PENDING;
+        private String owner = "-";
+        private long token;
+        private long expiry;
+
+        private Entry(Shard shard, int slot) {
+            this.shard = shard;
+            this.slot = slot;
+        }
+
+        private static Entry parse(String line) {
+            String[] fields = line.split("\t", 10);
+            Shard shard = new Shard(Integer.parseInt(fields[0]), Shard.Kind.valueOf(fields[6]),
+                    FormatEnum.valueOf(fields[7]), fields[9], Long.parseLong(fields[8].split("-")[0]),
+                    Long.parseLong(fields[8].split("-")[1]));
+            Entry entry = new Entry(shard, Integer.parseInt(fields[1]));
+            entry.state = State.valueOf(fields[2]);
+            entry.owner = fields[3];
+            entry.token = Long.parseLong(fields[4]);
+            entry.expiry = Long.parseLong(fields[5]);
+            return entry;
+        }
+
+        @Override
+        public String toString() {
+            return shard.getId() + "\t" + slot + "\t" + state + "\t" + owner + "\t" + token + "\t" + expiry + "\t"
+                    + shard.getKind() + "\t" + shard.getFormat() + "\t" + shard.getStart() + "-" + shard.getEnd()
+                    + "\t" + shard.getSource();
+        }
+    }
+
+    static class Lease {
+        private final Shard shard;
+        private final long token;
+        private final boolean stolen;
+
+        private Lease(Shard shard, long token, boolean stolen) {
+            this.shard = shard;
+            this.token = token;
+            this.stolen = stolen;
+        }
+
+        /**
+         * Retrieves the leased shard.
+         *
+         * @return the shard to work on.
+         */
+        Shard getShard() {
+            return shard;
+        }
+
+        /**
+         * Retrieves the token that identifies this lease among all leases of the queue.
+         *
+         * @return a number larger than that of any earlier lease.
+         */
+        long getToken() {
+            return token;
+        }
+
+        /**
+         * Checks whether the shard was dealt out to another worker.
+         *
+         * @return true if the shard was stolen from another worker's share.
+         */
+        boolean isStolen() {
+            return stolen;
+        }
+    }
+}
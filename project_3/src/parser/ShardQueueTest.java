@@ -0,0 +1,170 @@
+package parser;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardQueueTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("shard-queue");
+    }
+
+    /**
+     * Tests that a worker gets its own shards in order, then steals the last shard of the busiest worker.
+     */
+    @Test
+    void testOwnShardsFirstThenSteals() throws IOException {
+        ShardQueue queue = ShardQueue.create(dir, shards(7), 3);
+
+        assertEquals(0, lease(queue, 0, 60_000).getShard().getId());
+        assertEquals(3, lease(queue, 0, 60_000).getShard().getId());
+        ShardQueue.Lease own = lease(queue, 0, 60_000);
+        assertEquals(6, own.getShard().getId());
+        assertFalse(own.isStolen());
+
+        assertEquals(1, lease(queue, 1, 60_000).getShard().getId());
+        ShardQueue.Lease stolen = lease(queue, 0, 60_000);
+        assertTrue(stolen.isStolen());
+        assertEquals(5, stolen.getShard().getId());
+        assertEquals(4, lease(queue, 0, 60_000).getShard().getId());
+        assertEquals(2, lease(queue, 0, 60_000).getShard().getId());
+
+        assertNull(queue.lease(1, "worker-1", 60_000));
+        assertEquals(7, queue.remaining());
+    }
+
+    /**
+     * Tests that an expired lease is re-assigned and that the worker that lost it can no longer renew
+     * or complete the shard.
+     */
+    @Test
+    void testExpiredLeaseIsReassigned() throws IOException {
+        ShardQueue queue = ShardQueue.create(dir, shards(1), 2);
+        ShardQueue.Lease dead = lease(queue, 0, -1);
+        ShardQueue.Lease taken = lease(queue, 1, 60_000);
+
+        assertEquals(dead.getShard().getId(), taken.getShard().getId());
+        assertTrue(taken.getToken() > dead.getToken());
+        assertNotEquals(queue.resultFile(dead), queue.resultFile(taken));
+        assertFalse(queue.renew(dead, 60_000));
+        assertFalse(queue.complete(dead));
+
+        assertTrue(queue.renew(taken, 60_000));
+        assertTrue(queue.complete(taken));
+        assertEquals(0, queue.remaining());
+        assertEquals(Collections.singletonList(queue.resultFile(taken)), queue.results());
+    }
+
+    /**
+     * Tests that a live lease is not taken over while an expired one is.
+     */
+    @Test
+    void testLiveLeaseIsKept() throws IOException {
+        ShardQueue queue = ShardQueue.create(dir, shards(2), 1);
+        ShardQueue.Lease live = lease(queue, 0, 60_000);
+        ShardQueue.Lease late = lease(queue, 0, -1);
+
+        assertNotNull(queue.lease(0, "other", 60_000));
+        assertNull(queue.lease(0, "other", 60_000));
+        assertTrue(queue.complete(live));
+        assertFalse(queue.complete(late));
+        assertEquals(1, queue.remaining());
+    }
+
+    /**
+     * Tests that an expired lease can still complete the shard if nobody took it over.
+     */
+    @Test
+    void testExpiredLeaseCompletesIfNotTakenOver() throws IOException {
+        ShardQueue queue = ShardQueue.create(dir, shards(1), 1);
+        ShardQueue.Lease slow = lease(queue, 0, -1);
+        assertTrue(queue.complete(slow));
+        assertNull(queue.lease(0, "worker-0", 60_000));
+        assertEquals(0, queue.remaining());
+    }
+
+    /**
+     * Tests that the shard and its state survive the queue file, including sources with spaces.
+     */
+    @Test
+    void testShardsRoundTrip() throws IOException {
+        List<Shard> shards = new ArrayList<>();
+        shards.add(new Shard(0, Shard.Kind.RANGE, FormatEnum.NEWSAPI, "/tmp/archive 2024/news.json", 17, 4096));
+        shards.add(new Shard(1, Shard.Kind.URL, FormatEnum.NEWSAPI, "http://localhost:8080/news?a=1&b=2", 0, 0));
+        ShardQueue.create(dir, shards, 1);
+
+        ShardQueue reopened = new ShardQueue(dir);
+        Shard range = lease(reopened, 0, 60_000).getShard();
+        assertEquals(Shard.Kind.RANGE, range.getKind());
+        assertEquals("/tmp/archive 2024/news.json", range.getSource());
+        assertEquals(17, range.getStart());
+        assertEquals(4096, range.getEnd());
+        Shard url = lease(reopened, 0, 60_000).getShard();
+        assertEquals(SourceEnum.URL, url.getSourceFormat().getSource());
+        assertEquals("http://localhost:8080/news?a=1&b=2", url.getSource());
+    }
+
+    /**
+     * Tests that threads sharing the queue each complete different shards and together complete all of them.
+     */
+    @Test
+    void testConcurrentWorkersCompleteEachShardOnce() throws Exception {
+        int count = 200;
+        ShardQueue queue = ShardQueue.create(dir, shards(count), 4);
+        ConcurrentHashMap<Integer, Integer> completed = new ConcurrentHashMap<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int slot = 0; slot < 4; slot++) {
+            int worker = slot;
+            Thread thread = new Thread(() -> {
+                try {
+                    ShardQueue lessee = new ShardQueue(dir);
+                    ShardQueue.Lease lease;
+                    while ((lease = lessee.lease(worker, "worker-" + worker, 60_000)) != null) {
+                        assertTrue(lessee.complete(lease));
+                        assertNull(completed.put(lease.getShard().getId(), worker));
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+        assertEquals(count, completed.size());
+        assertEquals(0, queue.remaining());
+        assertEquals(count, queue.results().size());
+    }
+
+    private static ShardQueue.Lease lease(ShardQueue queue, int slot, long leaseMillis) throws IOException {
+        ShardQueue.Lease lease = queue.lease(slot, "worker-" + slot, leaseMillis);
+        assertNotNull(lease);
+        return lease;
+    }
+
+    private static List<Shard> shards(int count) {
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            shards.add(new Shard(i, Shard.Kind.FILE, FormatEnum.NEWSAPI, "inputs/" + i + ".json", 0, 0));
+        }
+        return shards;
+    }
+}
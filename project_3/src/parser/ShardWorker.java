@@ -0,0 +1,155 @@
+package parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class ShardWorker {
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private final ShardQueue queue;
+    private final int slot;
+    private final long leaseMillis;
+    private final String owner;
+    private final ParserVisitor visitor = new ParserVisitorImplementation();
+
+    /**
+     * Creates a worker that takes shards from a queue.
+     *
+     * @param queue       the queue to lease shards from.
+     * @param slot        the worker's slot, which decides the shards it starts with.
+     * @param leaseMillis how long each lease lasts; it is renewed every third of that while the shard is worked on.
+     */
+    ShardWorker(ShardQueue queue, int slot, long leaseMillis) {
+        this.queue = queue;
+        this.slot = slot;
+        this.leaseMillis = leaseMillis;
+        this.owner = "worker-" + slot + "@" + ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    /**
+     * Leases and processes shards until every shard of the queue is done.
+     *
+     * Each shard's valid articles are written to its result file, one JSON object per line, before
+     * the shard is completed. When nothing can be leased but other workers still hold shards, the
+     * worker waits, so it can take over their shards if their leases expire.
+     *
+     * @return the number of shards this worker completed.
+     * @throws IOException if the queue cannot be read or written.
+     * @throws InterruptedException if interrupted while waiting for a lease.
+     */
+    int run() throws IOException, InterruptedException {
+        int completed = 0;
+        ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, owner + "-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            while (true) {
+                ShardQueue.Lease lease = queue.lease(slot, owner, leaseMillis);
+                if (lease == null) {
+                    if (queue.remaining() == 0) {
+                        return completed;
+                    }
+                    Thread.sleep(Math.max(10, leaseMillis / 4));
+                    continue;
+                }
+                if (lease.isStolen()) {
+                    Main.logger.info(owner + " stole " + lease.getShard());
+                }
+                if (process(lease, heartbeat)) {
+                    completed++;
+                }
+            }
+        } finally {
+            heartbeat.shutdownNow();
+        }
+    }
+
+    private boolean process(ShardQueue.Lease lease, ScheduledExecutorService heartbeat) throws IOException {
+        AtomicBoolean lost = new AtomicBoolean();
+        long period = Math.max(1, leaseMillis / 3);
+        ScheduledFuture<?> renewal = heartbeat.scheduleAtFixedRate(() -> {
+            try {
+                if (!lost.get() && !queue.renew(lease, leaseMillis)) {
+                    lost.set(true);
+                }
+            } catch (IOException e) {
+                Main.logger.warning("Could not renew the lease of " + lease.getShard() + ": " + e.getMessage());
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+
+        Path result = queue.resultFile(lease);
+        try {
+            write(parse(lease.getShard()), result);
+        } finally {
+            renewal.cancel(false);
+        }
+        if (lost.get() || !queue.complete(lease)) {
+            Main.logger.warning(owner + " lost the lease of " + lease.getShard() + ", discarding its results");
+            Files.deleteIfExists(result);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parses a shard the way Main parses a source. A source that cannot be loaded is logged and gives
+     * no articles, so one bad input does not hold up the rest.
+     */
+    private List<Article> parse(Shard shard) {
+        try {
+            if (shard.getKind() == Shard.Kind.RANGE) {
+                String articles = readRange(shard.getSource(), shard.getStart(), shard.getEnd());
+                return Main.formatRegistry.parse(shard.getSourceFormat(), "{\"articles\":[" + articles + "]}", visitor);
+            }
+            String data = Main.loadData(shard.getSourceFormat(), shard.getSource());
+            return Main.formatRegistry.parse(shard.getSourceFormat(), data, visitor);
+        } catch (IOException e) {
+            Main.logger.severe("Error loading data from source: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private static String readRange(String filePath, long start, long end) throws IOException {
+        byte[] bytes = new byte[Math.toIntExact(end - start)];
+        try (RandomAccessFile file = new RandomAccessFile(filePath, "r")) {
+            file.seek(start);
+            file.readFully(bytes);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes articles one per line, with their text as it was in the feed, to a temporary file and
+     * moves it into place, so the result file only ever exists whole.
+     */
+    private static void write(List<Article> articles, Path result) throws IOException {
+        Path temp = result.resolveSibling(result.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp);
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            for (Article article : articles) {
+                ArticleServer.write(generator, article, true);
+                generator.writeRaw('\n');
+            }
+        }
+        Files.move(temp, result, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
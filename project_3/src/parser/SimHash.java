@@ -0,0 +1,83 @@
+package parser;
+
+class SimHash {
+    private SimHash() {
+    }
+
+    /**
+     * Computes a 64-bit SimHash over the three-word shingles of an article's title and description.
+     *
+     * Words are lower-cased runs of letters and digits, hashed in place without building Strings. Every
+     * bit of the result is the majority vote of that bit over all shingle hashes, so texts that differ
+     * by a few words differ in only a few bits.
+     *
+     * @param title       the title; may be null.
+     * @param description the description; may be null.
+     * @return the SimHash fingerprint.
+     */
+    static long of(String title, String description) {
+        int[] votes = new int[64];
+        // state[0] and state[1] hold the hashes of the two previous words, state[2] the word count
+        long[] state = new long[3];
+        shingle(title, votes, state);
+        shingle(description, votes, state);
+        if (state[2] > 0 && state[2] < 3) {
+            vote(votes, mix(Long.rotateLeft(state[0], 1) ^ state[1]));
+        }
+
+        long hash = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (votes[bit] > 0) {
+                hash |= 1L << bit;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Counts the bits that differ between two fingerprints.
+     *
+     * @param a the first fingerprint.
+     * @param b the second fingerprint.
+     * @return the Hamming distance, from 0 to 64.
+     */
+    static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static void shingle(String text, int[] votes, long[] state) {
+        if (text == null) {
+            return;
+        }
+        long word = 0;
+        boolean inWord = false;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word = (word ^ Character.toLowerCase(c)) * 0x100000001B3L;
+                inWord = true;
+            } else if (inWord) {
+                word = mix(word);
+                if (++state[2] >= 3) {
+                    vote(votes, mix(Long.rotateLeft(state[0], 2) ^ Long.rotateLeft(state[1], 1) ^ word));
+                }
+                state[0] = state[1];
+                state[1] = word;
+                word = 0;
+                inWord = false;
+            }
+        }
+    }
+
+    private static void vote(int[] votes, long hash) {
+        for (int bit = 0; bit < 64; bit++) {
+            votes[bit] += (int) (hash >>> bit & 1) * 2 - 1;
+        }
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
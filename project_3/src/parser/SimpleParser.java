@@ -1,11 +1,10 @@
 package parser;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Flow;
 
 class SimpleParser implements Parser{
     private final String file;
@@ -24,11 +23,10 @@ class SimpleParser implements Parser{
      *         there are no valid articles or if an error occurs during parsing.
      */
     public List<Article> parse() {
-        ObjectMapper objectMapper = new ObjectMapper();
         List<Article> validArticles = new ArrayList<>();
 
         try {
-            Article article = objectMapper.readValue(file, Article.class);
+            Article article = ArticleDeserializer.read(file);
 
             if (article.isValid()) {
                 validArticles.add(article);
@@ -54,6 +52,17 @@ class SimpleParser implements Parser{
         return visitor.visit(this);
     }
 
+    /**
+     * Accepts a visitor that decides how this parser's articles are published.
+     *
+     * @param visitor the visitor implementing specific processing logic for this parser.
+     * @return a publisher of the articles processed by the visitor.
+     */
+    @Override
+    public Flow.Publisher<Article> publish(ParserVisitor visitor) {
+        return visitor.publish(this);
+    }
+
     /**
      * Retrieves the file associated with this parser.
      *
@@ -16,6 +16,24 @@ class Source {
         this.name = name;
     }
 
+    /**
+     * Retrieves the identifier of the source.
+     *
+     * @return the source id; may be null.
+     */
+    String getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves the display name of the source.
+     *
+     * @return the source name; may be null.
+     */
+    String getName() {
+        return name;
+    }
+
     /**
      * Compares this Source object to another object for equality (for testing).
      *
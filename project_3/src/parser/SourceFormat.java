@@ -1,5 +1,7 @@
 package parser;
 
+import java.util.Objects;
+
 class SourceFormat {
     private final SourceEnum source;
     private final FormatEnum format;
@@ -26,4 +28,33 @@ class SourceFormat {
     public FormatEnum getFormat() {
         return format;
     }
+
+    /**
+     * Compares this SourceFormat to another object for equality, so it can key the format registry.
+     *
+     * @param o the object to compare this SourceFormat against
+     * @return true if the given object is a SourceFormat with the same source and format; false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SourceFormat that = (SourceFormat) o;
+        return source == that.source && format == that.format;
+    }
+
+    /**
+     * Returns a hash code value for this SourceFormat, computed from its source and format.
+     *
+     * @return a hash code value for this SourceFormat.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(source, format);
+    }
+
+    @Override
+    public String toString() {
+        return format + " from " + source;
+    }
 }
@@ -0,0 +1,118 @@
+package parser;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class SpaceSaving {
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    // A binary min-heap of the counters by count, so the least counted term is always at the root.
+    private final Counter[] heap;
+    private int size;
+
+    /**
+     * Creates a Space-Saving sketch that tracks at most the given number of terms.
+     *
+     * Any term occurring more than total/capacity times is guaranteed to be tracked, and each reported
+     * count overestimates the true count by at most total/capacity. Counting a term takes O(log capacity).
+     *
+     * @param capacity the number of counters to keep.
+     */
+    SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The sketch must keep at least one counter");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    /**
+     * Counts one occurrence of a term, replacing the least counted term when the sketch is full.
+     *
+     * @param term the term to count.
+     */
+    void add(String term) {
+        Counter counter = counters.get(term);
+        if (counter == null) {
+            if (size < capacity) {
+                counter = new Counter(term, size);
+                heap[size++] = counter;
+                counters.put(term, counter);
+                siftUp(counter.index);
+            } else {
+                counter = heap[0];
+                counters.remove(counter.term);
+                counter.term = term;
+                counters.put(term, counter);
+            }
+        }
+        counter.count++;
+        siftDown(counter.index);
+    }
+
+    /**
+     * Retrieves the most frequent terms seen so far.
+     *
+     * @param k the number of terms to return.
+     * @return up to k terms with their estimated counts, most frequent first.
+     */
+    List<Map.Entry<String, Long>> top(int k) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(heap[i].term, heap[i].count));
+        }
+        entries.sort((a, b) -> b.getValue() != a.getValue().longValue()
+                ? Long.compare(b.getValue(), a.getValue()) : a.getKey().compareTo(b.getKey()));
+        return entries.subList(0, Math.min(k, entries.size()));
+    }
+
+    private void siftUp(int i) {
+        Counter counter = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], i);
+            i = parent;
+        }
+        place(counter, i);
+    }
+
+    private void siftDown(int i) {
+        Counter counter = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (heap[child].count >= counter.count) {
+                break;
+            }
+            place(heap[child], i);
+            i = child;
+        }
+        place(counter, i);
+    }
+
+    private void place(Counter counter, int i) {
+        heap[i] = counter;
+        counter.index = i;
+    }
+
+    private static class Counter {
+        private String term;
+        private long count;
+        private int index;
+
+        private Counter(String term, int index) {
+            this.term = term;
+            this.index = index;
+        }
+    }
+}
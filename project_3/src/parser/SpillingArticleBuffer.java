@@ -0,0 +1,161 @@
+package parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+class SpillingArticleBuffer implements AutoCloseable {
+    private final HeapGovernor governor;
+    private final Path directory;
+    private final ArrayDeque<Article> memory = new ArrayDeque<>();
+    private Path spillFile;
+    private DataOutputStream spillOut;
+    private int spilled;
+
+    /**
+     * Creates a buffer between the threads that parse sources and the one that consumes the articles.
+     *
+     * @param governor  decides when batches go to disk instead of memory.
+     * @param directory where the spill file is created when one is needed.
+     */
+    SpillingArticleBuffer(HeapGovernor governor, Path directory) {
+        this.governor = governor;
+        this.directory = directory;
+    }
+
+    /**
+     * Adds a batch of articles. While the governor asks for it, the batch is encoded with ArticleCodec
+     * and appended to a spill file instead, and so is every batch after it until the spill file has
+     * been drained, so the articles come out in the order they were added.
+     *
+     * @param batch the articles to add.
+     * @throws IOException if the spill file cannot be written.
+     */
+    synchronized void add(List<Article> batch) throws IOException {
+        if (spillOut == null && !governor.shouldSpill()) {
+            memory.addAll(batch);
+            notifyAll();
+            return;
+        }
+        if (spillOut == null) {
+            spillFile = Files.createTempFile(directory, "articles-spill", ".bin");
+            spillOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile)));
+        }
+        for (Article article : batch) {
+            byte[] record = ArticleCodec.encode(article);
+            spillOut.writeInt(record.length);
+            spillOut.write(record);
+        }
+        spilled += batch.size();
+        governor.recordSpill(batch.size());
+        notifyAll();
+    }
+
+    /**
+     * Waits until there is something to drain: articles in memory, or spilled articles once the
+     * governor no longer asks for spilling.
+     *
+     * @param timeoutMillis the longest time to wait.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    synchronized void awaitArticles(long timeoutMillis) throws InterruptedException {
+        if (memory.isEmpty() && (spillOut == null || governor.shouldSpill())) {
+            wait(timeoutMillis);
+        }
+    }
+
+    /**
+     * Hands every buffered article to a consumer, first those in memory and then those spilled, and
+     * deletes the spill file once it has been read back. Only one thread may drain the buffer.
+     *
+     * @param consumer receives the articles in the order they were added.
+     * @return the number of articles handed on.
+     * @throws IOException if the spill file cannot be read.
+     */
+    int drainTo(Consumer<Article> consumer) throws IOException {
+        return drainTo(consumer, true);
+    }
+
+    /**
+     * Hands the buffered articles to a consumer, optionally leaving the spilled ones on disk. Articles
+     * in memory were all added before the spill file was started, so draining only them keeps the order.
+     *
+     * @param consumer    receives the articles in the order they were added.
+     * @param readSpilled whether the spill file is read back and deleted too.
+     * @return the number of articles handed on.
+     * @throws IOException if the spill file cannot be read.
+     */
+    int drainTo(Consumer<Article> consumer, boolean readSpilled) throws IOException {
+        List<Article> inMemory;
+        Path file = null;
+        synchronized (this) {
+            inMemory = new ArrayList<>(memory);
+            memory.clear();
+            if (readSpilled && spillOut != null) {
+                file = spillFile;
+                spillOut.close();
+                spillOut = null;
+                spillFile = null;
+            }
+        }
+        // Batches added from here on go to fresh memory or a new spill file, so they come out after these.
+        inMemory.forEach(consumer);
+        if (file == null) {
+            return inMemory.size();
+        }
+        int drained = inMemory.size();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                consumer.accept(ArticleCodec.decode(record, 0));
+                drained++;
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        return drained;
+    }
+
+    /**
+     * Retrieves how many articles have been spilled to disk since the buffer was created.
+     *
+     * @return the spilled article count.
+     */
+    synchronized int getSpilled() {
+        return spilled;
+    }
+
+    /**
+     * Deletes the spill file without reading it back.
+     */
+    @Override
+    public synchronized void close() {
+        if (spillOut == null) {
+            return;
+        }
+        try {
+            spillOut.close();
+            Files.deleteIfExists(spillFile);
+        } catch (IOException e) {
+            Main.logger.warning("Error removing spill file: " + e.getMessage());
+        }
+        spillOut = null;
+        spillFile = null;
+    }
+}
@@ -0,0 +1,74 @@
+package parser;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+class StringColumn {
+    private ByteBuffer ends;
+    private ByteBuffer bytes;
+    private int size;
+    private int used;
+
+    /**
+     * Creates an empty off-heap string column.
+     *
+     * @param rows      the number of rows to reserve room for.
+     * @param byteSpace the number of UTF-8 bytes to reserve room for.
+     */
+    StringColumn(int rows, int byteSpace) {
+        ends = ByteBuffer.allocateDirect(Math.max(rows, 1) * 4).order(ByteOrder.nativeOrder());
+        bytes = ByteBuffer.allocateDirect(Math.max(byteSpace, 1));
+    }
+
+    /**
+     * Appends a batch of values that have already been encoded, growing the buffers at most once.
+     *
+     * @param encoded the UTF-8 bytes of each value; an entry is empty for a null value.
+     * @param count   the number of entries of encoded to append.
+     */
+    void append(byte[][] encoded, int count) {
+        long total = used;
+        for (int i = 0; i < count; i++) {
+            total += encoded[i].length;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalStateException("String column is full at " + used + " bytes");
+        }
+        ends = ColumnarArticleStore.ensureCapacity(ends, (size + count) * 4L);
+        bytes = ColumnarArticleStore.ensureCapacity(bytes, total);
+
+        ByteBuffer out = bytes.duplicate();
+        out.position(used);
+        for (int i = 0; i < count; i++) {
+            out.put(encoded[i]);
+            used += encoded[i].length;
+            ends.putInt(size++ * 4, used);
+        }
+    }
+
+    /**
+     * Decodes the value of a row.
+     *
+     * @param row the row to read.
+     * @return the decoded string.
+     */
+    String get(int row) {
+        int start = row == 0 ? 0 : ends.getInt((row - 1) * 4);
+        int end = ends.getInt(row * 4);
+        byte[] value = new byte[end - start];
+        ByteBuffer in = bytes.duplicate();
+        in.position(start);
+        in.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Retrieves the number of bytes reserved off-heap for this column.
+     *
+     * @return the capacity of the offset and byte buffers together.
+     */
+    long capacityBytes() {
+        return (long) ends.capacity() + bytes.capacity();
+    }
+}
@@ -0,0 +1,376 @@
+package parser;
+
+import java.util.Arrays;
+
+class TextNormalizer {
+    // Indexes of the raw text fields kept by Article.
+    static final int AUTHOR = 0;
+    static final int TITLE = 1;
+    static final int DESCRIPTION = 2;
+    static final int CONTENT = 3;
+
+    private static final int TEXT = 0;
+    private static final int TAG = 1;
+    private static final int QUOTED = 2;
+    private static final int COMMENT = 3;
+
+    private static final String[] ENTITY_NAMES = {
+            "amp", "lt", "gt", "quot", "apos", "nbsp", "hellip", "mdash", "ndash", "lsquo", "rsquo",
+            "ldquo", "rdquo", "laquo", "raquo", "bull", "middot", "copy", "reg", "trade", "eacute", "deg"
+    };
+    private static final int[] ENTITY_CHARS = {
+            '&', '<', '>', '"', '\'', '\u00a0', '\u2026', '\u2014', '\u2013', '\u2018', '\u2019',
+            '\u201c', '\u201d', '\u00ab', '\u00bb', '\u2022', '\u00b7', '\u00a9', '\u00ae', '\u2122', '\u00e9', '\u00b0'
+    };
+    // Tags that separate words when rendered, so removing them leaves a space.
+    private static final String[] BLOCK_TAGS = {
+            "br", "p", "div", "li", "ul", "ol", "tr", "td", "th", "h1", "h2", "h3", "h4", "h5", "h6",
+            "hr", "table", "blockquote", "section", "article", "header", "footer"
+    };
+    private static final int LONGEST_ENTITY = 8;
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Cleans a text field of an article: HTML tags and comments are removed, entities are decoded,
+     * runs of whitespace become a single space with none at either end, and a NewsAPI truncation
+     * marker such as "[+2476 chars]" at the end is dropped.
+     *
+     * The text is read once by a state machine that tracks whether it is in plain text, a tag, a
+     * quoted attribute value inside a tag, or a comment, so a '>' inside an attribute value does not
+     * end the tag. A '<' that cannot start a tag, an '&' that does not start a known entity, and a tag
+     * that is never closed are kept as text. Text that needs no cleaning is recognized without
+     * copying it.
+     *
+     * @param chars  the characters holding the text, such as the parser's text buffer.
+     * @param offset the index of the text's first character.
+     * @param length the number of characters of the text.
+     * @return the cleaned text, or null if the text is already clean.
+     */
+    static String clean(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int start = firstToClean(chars, offset, end);
+        if (start == end) {
+            return null;
+        }
+        // Decoding and stripping only ever shorten the text, so the output fits in the input's length.
+        char[] out = new char[length];
+        int n = start - offset;
+        System.arraycopy(chars, offset, out, 0, n);
+
+        int state = TEXT;
+        char quote = 0;
+        int tagStart = 0;
+        int nameStart = 0;
+        int nameEnd = 0;
+        // Built once a tag turns out never to be closed; tells for each later '<' whether its tag closes.
+        int[] tagEnds = null;
+        // A space at the end of the copied prefix is pending, like any other, until more text follows.
+        boolean space = n > 0 && out[n - 1] == ' ';
+        if (space) {
+            n--;
+        }
+        for (int i = start; i < end; i++) {
+            char c = chars[i];
+            switch (state) {
+                case TEXT:
+                    if (isPlain(c)) {
+                        // Copy the whole run of plain characters at once; most of a field is such runs.
+                        int run = i + 1;
+                        while (run < end && isPlain(chars[run])) {
+                            run++;
+                        }
+                        if (space) {
+                            out[n++] = ' ';
+                            space = false;
+                        }
+                        System.arraycopy(chars, i, out, n, run - i);
+                        n += run - i;
+                        i = run - 1;
+                        continue;
+                    }
+                    if (c == '<' && i + 1 < end && startsTag(chars[i + 1])) {
+                        if (i + 3 < end && chars[i + 1] == '!' && chars[i + 2] == '-' && chars[i + 3] == '-') {
+                            state = COMMENT;
+                            i += 3;
+                            continue;
+                        }
+                        if (tagEnds == null || tagEnds[i + 1 - offset] >= 0) {
+                            state = TAG;
+                            tagStart = i;
+                            nameStart = chars[i + 1] == '/' ? i + 2 : i + 1;
+                            nameEnd = -1;
+                            continue;
+                        }
+                        // Known never to close, so the '<' is text and the tag is not scanned again.
+                    }
+                    if (c == '&') {
+                        int semicolon = entityEnd(chars, i, end);
+                        int codePoint = semicolon < 0 ? -1
+                                : chars[i + 1] == '#' ? codePoint(chars, i + 2, semicolon) : decode(chars, i + 1, semicolon);
+                        if (codePoint > 0) {
+                            i = semicolon;
+                            if (isSpace(codePoint)) {
+                                space = n > 0;
+                            } else {
+                                n = append(out, n, codePoint, space);
+                                space = false;
+                            }
+                            continue;
+                        }
+                    }
+                    if (isSpace(c)) {
+                        space = n > 0;
+                    } else {
+                        if (space) {
+                            out[n++] = ' ';
+                            space = false;
+                        }
+                        out[n++] = c;
+                    }
+                    break;
+                case TAG:
+                    if (nameEnd < 0 && i >= nameStart && !Character.isLetterOrDigit(c)) {
+                        nameEnd = i;
+                    }
+                    if (c == '"' || c == '\'') {
+                        state = QUOTED;
+                        quote = c;
+                    } else if (c == '>') {
+                        state = TEXT;
+                        if (isBlock(chars, nameStart, nameEnd)) {
+                            space = n > 0;
+                        }
+                    }
+                    break;
+                case QUOTED:
+                    if (c == quote) {
+                        state = TAG;
+                    }
+                    break;
+                default:
+                    if (c == '>' && chars[i - 1] == '-' && chars[i - 2] == '-') {
+                        state = TEXT;
+                    }
+            }
+            if (state != TEXT && i == end - 1 && state != COMMENT) {
+                // A tag that is never closed was text after all; take the '<' literally and go on from there.
+                if (space) {
+                    out[n++] = ' ';
+                    space = false;
+                }
+                out[n++] = '<';
+                i = tagStart;
+                state = TEXT;
+                if (tagEnds == null) {
+                    tagEnds = tagEnds(chars, offset, end);
+                }
+            }
+        }
+        n = dropTruncationMarker(out, n);
+        if (n == length && Arrays.equals(out, 0, n, chars, offset, end)) {
+            return null;
+        }
+        return new String(out, 0, n);
+    }
+
+    /**
+     * Cleans a text field that is already a String, as clean(char[], int, int) does.
+     *
+     * @param text the text; may be null.
+     * @return the cleaned text, which is the same instance if it was already clean, or null for null.
+     */
+    static String clean(String text) {
+        if (text == null) {
+            return null;
+        }
+        String cleaned = clean(text.toCharArray(), 0, text.length());
+        return cleaned == null ? text : cleaned;
+    }
+
+    /**
+     * Finds the first character that needs cleaning: the start of a tag or entity, whitespace other
+     * than a single space between words, or the closing bracket of a truncation marker.
+     *
+     * @return its index, or end if the text is clean.
+     */
+    private static int firstToClean(char[] chars, int offset, int end) {
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c == '<' || c == '&' || c == '\u00a0') {
+                return i;
+            }
+            if (c <= ' ' && (c != ' ' || i == offset || i == end - 1 || isSpace(chars[i + 1]))) {
+                return i;
+            }
+        }
+        return end > offset && chars[end - 1] == ']' ? end - 1 : end;
+    }
+
+    /**
+     * Finds, for every position, the '>' that would close a tag whose body starts there, skipping
+     * quoted attribute values as the TAG and QUOTED states do. One backward pass fills the table, so
+     * text full of unclosed tags is still cleaned in linear time.
+     *
+     * @return the table, indexed from offset, holding the index of the closing '>' or -1 if the tag
+     *         is never closed.
+     */
+    private static int[] tagEnds(char[] chars, int offset, int end) {
+        int[] ends = new int[end - offset + 1];
+        ends[end - offset] = -1;
+        int nextDouble = -1;
+        int nextSingle = -1;
+        for (int i = end - 1; i >= offset; i--) {
+            char c = chars[i];
+            if (c == '>') {
+                ends[i - offset] = i;
+            } else if (c == '"' || c == '\'') {
+                int closing = c == '"' ? nextDouble : nextSingle;
+                ends[i - offset] = closing < 0 ? -1 : ends[closing + 1 - offset];
+            } else {
+                ends[i - offset] = ends[i + 1 - offset];
+            }
+            if (c == '"') {
+                nextDouble = i;
+            } else if (c == '\'') {
+                nextSingle = i;
+            }
+        }
+        return ends;
+    }
+
+    private static boolean startsTag(char c) {
+        return Character.isLetter(c) || c == '/' || c == '!' || c == '?';
+    }
+
+    private static boolean isPlain(char c) {
+        return c > ' ' && c != '<' && c != '&' && c != '\u00a0';
+    }
+
+    private static boolean isSpace(int c) {
+        return c <= ' ' || c == '\u00a0';
+    }
+
+    private static boolean isBlock(char[] chars, int start, int end) {
+        int length = end - start;
+        for (String tag : BLOCK_TAGS) {
+            if (tag.length() != length) {
+                continue;
+            }
+            int i = 0;
+            while (i < length && Character.toLowerCase(chars[start + i]) == tag.charAt(i)) {
+                i++;
+            }
+            if (i == length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the ';' that ends an entity starting at an '&', looking no further than the longest one.
+     *
+     * @return its index, or -1 if there is none close enough.
+     */
+    private static int entityEnd(char[] chars, int ampersand, int end) {
+        int limit = Math.min(end, ampersand + LONGEST_ENTITY + 2);
+        for (int i = ampersand + 1; i < limit; i++) {
+            if (chars[i] == ';') {
+                return i > ampersand + 1 ? i : -1;
+            }
+            if (!Character.isLetterOrDigit(chars[i]) && !(i == ampersand + 1 && chars[i] == '#')) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Looks up a named entity.
+     *
+     * @return the character it stands for, or -1 if the name is not known.
+     */
+    private static int decode(char[] chars, int start, int end) {
+        int length = end - start;
+        for (int e = 0; e < ENTITY_NAMES.length; e++) {
+            String name = ENTITY_NAMES[e];
+            if (name.length() != length) {
+                continue;
+            }
+            int i = 0;
+            while (i < length && chars[start + i] == name.charAt(i)) {
+                i++;
+            }
+            if (i == length) {
+                return ENTITY_CHARS[e];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the number of a numeric entity, in decimal or, after an 'x', in hexadecimal.
+     *
+     * @return the code point, or -1 if it is not a valid one.
+     */
+    private static int codePoint(char[] chars, int start, int end) {
+        int radix = 10;
+        if (start < end && (chars[start] == 'x' || chars[start] == 'X')) {
+            radix = 16;
+            start++;
+        }
+        if (start == end) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(chars[i], radix);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * radix + digit;
+        }
+        boolean valid = value > 0 && value <= Character.MAX_CODE_POINT
+                && (value < Character.MIN_SURROGATE || value > Character.MAX_SURROGATE);
+        return valid ? value : -1;
+    }
+
+    private static int append(char[] out, int n, int codePoint, boolean space) {
+        if (space) {
+            out[n++] = ' ';
+        }
+        return n + Character.toChars(codePoint, out, n);
+    }
+
+    /**
+     * Removes a trailing "[+N chars]" marker and the space before it.
+     *
+     * @return the new length of the text.
+     */
+    private static int dropTruncationMarker(char[] out, int n) {
+        String suffix = " chars]";
+        int i = n - suffix.length();
+        if (i < 0) {
+            return n;
+        }
+        for (int k = 0; k < suffix.length(); k++) {
+            if (out[i + k] != suffix.charAt(k)) {
+                return n;
+            }
+        }
+        int digits = i;
+        while (digits > 0 && out[digits - 1] >= '0' && out[digits - 1] <= '9') {
+            digits--;
+        }
+        if (digits == i || digits < 2 || out[digits - 1] != '+' || out[digits - 2] != '[') {
+            return n;
+        }
+        n = digits - 2;
+        while (n > 0 && out[n - 1] == ' ') {
+            n--;
+        }
+        return n;
+    }
+}
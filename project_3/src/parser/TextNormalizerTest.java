@@ -0,0 +1,131 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class TextNormalizerTest {
+
+    /**
+     * Tests that the link markup in the example author is removed, leaving the words around it.
+     */
+    @Test
+    void testStripsTags() {
+        assertEquals("By Julia Hollingsworth, CNN",
+                TextNormalizer.clean("By <a href=\"/profiles/julia-hollingsworth\">Julia Hollingsworth</a>, CNN"));
+        assertEquals("bold and italic", TextNormalizer.clean("<b>bold</b> and <I>italic</I>"));
+        assertEquals("x", TextNormalizer.clean("<img src=\"a.png\" alt='pic'/>x"));
+    }
+
+    /**
+     * Tests that a '>' inside a quoted attribute value does not end the tag.
+     */
+    @Test
+    void testQuotedAttributeKeepsTagOpen() {
+        assertEquals("link", TextNormalizer.clean("<a title=\"a > b\" data-x='>'>link</a>"));
+    }
+
+    /**
+     * Tests that block tags separate words while inline tags do not.
+     */
+    @Test
+    void testBlockTagsLeaveSpace() {
+        assertEquals("one two three", TextNormalizer.clean("<p>one</p><p>two</p>three"));
+        assertEquals("line one line two", TextNormalizer.clean("line one<br/>line two"));
+        assertEquals("together", TextNormalizer.clean("to<span>get</span>her"));
+    }
+
+    /**
+     * Tests that comments are removed, including tags inside them.
+     */
+    @Test
+    void testStripsComments() {
+        assertEquals("before after", TextNormalizer.clean("before <!-- <b>hidden</b> --> after"));
+    }
+
+    /**
+     * Tests named, decimal and hexadecimal entities, and that unknown or malformed ones are kept.
+     */
+    @Test
+    void testDecodesEntities() {
+        assertEquals("Tom & Jerry \"quoted\" <tag>", TextNormalizer.clean("Tom &amp; Jerry &quot;quoted&quot; &lt;tag&gt;"));
+        assertEquals("caf\u00e9 \u2014 \u2019s", TextNormalizer.clean("caf&#233; &mdash; &#x2019;s"));
+        assertEquals("\ud83d\ude00", TextNormalizer.clean("&#x1F600;"));
+        assertEquals("&bogus; & &#xZZ; &#0; AT&T", TextNormalizer.clean("&bogus; & &#xZZ; &#0; AT&T"));
+    }
+
+    /**
+     * Tests that whitespace, including non-breaking spaces written either way, is collapsed and trimmed.
+     */
+    @Test
+    void testCollapsesWhitespace() {
+        assertEquals("a b c d", TextNormalizer.clean("  a \r\n b\t\tc&nbsp;\u00a0d  "));
+        assertEquals("", TextNormalizer.clean(" \n "));
+    }
+
+    /**
+     * Tests that the NewsAPI truncation marker is dropped only at the end of the text.
+     */
+    @Test
+    void testDropsTruncationMarker() {
+        assertEquals("Commissioners said\u2026", TextNormalizer.clean("Commissioners said\u2026 [+2476 chars]"));
+        assertEquals("See [+12 chars] here", TextNormalizer.clean("See [+12 chars] here"));
+        assertEquals("Not [+ chars]", TextNormalizer.clean("Not [+ chars]"));
+    }
+
+    /**
+     * Tests that a '<' that cannot start a tag and a tag that is never closed are kept as text.
+     */
+    @Test
+    void testKeepsLiteralAngleBrackets() {
+        assertEquals("1 < 2 and 3 <4", TextNormalizer.clean("1 < 2 and 3 <4"));
+        assertEquals("a <b and c", TextNormalizer.clean("a <b and c"));
+        assertEquals("open <a href=\"x", TextNormalizer.clean("open <a href=\"x"));
+    }
+
+    /**
+     * Tests that many tags that are never closed are kept as text, and that a tag after one of them,
+     * inside a quote it opened, is still removed.
+     */
+    @Test
+    void testManyUnclosedTags() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            text.append("<a ");
+        }
+        String unclosed = text.toString().trim();
+        assertEquals(unclosed, TextNormalizer.clean(unclosed));
+        assertEquals("x <a \"y z", TextNormalizer.clean("x <a \"y <b>z"));
+        assertEquals("1 <a 'q bold", TextNormalizer.clean("1 <a 'q <b>bold</b>"));
+    }
+
+    /**
+     * Tests that clean text is recognized without copying.
+     */
+    @Test
+    void testCleanTextIsUnchanged() {
+        String text = "Already clean text, with punctuation: 1 > 0 [note]";
+        assertSame(text, TextNormalizer.clean(text));
+        assertNull(TextNormalizer.clean(text.toCharArray(), 0, text.length()));
+        assertNull(TextNormalizer.clean((String) null));
+        char[] buffer = "xx<b>y</b>xx".toCharArray();
+        assertEquals("y", TextNormalizer.clean(buffer, 2, 8));
+    }
+
+    /**
+     * Tests that parsed articles are normalized and keep their raw text.
+     */
+    @Test
+    void testParsedArticlesKeepRawText() throws IOException {
+        List<Article> articles = new NewsParser(fromFile("inputs/newsapi.txt")).parse();
+        for (Article article : articles) {
+            assertEquals(TextNormalizer.clean(article.getRawAuthor()), article.getAuthor());
+            assertEquals(TextNormalizer.clean(article.getRawContent()), article.getContent());
+            assertSame(article, article.normalized());
+        }
+    }
+}
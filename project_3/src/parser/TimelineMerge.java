@@ -0,0 +1,199 @@
+package parser;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+
+class TimelineMerge implements ArticleCursor {
+    private final Input[] inputs;
+    private final TimestampHeap<Input> heads;
+    private final ArrayDeque<Article> undated = new ArrayDeque<>();
+    private final long toleranceMillis;
+    private final int bufferPerSource;
+    private final boolean newestFirst;
+    private long lastKey = Long.MIN_VALUE;
+    private long arrivals;
+    private long late;
+    private long undatedCount;
+
+    /**
+     * Creates a merge of several article cursors into one timeline ordered by publishedAt.
+     *
+     * Each source is expected to be in order already, except that an article may come up to
+     * toleranceMillis after newer ones from the same source, as when a feed is sorted in chunks. Each
+     * source holds at most bufferPerSource articles in its own heap until no article it has still to
+     * read can come before them; the sources are then merged through a heap keyed by the earliest
+     * article each could still deliver. Memory is therefore bounded by the number of sources times
+     * the buffer size, whatever the total number of articles.
+     *
+     * @param sources         the cursors to merge; they are read lazily, one article at a time.
+     * @param toleranceMillis how far out of order an article may be within its source.
+     * @param bufferPerSource the most articles held back from each source; when a source's buffer is
+     *                        full, its earliest article is released even if the window is not over.
+     * @param newestFirst     whether the timeline runs from the newest article to the oldest, as NewsAPI
+     *                        responses do, rather than from the oldest to the newest.
+     */
+    TimelineMerge(List<ArticleCursor> sources, long toleranceMillis, int bufferPerSource, boolean newestFirst) {
+        if (toleranceMillis < 0 || bufferPerSource < 1) {
+            throw new IllegalArgumentException("Tolerance must not be negative and the buffer must hold an article");
+        }
+        this.toleranceMillis = toleranceMillis;
+        this.bufferPerSource = bufferPerSource;
+        this.newestFirst = newestFirst;
+        inputs = new Input[sources.size()];
+        heads = new TimestampHeap<>(sources.size());
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new Input(sources.get(i), i, Math.min(bufferPerSource, 64));
+            heads.push(Long.MIN_VALUE, i, inputs[i]);
+        }
+    }
+
+    /**
+     * Reads the next article of the timeline.
+     *
+     * Articles whose publishedAt cannot be read have no place in the timeline and are returned as
+     * soon as they are read. An article that comes after the timeline has already passed it, because
+     * it was further out of order than the tolerance or its source's buffer was full, is counted as
+     * late and skipped. If a source fails, it is treated as exhausted and the exception is thrown;
+     * the merge can go on with the other sources.
+     *
+     * @return the next Article, or null once every source is exhausted.
+     * @throws IOException if a source cannot be read or parsed.
+     */
+    @Override
+    public Article next() throws IOException {
+        while (undated.isEmpty()) {
+            Input input = heads.pop();
+            if (input == null) {
+                return null;
+            }
+            if (input.isReady()) {
+                lastKey = input.buffer.peekKey();
+                Article article = input.buffer.pop();
+                requeue(input);
+                return article;
+            }
+            try {
+                read(input);
+            } finally {
+                requeue(input);
+            }
+        }
+        return undated.poll();
+    }
+
+    /**
+     * Retrieves how many articles were skipped because the timeline had already passed them.
+     *
+     * @return the late article count.
+     */
+    long getLate() {
+        return late;
+    }
+
+    /**
+     * Retrieves how many articles were returned outside the timeline because their publishedAt could
+     * not be read.
+     *
+     * @return the undated article count.
+     */
+    long getUndated() {
+        return undatedCount;
+    }
+
+    /**
+     * Retrieves the number of articles currently held back across all sources.
+     *
+     * @return the buffered article count, which never exceeds sources times bufferPerSource.
+     */
+    int getBuffered() {
+        int buffered = 0;
+        for (Input input : inputs) {
+            buffered += input.buffer.size();
+        }
+        return buffered;
+    }
+
+    /**
+     * Closes every source.
+     */
+    @Override
+    public void close() {
+        for (Input input : inputs) {
+            input.cursor.close();
+        }
+    }
+
+    private void read(Input input) throws IOException {
+        Article article;
+        try {
+            article = input.cursor.next();
+        } catch (IOException e) {
+            input.exhausted = true;
+            throw e;
+        }
+        if (article == null) {
+            input.exhausted = true;
+            return;
+        }
+        long millis = Timestamps.toEpochMillis(article.getPublishedAt());
+        if (millis == Timestamps.UNKNOWN) {
+            undatedCount++;
+            undated.add(article);
+            return;
+        }
+        // Keys always ascend through the timeline, so newest first just reverses the clock.
+        long key = newestFirst ? -millis : millis;
+        if (key < lastKey) {
+            late++;
+            return;
+        }
+        input.buffer.push(key, arrivals++, article);
+        input.furthest = Math.max(input.furthest, key);
+    }
+
+    private void requeue(Input input) {
+        if (!input.exhausted || !input.buffer.isEmpty()) {
+            heads.push(input.key(), input.index, input);
+        }
+    }
+
+    private final class Input {
+        private final ArticleCursor cursor;
+        private final int index;
+        private final TimestampHeap<Article> buffer;
+        // The furthest key read so far, which the rest of the source may only precede by the tolerance.
+        private long furthest = Long.MIN_VALUE;
+        private boolean exhausted;
+
+        private Input(ArticleCursor cursor, int index, int capacity) {
+            this.cursor = cursor;
+            this.index = index;
+            this.buffer = new TimestampHeap<>(capacity);
+        }
+
+        /**
+         * Finds the earliest key this source has yet to read, within the tolerance.
+         */
+        private long unreadBound() {
+            return furthest == Long.MIN_VALUE ? Long.MIN_VALUE : furthest - toleranceMillis;
+        }
+
+        /**
+         * Checks whether the earliest buffered article can be released: nothing this source has still
+         * to read may come before it, or its buffer is full.
+         */
+        private boolean isReady() {
+            return !buffer.isEmpty()
+                    && (exhausted || buffer.size() >= bufferPerSource || buffer.peekKey() <= unreadBound());
+        }
+
+        /**
+         * Finds the key this source is ordered by among the others: its earliest buffered article when
+         * that can be released, otherwise the earliest key it may still read.
+         */
+        private long key() {
+            return isReady() ? buffer.peekKey() : unreadBound();
+        }
+    }
+}
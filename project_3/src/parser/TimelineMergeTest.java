@@ -0,0 +1,169 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimelineMergeTest {
+
+    private static final long START = Instant.parse("2021-03-24T00:00:00Z").toEpochMilli();
+    private static final long MINUTE = 60_000;
+
+    /**
+     * Tests that newest-first feeds with some disorder merge into the same order as sorting them all.
+     */
+    @Test
+    void testMergesFeedsNewestFirst() throws IOException {
+        List<ArticleCursor> cursors = new ArrayList<>();
+        List<Article> all = new ArrayList<>();
+        for (int seed = 1; seed <= 3; seed++) {
+            List<Article> feed = new NewsParser(new FeedGenerator(seed, 0, 3, 5, 5).newsApi(300)).parse();
+            all.addAll(feed);
+            cursors.add(ArticlePublisher.cursorOver(feed));
+        }
+        all.sort(Comparator.comparingLong((Article article) -> Timestamps.toEpochMillis(article.getPublishedAt())).reversed());
+
+        List<Article> merged = new ArrayList<>();
+        int maxBuffered = 0;
+        try (TimelineMerge timeline = new TimelineMerge(cursors, 2 * MINUTE, 16, true)) {
+            for (Article article = timeline.next(); article != null; article = timeline.next()) {
+                merged.add(article);
+                maxBuffered = Math.max(maxBuffered, timeline.getBuffered());
+            }
+            assertEquals(0, timeline.getLate());
+        }
+        assertEquals(times(all), times(merged));
+        assertEquals(all.size(), merged.size());
+        assertTrue(maxBuffered <= 3 * 16, "Buffered " + maxBuffered);
+    }
+
+    /**
+     * Tests an oldest-first merge, with ties between sources going to the first source.
+     */
+    @Test
+    void testMergesOldestFirst() throws IOException {
+        ArticleCursor a = cursor(articles("a", 0, 2, 4, 4, 9));
+        ArticleCursor b = cursor(articles("b", 1, 4, 5));
+        ArticleCursor c = cursor(articles("c"));
+        try (TimelineMerge timeline = new TimelineMerge(Arrays.asList(a, b, c), 0, 4, false)) {
+            assertEquals(Arrays.asList("a0", "b1", "a2", "a4", "a4", "b4", "b5", "a9"), titles(timeline));
+        }
+    }
+
+    /**
+     * Tests that an article within the tolerance is put in its place, while one beyond it that the
+     * timeline has already passed is counted as late.
+     */
+    @Test
+    void testToleranceWindow() throws IOException {
+        try (TimelineMerge timeline = new TimelineMerge(Arrays.asList(cursor(articles("a", 3, 5, 4, 9, 1, 10)),
+                cursor(articles("b", 2, 6))), 2 * MINUTE, 8, false)) {
+            assertEquals(Arrays.asList("b2", "a3", "a4", "a5", "b6", "a9", "a10"), titles(timeline));
+            assertEquals(1, timeline.getLate());
+        }
+    }
+
+    /**
+     * Tests that a full buffer releases its earliest article, keeping memory bounded at the cost of
+     * articles that arrive after it.
+     */
+    @Test
+    void testFullBufferReleasesEarly() throws IOException {
+        try (TimelineMerge timeline = new TimelineMerge(Arrays.asList(cursor(articles("a", 5, 6, 7, 1))),
+                60 * MINUTE, 2, false)) {
+            assertEquals(Arrays.asList("a5", "a6", "a7"), titles(timeline));
+            assertEquals(1, timeline.getLate());
+        }
+    }
+
+    /**
+     * Tests that articles without a readable publishedAt are returned as soon as they are read.
+     */
+    @Test
+    void testUndatedArticlesPassThrough() throws IOException {
+        List<Article> source = articles("a", 1, 2);
+        source.add(1, new Article(null, null, "undated", "d", "u", null, "yesterday", null));
+        try (TimelineMerge timeline = new TimelineMerge(Arrays.asList(cursor(source)), 10 * MINUTE, 8, false)) {
+            assertEquals(Arrays.asList("undated", "a1", "a2"), titles(timeline));
+            assertEquals(1, timeline.getUndated());
+        }
+    }
+
+    /**
+     * Tests that a failing source is reported once and the merge goes on with the others.
+     */
+    @Test
+    void testFailingSourceIsDropped() throws IOException {
+        ArticleCursor failing = new ArticleCursor() {
+            public Article next() throws IOException {
+                throw new IOException("broken");
+            }
+
+            public void close() {
+            }
+        };
+        try (TimelineMerge timeline = new TimelineMerge(Arrays.asList(failing, cursor(articles("b", 1, 2))), 0, 4, false)) {
+            assertThrows(IOException.class, timeline::next);
+            assertEquals(Arrays.asList("b1", "b2"), titles(timeline));
+        }
+    }
+
+    /**
+     * Tests that the heap pops random keys in sorted order, breaking ties by the tie value.
+     */
+    @Test
+    void testHeapOrder() {
+        Random random = new Random(7);
+        TimestampHeap<long[]> heap = new TimestampHeap<>(1);
+        List<long[]> entries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            long[] entry = {random.nextInt(100) - 50, i};
+            entries.add(entry);
+            heap.push(entry[0], entry[1], entry);
+        }
+        entries.sort(Comparator.comparingLong((long[] entry) -> entry[0]).thenComparingLong(entry -> entry[1]));
+        for (long[] entry : entries) {
+            assertEquals(entry[0], heap.peekKey());
+            assertSame(entry, heap.pop());
+        }
+        assertTrue(heap.isEmpty());
+        assertNull(heap.pop());
+    }
+
+    private static List<Article> articles(String prefix, int... minutes) {
+        List<Article> articles = new ArrayList<>();
+        for (int minute : minutes) {
+            String publishedAt = Instant.ofEpochMilli(START + minute * MINUTE).toString();
+            articles.add(new Article(null, null, prefix + minute, "d", "u", null, publishedAt, null));
+        }
+        return articles;
+    }
+
+    private static ArticleCursor cursor(List<Article> articles) {
+        return ArticlePublisher.cursorOver(articles);
+    }
+
+    private static List<String> titles(TimelineMerge timeline) throws IOException {
+        List<String> titles = new ArrayList<>();
+        for (Article article = timeline.next(); article != null; article = timeline.next()) {
+            titles.add(article.getTitle());
+        }
+        return titles;
+    }
+
+    private static List<Long> times(List<Article> articles) {
+        List<Long> times = new ArrayList<>();
+        for (Article article : articles) {
+            times.add(Timestamps.toEpochMillis(article.getPublishedAt()));
+        }
+        return times;
+    }
+}
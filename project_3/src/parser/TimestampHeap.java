@@ -0,0 +1,121 @@
+package parser;
+
+import java.util.Arrays;
+
+class TimestampHeap<T> {
+    private long[] keys;
+    private long[] ties;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Creates a binary min-heap ordered by a primitive long key, such as an epoch millisecond, so
+     * comparisons never unbox or parse anything.
+     *
+     * @param capacity the number of entries to make room for; the heap grows past it if needed.
+     */
+    TimestampHeap(int capacity) {
+        capacity = Math.max(1, capacity);
+        keys = new long[capacity];
+        ties = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Adds an entry.
+     *
+     * @param key   the key the heap is ordered by.
+     * @param tie   breaks ties between equal keys, the lower first.
+     * @param value the value stored with the key.
+     */
+    void push(long key, long tie, T value) {
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            ties = Arrays.copyOf(ties, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(key, tie, keys[parent], ties[parent])) {
+                break;
+            }
+            set(i, keys[parent], ties[parent], values[parent]);
+            i = parent;
+        }
+        set(i, key, tie, value);
+    }
+
+    /**
+     * Retrieves the smallest key.
+     *
+     * @return the key of the entry pop() would remove; only valid when the heap is not empty.
+     */
+    long peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Removes the entry with the smallest key.
+     *
+     * @return its value, or null if the heap is empty.
+     */
+    @SuppressWarnings("unchecked")
+    T pop() {
+        if (size == 0) {
+            return null;
+        }
+        T top = (T) values[0];
+        size--;
+        long key = keys[size];
+        long tie = ties[size];
+        Object value = values[size];
+        values[size] = null;
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && less(keys[child + 1], ties[child + 1], keys[child], ties[child])) {
+                child++;
+            }
+            if (!less(keys[child], ties[child], key, tie)) {
+                break;
+            }
+            set(i, keys[child], ties[child], values[child]);
+            i = child;
+        }
+        if (size > 0) {
+            set(i, key, tie, value);
+        }
+        return top;
+    }
+
+    /**
+     * Retrieves the number of entries.
+     *
+     * @return the size of the heap.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the heap has no entries.
+     *
+     * @return true if the heap is empty.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static boolean less(long key, long tie, long otherKey, long otherTie) {
+        return key < otherKey || (key == otherKey && tie < otherTie);
+    }
+
+    private void set(int i, long key, long tie, Object value) {
+        keys[i] = key;
+        ties[i] = tie;
+        values[i] = value;
+    }
+}
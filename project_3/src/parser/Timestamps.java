@@ -0,0 +1,66 @@
+package parser;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+
+class Timestamps {
+    /** Returned for a missing or unreadable timestamp; sorts before every real one. */
+    static final long UNKNOWN = Long.MIN_VALUE;
+
+    // The length of the "yyyy-MM-dd" date that every accepted timestamp starts with.
+    private static final int DATE_LENGTH = 10;
+
+    private static final DateTimeFormatter LOCAL = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd")
+            .optionalStart().appendLiteral('T').optionalEnd()
+            .optionalStart().appendLiteral(' ').optionalEnd()
+            .appendPattern("HH:mm:ss")
+            .optionalStart().appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true).optionalEnd()
+            .toFormatter();
+
+    private Timestamps() {
+    }
+
+    /**
+     * Converts a publishedAt value to epoch milliseconds.
+     *
+     * Accepts ISO-8601 timestamps with an offset or "Z" (as sent by NewsAPI), and local timestamps such
+     * as "2021-04-16 09:53:23.709229" (as in the Simple format), which are taken to be UTC. The formatter
+     * is chosen from the shape of the text, so only a value that cannot be read costs an exception.
+     *
+     * @param publishedAt the timestamp text; may be null.
+     * @return the epoch milliseconds, or UNKNOWN if the value is null or cannot be read.
+     */
+    static long toEpochMillis(String publishedAt) {
+        if (publishedAt == null) {
+            return UNKNOWN;
+        }
+        try {
+            if (hasOffset(publishedAt)) {
+                return OffsetDateTime.parse(publishedAt).toInstant().toEpochMilli();
+            }
+            return LocalDateTime.parse(publishedAt, LOCAL).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * Tells whether a timestamp ends in an offset: a "Z", or a sign after the date, where the time
+     * of day has none.
+     */
+    private static boolean hasOffset(String timestamp) {
+        int length = timestamp.length();
+        if (length <= DATE_LENGTH) {
+            return false;
+        }
+        char last = timestamp.charAt(length - 1);
+        return last == 'Z' || last == 'z'
+                || timestamp.indexOf('+', DATE_LENGTH) >= 0 || timestamp.indexOf('-', DATE_LENGTH) >= 0;
+    }
+}
@@ -0,0 +1,234 @@
+package parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+class UrlFetcher {
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final RetryBudget retryBudget;
+    private final Function<String, CircuitBreaker> breakerFactory;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private volatile FetchStateStore stateStore;
+
+    UrlFetcher(int connectTimeoutMillis, int readTimeoutMillis, int maxAttempts,
+               long baseBackoffMillis, long maxBackoffMillis, RetryBudget retryBudget) {
+        this(connectTimeoutMillis, readTimeoutMillis, maxAttempts, baseBackoffMillis, maxBackoffMillis, retryBudget,
+                host -> new CircuitBreaker(20, 5, 0.5, 30_000));
+    }
+
+    /**
+     * Creates a fetcher whose per-host circuit breakers come from a factory.
+     *
+     * @param breakerFactory creates the breaker for a host the first time it is fetched from.
+     */
+    UrlFetcher(int connectTimeoutMillis, int readTimeoutMillis, int maxAttempts, long baseBackoffMillis,
+               long maxBackoffMillis, RetryBudget retryBudget, Function<String, CircuitBreaker> breakerFactory) {
+        this.breakerFactory = breakerFactory;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retryBudget = retryBudget;
+    }
+
+    /**
+     * Fetches the contents of a URL through the circuit breaker of its host.
+     *
+     * Connection failures, timeouts, 429 and 5xx responses are retried with jittered exponential
+     * backoff for as long as the attempts and the shared retry budget allow. Other error responses
+     * are reported straight away, and count as successful calls for the breaker, since the host
+     * answered. Every attempt records its outcome, so a half-open trial always settles the breaker.
+     * When the fetcher persists its breakers, the breaker is saved once the fetch has settled.
+     *
+     * @param address the URL to be read.
+     * @return a String containing the contents retrieved from the URL.
+     * @throws CircuitOpenException if the host's breaker is open and the call was not attempted.
+     * @throws IOException          if the URL is malformed or every allowed attempt failed.
+     */
+    String fetch(String address) throws IOException {
+        URL url = new URL(address);
+        CircuitBreaker breaker = breakerFor(url.getHost());
+        retryBudget.recordRequest();
+        try {
+            return fetch(url, breaker);
+        } finally {
+            save(url.getHost(), breaker);
+        }
+    }
+
+    /**
+     * Makes the per-host breakers outlive the process: each breaker starts from the state saved by an
+     * earlier run and is saved after every fetch. Breakers already created are dropped, so they are
+     * restored from the store on their next use.
+     *
+     * @param stateStore where the breakers are saved.
+     */
+    void persistTo(FetchStateStore stateStore) {
+        this.stateStore = stateStore;
+        breakers.clear();
+    }
+
+    /**
+     * Retrieves the circuit breaker guarding the given host, creating it on first use.
+     * A new breaker is restored from the state store, if the fetcher persists its breakers.
+     *
+     * @param host the host name of the URL.
+     * @return the CircuitBreaker for that host.
+     */
+    CircuitBreaker breakerFor(String host) {
+        return breakers.computeIfAbsent(host, h -> {
+            CircuitBreaker breaker = breakerFactory.apply(h);
+            FetchStateStore store = stateStore;
+            if (store != null) {
+                store.restore(h, breaker);
+            }
+            return breaker;
+        });
+    }
+
+    /**
+     * Forgets the state of every host's breaker held in memory. Breakers created afterwards start
+     * closed, or from the state store if the fetcher persists its breakers, as in a new process.
+     */
+    void resetBreakers() {
+        breakers.clear();
+    }
+
+    private String fetch(URL url, CircuitBreaker breaker) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            if (!breaker.allowRequest()) {
+                throw new CircuitOpenException(url.getHost());
+            }
+            try {
+                String body = read(url);
+                breaker.recordSuccess();
+                return body;
+            } catch (RetryableException e) {
+                breaker.recordFailure();
+                if (attempt + 1 >= maxAttempts || !retryBudget.tryAcquireRetry()) {
+                    throw e;
+                }
+                Main.logger.warning("Retrying " + url.getHost() + " after: " + e.getMessage());
+                sleep(backoff(attempt));
+            } catch (ClientErrorException e) {
+                breaker.recordSuccess();
+                throw e;
+            } catch (IOException | RuntimeException e) {
+                breaker.recordFailure();
+                throw e;
+            }
+        }
+    }
+
+    private void save(String host, CircuitBreaker breaker) {
+        FetchStateStore store = stateStore;
+        if (store == null) {
+            return;
+        }
+        try {
+            store.save(host, breaker);
+        } catch (IOException e) {
+            Main.logger.warning("Error saving the circuit breaker of " + host + ": " + e.getMessage());
+        }
+    }
+
+    private String read(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(connectTimeoutMillis);
+        connection.setReadTimeout(readTimeoutMillis);
+
+        int status = -1;
+        try {
+            if (connection instanceof HttpURLConnection) {
+                status = ((HttpURLConnection) connection).getResponseCode();
+            }
+        } catch (IOException e) {
+            throw new RetryableException(e.getMessage(), e);
+        }
+        if (status >= 400) {
+            discard((HttpURLConnection) connection);
+            if (status == 429 || status >= 500) {
+                throw new RetryableException("HTTP " + status + " from " + url.getHost());
+            }
+            throw new ClientErrorException("HTTP " + status + " from " + url.getHost());
+        }
+
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line);
+            }
+        } catch (IOException e) {
+            throw new RetryableException(e.getMessage(), e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Drains and closes the error body of a failed response and releases the connection.
+     */
+    private static void discard(HttpURLConnection connection) {
+        try (InputStream error = connection.getErrorStream()) {
+            if (error != null) {
+                byte[] buffer = new byte[4096];
+                while (error.read(buffer) >= 0) {
+                    // Discarded; only the status matters.
+                }
+            }
+        } catch (IOException e) {
+            // The connection is dropped below either way.
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private long backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while backing off", e);
+        }
+    }
+
+    private static class RetryableException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        RetryableException(String message) {
+            super(message);
+        }
+
+        RetryableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private static class ClientErrorException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        ClientErrorException(String message) {
+            super(message);
+        }
+    }
+}
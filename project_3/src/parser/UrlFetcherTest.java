@@ -0,0 +1,244 @@
+package parser;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlFetcherTest {
+
+    private HttpServer server;
+    private String base;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    /**
+     * Starts a local stand-in for NewsAPI that injects faults on demand.
+     * "/flaky" answers 503 until failuresLeft runs out, "/news" answers 503 while failuresLeft is
+     * positive and a NewsAPI document otherwise, "/missing" always answers 404,
+     * and "/slow" stalls longer than the fetcher's read timeout.
+     */
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/flaky", exchange -> {
+            hits.incrementAndGet();
+            if (failuresLeft.getAndDecrement() > 0) {
+                exchange.sendResponseHeaders(503, -1);
+            } else {
+                byte[] body = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.createContext("/news", exchange -> {
+            hits.incrementAndGet();
+            if (failuresLeft.get() > 0) {
+                exchange.sendResponseHeaders(503, -1);
+            } else {
+                byte[] body = Files.readAllBytes(Paths.get("inputs/valid.json"));
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            hits.incrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            hits.incrementAndGet();
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    /**
+     * Tests that transient 503 responses are retried until the request succeeds.
+     */
+    @Test
+    void testRetriesTransientFailures() throws IOException {
+        failuresLeft.set(2);
+        UrlFetcher fetcher = new UrlFetcher(1_000, 1_000, 4, 1, 5, new RetryBudget(0.2, 10));
+
+        assertEquals("{\"status\":\"ok\"}", fetcher.fetch(base + "/flaky"));
+        assertEquals(3, hits.get());
+    }
+
+    /**
+     * Tests that client errors are reported without retrying.
+     */
+    @Test
+    void testClientErrorIsNotRetried() {
+        UrlFetcher fetcher = new UrlFetcher(1_000, 1_000, 4, 1, 5, new RetryBudget(0.2, 10));
+
+        assertThrows(IOException.class, () -> fetcher.fetch(base + "/missing"));
+        assertEquals(1, hits.get());
+    }
+
+    /**
+     * Tests that a stalled response is cut off by the read timeout instead of blocking.
+     */
+    @Test
+    void testReadTimeout() {
+        UrlFetcher fetcher = new UrlFetcher(1_000, 100, 1, 1, 5, new RetryBudget(0.2, 10));
+
+        assertThrows(IOException.class, () -> fetcher.fetch(base + "/slow"));
+    }
+
+    /**
+     * Tests that an exhausted retry budget stops retries even when attempts remain.
+     */
+    @Test
+    void testRetryBudgetCapsRetries() {
+        failuresLeft.set(100);
+        UrlFetcher fetcher = new UrlFetcher(1_000, 1_000, 10, 1, 5, new RetryBudget(0.0, 2));
+
+        assertThrows(IOException.class, () -> fetcher.fetch(base + "/flaky"));
+        assertEquals(3, hits.get(), "One attempt plus the two retries in the budget.");
+    }
+
+    /**
+     * Tests that repeated failures open the host's breaker so later calls fail fast
+     * without reaching the server.
+     */
+    @Test
+    void testOpenBreakerFailsFast() {
+        failuresLeft.set(100);
+        UrlFetcher fetcher = new UrlFetcher(1_000, 1_000, 1, 1, 5, new RetryBudget(0.2, 10));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IOException.class, () -> fetcher.fetch(base + "/flaky"));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, fetcher.breakerFor("127.0.0.1").getState());
+
+        assertThrows(CircuitOpenException.class, () -> fetcher.fetch(base + "/flaky"));
+        assertEquals(5, hits.get());
+    }
+
+    /**
+     * Tests that an open breaker lets a single trial through after its open period,
+     * and closes again when that trial succeeds.
+     */
+    @Test
+    void testBreakerHalfOpenTrial() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(10, 2, 0.5, 1_000, now::get);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertFalse(breaker.allowRequest());
+
+        now.set(1_000);
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest(), "Only one trial call while half-open.");
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    /**
+     * Tests that a half-open trial answered with a client error settles the breaker instead of
+     * leaving the trial slot taken, so later calls reach the host again.
+     */
+    @Test
+    void testHalfOpenTrialWithClientError() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(10, 2, 0.5, 1_000, now::get);
+        UrlFetcher fetcher = new UrlFetcher(1_000, 1_000, 1, 1, 5, new RetryBudget(0.2, 10), host -> breaker);
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertThrows(CircuitOpenException.class, () -> fetcher.fetch(base + "/missing"));
+
+        now.set(1_000);
+        IOException trial = assertThrows(IOException.class, () -> fetcher.fetch(base + "/missing"));
+        assertFalse(trial instanceof CircuitOpenException);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        assertThrows(IOException.class, () -> fetcher.fetch(base + "/missing"));
+        assertEquals(2, hits.get());
+    }
+
+    /**
+     * Tests that a breaker opened in one run is still open for a fetcher started afterwards, which
+     * fails fast without reaching the server and falls back to the articles cached by the first run.
+     */
+    @Test
+    void testPersistedBreakerFallsBackToCachedArticles() throws IOException {
+        Path dir = Files.createTempDirectory("fetch-state");
+        String address = base + "/news";
+        UrlFetcher first = new UrlFetcher(1_000, 1_000, 1, 1, 5, new RetryBudget(0.2, 10));
+        FetchStateStore firstState = new FetchStateStore(dir);
+        first.persistTo(firstState);
+
+        List<Article> articles = new NewsParser(first.fetch(address)).parse();
+        assertFalse(articles.isEmpty());
+        firstState.cacheArticles(address, articles);
+        failuresLeft.set(100);
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IOException.class, () -> first.fetch(address));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, first.breakerFor("127.0.0.1").getState());
+        int hitsBefore = hits.get();
+
+        UrlFetcher second = new UrlFetcher(1_000, 1_000, 1, 1, 5, new RetryBudget(0.2, 10));
+        FetchStateStore secondState = new FetchStateStore(dir);
+        second.persistTo(secondState);
+
+        assertThrows(CircuitOpenException.class, () -> second.fetch(address));
+        assertEquals(hitsBefore, hits.get(), "The second fetcher must not reach the failing server.");
+        assertEquals(articles, secondState.cachedArticles(address));
+    }
+
+    /**
+     * Tests that failures recorded in one run count towards opening the breaker in the next, as a
+     * run of Main fetches each URL too few times to open it alone.
+     */
+    @Test
+    void testPersistedFailuresAccumulateAcrossRuns() throws IOException {
+        Path dir = Files.createTempDirectory("fetch-state");
+        failuresLeft.set(100);
+        for (int run = 0; run < 5; run++) {
+            UrlFetcher fetcher = new UrlFetcher(1_000, 1_000, 1, 1, 5, new RetryBudget(0.2, 10));
+            fetcher.persistTo(new FetchStateStore(dir));
+            assertThrows(IOException.class, () -> fetcher.fetch(base + "/news"));
+        }
+
+        UrlFetcher fetcher = new UrlFetcher(1_000, 1_000, 1, 1, 5, new RetryBudget(0.2, 10));
+        fetcher.persistTo(new FetchStateStore(dir));
+        assertThrows(CircuitOpenException.class, () -> fetcher.fetch(base + "/news"));
+        assertEquals(5, hits.get());
+    }
+}
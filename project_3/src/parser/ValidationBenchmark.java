@@ -0,0 +1,86 @@
+package parser;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+class ValidationBenchmark {
+    private static final int ARTICLES = 50_000;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 7;
+
+    /**
+     * Compares reading a NewsAPI dump from the page cache, scanning it with ValidationScanner, and binding
+     * every article to check it, reporting MB/s and the bytes allocated per run.
+     *
+     * @param args command-line arguments (not used).
+     * @throws IOException if the temporary dump cannot be written or read.
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("validation-benchmark", ".json");
+        file.toFile().deleteOnExit();
+        Files.write(file, new FeedGenerator(1, 0.05, 10, 30, 40).newsApi(ARTICLES).getBytes(StandardCharsets.UTF_8));
+        long size = Files.size(file);
+        System.out.printf("%d articles, %d MiB%n", ARTICLES, size >> 20);
+
+        report("read only", size, () -> {
+            byte[] buffer = new byte[64 * 1024];
+            long total = 0;
+            try (InputStream in = new FileInputStream(file.toFile())) {
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    total += read;
+                }
+            }
+            return total;
+        });
+        report("validation scan", size, () -> {
+            try (InputStream in = new FileInputStream(file.toFile())) {
+                return ValidationScanner.scan(in).getValid();
+            }
+        });
+        report("bind and check", size, () -> {
+            long valid = 0;
+            for (Article article : RecoveringArticleReader.read(Main.fromFile(file.toString())).getArticles()) {
+                if (article.isValid()) {
+                    valid++;
+                } else {
+                    article.getInvalidFields();
+                }
+            }
+            return valid;
+        });
+    }
+
+    private static void report(String label, long size, Task task) throws IOException {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+        long[] times = new long[RUNS];
+        long allocated = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            task.run();
+            times[i] = System.nanoTime() - start;
+            allocated += allocatedBytes() - allocatedBefore;
+        }
+        Arrays.sort(times);
+        System.out.printf("%-16s %7.1f MB/s, %8.1f KiB allocated per run%n",
+                label + ":", size / (times[RUNS / 2] / 1e9) / 1e6, allocated / 1024.0 / RUNS);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private interface Task {
+        long run() throws IOException;
+    }
+}
@@ -0,0 +1,198 @@
+package parser;
+
+import java.util.Arrays;
+
+class ValidationReport {
+    static final int TITLE = 1;
+    static final int DESCRIPTION = 2;
+    static final int PUBLISHED_AT = 4;
+    static final int URL = 8;
+    static final int REQUIRED = TITLE | DESCRIPTION | PUBLISHED_AT | URL;
+    // Set instead of a field bit for an article that binding would reject as a whole.
+    static final int UNBINDABLE = 16;
+
+    private long articles;
+    private long valid;
+    private long unbindable;
+    private final long[] missing = new long[4];
+    private long[] badOffsets = new long[16];
+    private byte[] badMissing = new byte[16];
+    private int bad;
+    private long errorOffset = -1;
+    private String errorMessage;
+
+    /**
+     * Records one article.
+     *
+     * @param offset  the byte offset of the article's opening brace.
+     * @param present the required fields found with a non-null value, as TITLE, DESCRIPTION, PUBLISHED_AT and URL bits,
+     *                and UNBINDABLE if binding would reject the article, which then counts as invalid without
+     *                any missing field.
+     */
+    void add(long offset, int present) {
+        articles++;
+        int absent;
+        if ((present & UNBINDABLE) != 0) {
+            unbindable++;
+            absent = UNBINDABLE;
+        } else {
+            absent = ~present & REQUIRED;
+            if (absent == 0) {
+                valid++;
+                return;
+            }
+            for (int field = 0; field < missing.length; field++) {
+                if ((absent & 1 << field) != 0) {
+                    missing[field]++;
+                }
+            }
+        }
+        if (bad == badOffsets.length) {
+            badOffsets = Arrays.copyOf(badOffsets, bad * 2);
+            badMissing = Arrays.copyOf(badMissing, bad * 2);
+        }
+        badOffsets[bad] = offset;
+        badMissing[bad++] = (byte) absent;
+    }
+
+    /**
+     * Records that the document is not well-formed JSON, which ends the scan.
+     *
+     * @param offset  the byte offset where the problem was found.
+     * @param message the description of the problem.
+     */
+    void fail(long offset, String message) {
+        errorOffset = offset;
+        errorMessage = message;
+    }
+
+    /**
+     * Retrieves the number of articles scanned.
+     *
+     * @return the article count.
+     */
+    long getArticles() {
+        return articles;
+    }
+
+    /**
+     * Retrieves the number of articles with every required field.
+     *
+     * @return the valid article count.
+     */
+    long getValid() {
+        return valid;
+    }
+
+    /**
+     * Retrieves the number of articles missing a required field.
+     *
+     * @param field one of TITLE, DESCRIPTION, PUBLISHED_AT or URL.
+     * @return the number of articles where the field is absent or null.
+     */
+    long getMissing(int field) {
+        return missing[Integer.numberOfTrailingZeros(field)];
+    }
+
+    /**
+     * Retrieves the number of articles that binding would reject, for a field that is not an Article
+     * or Source property or an object or array where text belongs. Parsing drops them as errors.
+     *
+     * @return the unbindable article count.
+     */
+    long getUnbindable() {
+        return unbindable;
+    }
+
+    /**
+     * Retrieves the number of articles missing at least one required field, or that would not bind.
+     *
+     * @return the invalid article count.
+     */
+    int getInvalid() {
+        return bad;
+    }
+
+    /**
+     * Retrieves where an invalid article starts.
+     *
+     * @param index the index of the invalid article, from 0 to getInvalid(), exclusive.
+     * @return the byte offset of its opening brace.
+     */
+    long getInvalidOffset(int index) {
+        return badOffsets[index];
+    }
+
+    /**
+     * Retrieves the required fields an invalid article is missing.
+     *
+     * @param index the index of the invalid article, from 0 to getInvalid(), exclusive.
+     * @return a space-separated list in the form of Article.getInvalidFields(), or "Unbindable " for an
+     *         article that would not bind.
+     */
+    String getInvalidFields(int index) {
+        int absent = badMissing[index];
+        if ((absent & UNBINDABLE) != 0) {
+            return "Unbindable ";
+        }
+        StringBuilder stringBuilder = new StringBuilder();
+        if ((absent & TITLE) != 0)
+            stringBuilder.append("Title ");
+        if ((absent & DESCRIPTION) != 0)
+            stringBuilder.append("Description ");
+        if ((absent & PUBLISHED_AT) != 0)
+            stringBuilder.append("Published At ");
+        if ((absent & URL) != 0)
+            stringBuilder.append("URL ");
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Checks whether the whole document could be scanned.
+     *
+     * @return true if the document is well-formed; false if the scan stopped at an error.
+     */
+    boolean isComplete() {
+        return errorMessage == null;
+    }
+
+    /**
+     * Retrieves where the scan stopped.
+     *
+     * @return the byte offset of the error, or -1 if the document is well-formed.
+     */
+    long getErrorOffset() {
+        return errorOffset;
+    }
+
+    /**
+     * Retrieves why the scan stopped.
+     *
+     * @return the error message, or null if the document is well-formed.
+     */
+    String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Returns a summary with the counts, each invalid article, and the error if there was one.
+     *
+     * @return a multi-line summary of the report.
+     */
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("Articles: ").append(articles).append(", valid: ").append(valid)
+                .append(", invalid: ").append(bad).append(", unbindable: ").append(unbindable).append('\n')
+                .append("Missing Title: ").append(missing[0]).append(", Description: ").append(missing[1])
+                .append(", Published At: ").append(missing[2]).append(", URL: ").append(missing[3]).append('\n');
+        for (int i = 0; i < bad; i++) {
+            stringBuilder.append("Invalid article at byte ").append(badOffsets[i]).append(": ")
+                    .append(getInvalidFields(i)).append('\n');
+        }
+        if (errorMessage != null) {
+            stringBuilder.append("Stopped at byte ").append(errorOffset).append(": ").append(errorMessage).append('\n');
+        }
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,142 @@
+package parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+class ValidationScanner {
+    private static final JsonFactory jsonFactory = new JsonFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    private ValidationScanner() {
+    }
+
+    /**
+     * Checks which articles of a document have every required field, without binding them.
+     *
+     * The scan walks the JSON tokens of the raw UTF-8 bytes and only looks at the names of each article's
+     * own fields; values are skipped without being decoded, so no Article, Source or field String is
+     * created. A NewsAPI document is recognized by its "articles" array; any other object is checked as a
+     * single Simple format article. A required field counts as present if it has a non-null scalar value.
+     * An article that binding would reject, for a field that is not an Article or Source property or an
+     * object or array where text belongs, is reported as unbindable rather than checked for its fields.
+     *
+     * @param in the document's bytes; the stream is read to the end but not closed.
+     * @return the counts and the offsets of invalid articles. If the document is not well-formed, the
+     *         report holds the articles before the error and the error's offset.
+     * @throws IOException if the stream cannot be read.
+     */
+    static ValidationReport scan(InputStream in) throws IOException {
+        ValidationReport report = new ValidationReport();
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                report.fail(parser.getTokenLocation().getByteOffset(), "Expected a JSON object");
+                return report;
+            }
+            long start = parser.getTokenLocation().getByteOffset();
+            int present = 0;
+            boolean newsApi = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (name.equals("articles") && value == JsonToken.START_ARRAY) {
+                    newsApi = true;
+                    scanArticles(parser, report);
+                } else {
+                    present = mark(present, parser, name, value);
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT) {
+                report.fail(parser.getTokenLocation().getByteOffset(), "Unexpected end of document");
+            } else if (!newsApi) {
+                report.add(start, present);
+            }
+        } catch (JsonProcessingException e) {
+            report.fail(e.getLocation() == null ? -1 : e.getLocation().getByteOffset(), e.getOriginalMessage());
+        }
+        return report;
+    }
+
+    private static void scanArticles(JsonParser parser, ValidationReport report) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                return;
+            }
+            long offset = parser.getTokenLocation().getByteOffset();
+            int present = 0;
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    present = mark(present, parser, name, parser.nextToken());
+                }
+            } else {
+                parser.skipChildren();
+            }
+            report.add(offset, present);
+        }
+    }
+
+    /**
+     * Updates the present fields after reading a field name and the first token of its value, and skips
+     * the rest of the value. A later duplicate of a field replaces the earlier one, as it does when
+     * binding. A field that binding would reject sets UNBINDABLE.
+     */
+    private static int mark(int present, JsonParser parser, String name, JsonToken value) throws IOException {
+        int field;
+        switch (name) {
+            case "title":
+                field = ValidationReport.TITLE;
+                break;
+            case "description":
+                field = ValidationReport.DESCRIPTION;
+                break;
+            case "publishedAt":
+                field = ValidationReport.PUBLISHED_AT;
+                break;
+            case "url":
+                field = ValidationReport.URL;
+                break;
+            case "author":
+            case "urlToImage":
+            case "content":
+                field = 0;
+                break;
+            case "source":
+                return value == JsonToken.VALUE_NULL || value == JsonToken.START_OBJECT && scanSource(parser)
+                        ? present : unbindable(present, parser);
+            default:
+                return unbindable(present, parser);
+        }
+        if (!value.isScalarValue()) {
+            return unbindable(present, parser);
+        }
+        return value != JsonToken.VALUE_NULL ? present | field : present & ~field;
+    }
+
+    /**
+     * Reads a source object whose START_OBJECT is the current token.
+     *
+     * @return true if it binds to a Source: only "id" and "name" fields, each with a scalar value.
+     */
+    private static boolean scanSource(JsonParser parser) throws IOException {
+        boolean bindable = true;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (!value.isScalarValue() || !name.equals("id") && !name.equals("name")) {
+                bindable = false;
+                parser.skipChildren();
+            }
+        }
+        return bindable;
+    }
+
+    private static int unbindable(int present, JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return present | ValidationReport.UNBINDABLE;
+    }
+}
@@ -0,0 +1,130 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class ValidationScannerTest {
+
+    /**
+     * Tests that the scan agrees with binding the articles and calling isValid() and getInvalidFields().
+     */
+    @Test
+    void testMatchesBinding() throws IOException {
+        String[] files = {"inputs/example.json", "inputs/newsapi.txt", "inputs/invalid.json", "inputs/empty.json",
+                "inputs/missing_all.json", "inputs/missing_three.json", "inputs/missing_two.json",
+                "inputs/missing_title.json", "inputs/missing_url.json", "inputs/missing_valid.json"};
+        for (String file : files) {
+            String json = fromFile(file);
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            ValidationReport report = scan(json);
+            List<Article> articles = RecoveringArticleReader.read(json).getArticles();
+
+            List<String> invalidFields = new ArrayList<>();
+            for (Article article : articles) {
+                if (!article.isValid()) {
+                    invalidFields.add(article.getInvalidFields());
+                }
+            }
+            assertTrue(report.isComplete(), file);
+            assertEquals(articles.size(), report.getArticles(), file);
+            assertEquals(articles.size() - invalidFields.size(), report.getValid(), file);
+            assertEquals(invalidFields.size(), report.getInvalid(), file);
+            for (int i = 0; i < report.getInvalid(); i++) {
+                assertEquals(invalidFields.get(i), report.getInvalidFields(i), file);
+                assertEquals('{', bytes[(int) report.getInvalidOffset(i)], file);
+            }
+        }
+    }
+
+    /**
+     * Tests the per-field counts, source fields, null values and duplicate fields.
+     */
+    @Test
+    void testFieldRules() throws IOException {
+        ValidationReport report = scan("{\"articles\": ["
+                + "{\"source\": {\"id\": \"t\", \"name\": \"u\"}, \"description\": \"d\", \"publishedAt\": \"p\"},"
+                + "{\"title\": null, \"description\": \"d\", \"publishedAt\": \"p\", \"url\": \"u\"},"
+                + "{\"title\": \"t\", \"title\": null, \"description\": \"d\", \"publishedAt\": \"p\", \"url\": \"u\"},"
+                + "{\"title\": \"t\", \"description\": \"d\", \"publishedAt\": \"p\", \"url\": \"u\", \"source\": null}"
+                + "]}");
+
+        assertEquals(4, report.getArticles());
+        assertEquals(1, report.getValid());
+        assertEquals(3, report.getMissing(ValidationReport.TITLE));
+        assertEquals(1, report.getMissing(ValidationReport.URL));
+        assertEquals(0, report.getMissing(ValidationReport.DESCRIPTION));
+        assertEquals("Title URL ", report.getInvalidFields(0));
+    }
+
+    /**
+     * Tests that articles binding would reject, for unknown fields in the article or its source or an
+     * object where text belongs, are reported as unbindable, the way parsing drops them.
+     */
+    @Test
+    void testUnbindableArticles() throws IOException {
+        String valid = "\"title\": \"t\", \"description\": \"d\", \"publishedAt\": \"p\", \"url\": \"u\"";
+        String json = "{\"status\": \"ok\", \"articles\": ["
+                + "{" + valid + ", \"extra\": [1, {\"url\": null}]},"
+                + "{" + valid + ", \"source\": {\"id\": \"s\", \"title\": \"t\"}},"
+                + "{" + valid + ", \"author\": {\"name\": \"a\"}},"
+                + "{" + valid + ", \"source\": \"s\"},"
+                + "{" + valid + ", \"author\": \"a\"}"
+                + "]}";
+        ValidationReport report = scan(json);
+
+        assertEquals(5, report.getArticles());
+        assertEquals(1, report.getValid());
+        assertEquals(4, report.getUnbindable());
+        assertEquals(4, report.getInvalid());
+        assertEquals(0, report.getMissing(ValidationReport.TITLE));
+        assertEquals("Unbindable ", report.getInvalidFields(0));
+        assertEquals(report.getValid(), RecoveringArticleReader.read(json).getArticles().size());
+
+        assertEquals(1, scan("{" + valid + ", \"extra\": 1}").getUnbindable());
+    }
+
+    /**
+     * Tests Simple format documents, which hold a single article.
+     */
+    @Test
+    void testSimpleFormat() throws IOException {
+        ValidationReport valid = scan(fromFile("inputs/simple.txt"));
+        assertEquals(1, valid.getArticles());
+        assertEquals(1, valid.getValid());
+
+        ValidationReport missing = scan(fromFile("inputs/simple_missing_two.txt"));
+        assertEquals(1, missing.getInvalid());
+        assertEquals("Title Description ", missing.getInvalidFields(0));
+    }
+
+    /**
+     * Tests that malformed and empty documents report where the scan stopped.
+     */
+    @Test
+    void testMalformedDocuments() throws IOException {
+        ValidationReport bad = scan("{\"articles\": [{\"title\": \"t\"}, {\"title\": \"t\",, \"url\": \"u\"}]}");
+        assertFalse(bad.isComplete());
+        assertEquals(1, bad.getArticles());
+        assertTrue(bad.getErrorOffset() >= 44 && bad.getErrorOffset() <= 45, "At the second comma: " + bad.getErrorOffset());
+        assertNotNull(bad.getErrorMessage());
+
+        ValidationReport truncated = scan("{\"articles\": [{\"title\": \"t\"}, {\"title\": ");
+        assertFalse(truncated.isComplete());
+        assertEquals(1, truncated.getArticles());
+
+        assertFalse(scan("").isComplete());
+        assertFalse(scan("[1, 2]").isComplete());
+    }
+
+    private static ValidationReport scan(String json) throws IOException {
+        return ValidationScanner.scan(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
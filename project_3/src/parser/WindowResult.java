@@ -0,0 +1,74 @@
+package parser;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+class WindowResult {
+    private final long start;
+    private final long end;
+    private final long count;
+    private final Map<String, Long> countsBySource;
+    private final List<Map.Entry<String, Long>> topTerms;
+
+    WindowResult(long start, long end, long count, Map<String, Long> countsBySource, List<Map.Entry<String, Long>> topTerms) {
+        this.start = start;
+        this.end = end;
+        this.count = count;
+        this.countsBySource = countsBySource;
+        this.topTerms = topTerms;
+    }
+
+    /**
+     * Retrieves the start of the window.
+     *
+     * @return the window start in epoch milliseconds, inclusive.
+     */
+    long getStart() {
+        return start;
+    }
+
+    /**
+     * Retrieves the end of the window.
+     *
+     * @return the window end in epoch milliseconds, exclusive.
+     */
+    long getEnd() {
+        return end;
+    }
+
+    /**
+     * Retrieves the number of articles published in the window.
+     *
+     * @return the article count.
+     */
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * Retrieves the number of articles per Source name.
+     *
+     * @return a Map from source name to article count.
+     */
+    Map<String, Long> getCountsBySource() {
+        return countsBySource;
+    }
+
+    /**
+     * Retrieves the most frequent title terms, as estimated by the Space-Saving sketch.
+     *
+     * @return the top terms with their estimated counts, most frequent first.
+     */
+    List<Map.Entry<String, Long>> getTopTerms() {
+        return topTerms;
+    }
+
+    @Override
+    public String toString() {
+        return "Window: " + Instant.ofEpochMilli(start) + " - " + Instant.ofEpochMilli(end) + "\n" +
+                "Articles: " + count + "\n" +
+                "By Source: " + countsBySource + "\n" +
+                "Top Terms: " + topTerms + "\n";
+    }
+}
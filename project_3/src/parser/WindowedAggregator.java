@@ -0,0 +1,217 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+class WindowedAggregator implements Consumer<Article> {
+    private static final int MIN_DICTIONARY_SIZE = 64;
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "the", "and", "for", "with", "from", "that", "this", "are", "was", "has", "have", "its", "after", "about", "into", "over", "new"));
+
+    private final long sizeMillis;
+    private final long slideMillis;
+    private final long allowedLatenessMillis;
+    private final int termCapacity;
+    private final int topK;
+    private final Consumer<WindowResult> listener;
+
+    private final TreeMap<Long, Window> openWindows = new TreeMap<>();
+    private final Map<String, Integer> sourceIds = new HashMap<>();
+    private final List<String> sourceNames = new ArrayList<>();
+    private int compactAt = MIN_DICTIONARY_SIZE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private long dropped;
+
+    /**
+     * Creates an aggregation stage over windows of publishedAt.
+     *
+     * Windows of sizeMillis start every slideMillis; equal values give tumbling windows. A window is
+     * emitted once the newest publishedAt seen is more than allowedLatenessMillis past its end, so at
+     * most (size + lateness) / slide windows are open at once, each with a fixed-size term sketch. The
+     * dictionary of source names is compacted to the sources of the open windows whenever it has grown
+     * to twice that, so a long stream with many short-lived sources does not keep every name.
+     *
+     * @param sizeMillis            the length of each window.
+     * @param slideMillis           the distance between the starts of consecutive windows.
+     * @param allowedLatenessMillis how far behind the newest article an article may be and still count.
+     * @param termCapacity          the number of counters in each window's title term sketch.
+     * @param topK                  the number of top title terms to report per window.
+     * @param listener              receives each window when it closes.
+     */
+    WindowedAggregator(long sizeMillis, long slideMillis, long allowedLatenessMillis, int termCapacity, int topK,
+                       Consumer<WindowResult> listener) {
+        if (slideMillis <= 0 || sizeMillis < slideMillis) {
+            throw new IllegalArgumentException("Window size must be at least the slide, and the slide positive");
+        }
+        this.sizeMillis = sizeMillis;
+        this.slideMillis = slideMillis;
+        this.allowedLatenessMillis = allowedLatenessMillis;
+        this.termCapacity = termCapacity;
+        this.topK = topK;
+        this.listener = listener;
+    }
+
+    /**
+     * Adds a validated article to every open window covering its publishedAt, then emits the windows
+     * that can no longer receive articles. Articles without a readable date, or older than every window
+     * still open, are counted as dropped.
+     *
+     * @param article the article to aggregate.
+     */
+    @Override
+    public void accept(Article article) {
+        long timestamp = Timestamps.toEpochMillis(article.getPublishedAt());
+        if (timestamp == Timestamps.UNKNOWN) {
+            dropped++;
+            return;
+        }
+        long watermark = watermark();
+        long lastStart = Math.floorDiv(timestamp, slideMillis) * slideMillis;
+        if (lastStart + sizeMillis <= watermark) {
+            dropped++;
+            return;
+        }
+
+        int source = sourceId(article.getSource() == null ? null : article.getSource().getName());
+        List<String> terms = terms(article.getTitle());
+        for (long start = lastStart; start > timestamp - sizeMillis; start -= slideMillis) {
+            if (start + sizeMillis <= watermark) {
+                break;
+            }
+            Window window = openWindows.computeIfAbsent(start, s -> new Window(new SpaceSaving(termCapacity)));
+            window.count++;
+            window.sources.increment(source);
+            for (String term : terms) {
+                window.terms.add(term);
+            }
+        }
+
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        closeUpTo(watermark());
+    }
+
+    /**
+     * Emits every window that is still open, for when the input has ended.
+     */
+    void flush() {
+        closeUpTo(Long.MAX_VALUE);
+    }
+
+    /**
+     * Retrieves how many articles were dropped for being late or undated.
+     *
+     * @return the number of dropped articles.
+     */
+    long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Retrieves the number of source names in the dictionary.
+     *
+     * @return the dictionary size, which compaction keeps in proportion to the sources of the
+     *         open windows.
+     */
+    int getDictionarySize() {
+        return sourceNames.size();
+    }
+
+    private long watermark() {
+        return maxTimestamp == Long.MIN_VALUE ? Long.MIN_VALUE : maxTimestamp - allowedLatenessMillis;
+    }
+
+    private void closeUpTo(long watermark) {
+        Iterator<Map.Entry<Long, Window>> it = openWindows.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Window> entry = it.next();
+            long start = entry.getKey();
+            if (watermark != Long.MAX_VALUE && start + sizeMillis > watermark) {
+                break;
+            }
+            Window window = entry.getValue();
+            Map<String, Long> bySource = new LinkedHashMap<>();
+            for (int id : window.sources.keys()) {
+                bySource.put(sourceNames.get(id), window.sources.get(id));
+            }
+            it.remove();
+            listener.accept(new WindowResult(start, start + sizeMillis, window.count, bySource, window.terms.top(topK)));
+        }
+        if (sourceNames.size() >= compactAt) {
+            compactSources();
+        }
+    }
+
+    /**
+     * Rebuilds the source dictionary from the sources counted in the open windows, renumbering them in
+     * each window. The next compaction waits until the dictionary doubles, so the cost is amortized.
+     */
+    private void compactSources() {
+        sourceIds.clear();
+        List<String> names = new ArrayList<>(sourceNames);
+        sourceNames.clear();
+        for (Window window : openWindows.values()) {
+            IntCounter sources = new IntCounter();
+            for (int id : window.sources.keys()) {
+                sources.add(sourceId(names.get(id)), window.sources.get(id));
+            }
+            window.sources = sources;
+        }
+        compactAt = Math.max(MIN_DICTIONARY_SIZE, 2 * sourceNames.size());
+    }
+
+    private int sourceId(String name) {
+        String key = name == null ? "" : name;
+        Integer id = sourceIds.get(key);
+        if (id == null) {
+            id = sourceNames.size();
+            sourceIds.put(key, id);
+            sourceNames.add(key);
+        }
+        return id;
+    }
+
+    /**
+     * Splits a title into lower-case words of at least three letters or digits, leaving out stop words.
+     */
+    private static List<String> terms(String title) {
+        List<String> terms = new ArrayList<>();
+        if (title == null) {
+            return terms;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= title.length(); i++) {
+            char c = i < title.length() ? title.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                if (word.length() >= 3) {
+                    String term = word.toString();
+                    if (!STOP_WORDS.contains(term)) {
+                        terms.add(term);
+                    }
+                }
+                word.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    private static class Window {
+        private IntCounter sources = new IntCounter();
+        private final SpaceSaving terms;
+        private long count;
+
+        private Window(SpaceSaving terms) {
+            this.terms = terms;
+        }
+    }
+}
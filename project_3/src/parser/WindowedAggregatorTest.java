@@ -0,0 +1,163 @@
+package parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static parser.Main.fromFile;
+
+class WindowedAggregatorTest {
+
+    private static final long HOUR = 60 * 60 * 1000;
+
+    /**
+     * Tests hourly tumbling windows over the NewsAPI file, which lists the newest articles first.
+     * Verifies that with enough lateness allowed, counts add up to the input and each window reports
+     * its sources and terms.
+     */
+    @Test
+    void testTumblingWindows() throws IOException {
+        List<WindowResult> results = new ArrayList<>();
+        WindowedAggregator aggregator = new WindowedAggregator(HOUR, HOUR, 6 * HOUR, 64, 3, results::add);
+
+        new NewsParser(fromFile("inputs/example.json")).parse().forEach(aggregator);
+        aggregator.flush();
+
+        long total = 0;
+        for (WindowResult result : results) {
+            total += result.getCount();
+            assertEquals(HOUR, result.getEnd() - result.getStart());
+            assertEquals(result.getCount(), result.getCountsBySource().values().stream().mapToLong(Long::longValue).sum());
+            assertTrue(result.getTopTerms().size() <= 3);
+        }
+        assertEquals(new NewsParser(fromFile("inputs/example.json")).parse().size(), total);
+        assertEquals(0, aggregator.getDropped());
+    }
+
+    /**
+     * Tests that windows are emitted as soon as the watermark passes them, not only at the end.
+     */
+    @Test
+    void testEmitOnWindowClose() {
+        List<WindowResult> results = new ArrayList<>();
+        WindowedAggregator aggregator = new WindowedAggregator(HOUR, HOUR, 0, 16, 3, results::add);
+
+        aggregator.accept(article("CNN", "Vaccine news", "2021-03-24T10:10:00Z"));
+        aggregator.accept(article("CNN", "Vaccine rollout", "2021-03-24T10:50:00Z"));
+        assertTrue(results.isEmpty());
+
+        aggregator.accept(article("NPR", "Vaccine doses", "2021-03-24T11:05:00Z"));
+        assertEquals(1, results.size());
+        assertEquals(2, results.get(0).getCount());
+        assertEquals(Long.valueOf(2), results.get(0).getCountsBySource().get("CNN"));
+        assertEquals("vaccine", results.get(0).getTopTerms().get(0).getKey());
+
+        aggregator.accept(article("NPR", "Too late", "2021-03-24T10:59:00Z"));
+        assertEquals(1, aggregator.getDropped());
+    }
+
+    /**
+     * Tests that a sliding window counts an article in every window covering it.
+     */
+    @Test
+    void testSlidingWindows() {
+        List<WindowResult> results = new ArrayList<>();
+        WindowedAggregator aggregator = new WindowedAggregator(2 * HOUR, HOUR, 0, 16, 3, results::add);
+
+        aggregator.accept(article("CNN", "One", "2021-03-24T10:30:00Z"));
+        aggregator.flush();
+
+        assertEquals(2, results.size());
+        assertEquals(1, results.get(0).getCount());
+        assertEquals(1, results.get(1).getCount());
+    }
+
+    /**
+     * Tests that the Space-Saving sketch keeps the heavy hitters with a bounded number of counters.
+     */
+    @Test
+    void testSpaceSavingHeavyHitters() {
+        SpaceSaving sketch = new SpaceSaving(4);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("frequent");
+            sketch.add("term" + i);
+            if (i % 2 == 0) {
+                sketch.add("common");
+            }
+        }
+
+        assertEquals("frequent", sketch.top(2).get(0).getKey());
+        assertEquals("common", sketch.top(2).get(1).getKey());
+    }
+
+    /**
+     * Tests that every occurrence is counted once, that no tracked term is undercounted, and that the
+     * least counted term is the one replaced.
+     */
+    @Test
+    void testSpaceSavingCounts() {
+        SpaceSaving sketch = new SpaceSaving(8);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 20_000; i++) {
+            String term = "t" + (int) Math.abs(random.nextGaussian() * 3);
+            sketch.add(term);
+            exact.merge(term, 1L, Long::sum);
+        }
+
+        long total = 0;
+        for (Map.Entry<String, Long> entry : sketch.top(8)) {
+            total += entry.getValue();
+            assertTrue(entry.getValue() >= exact.get(entry.getKey()), entry.getKey());
+        }
+        assertEquals(20_000, total);
+        assertEquals("t0", sketch.top(1).get(0).getKey());
+
+        SpaceSaving small = new SpaceSaving(2);
+        small.add("a");
+        small.add("a");
+        small.add("b");
+        small.add("c");
+        assertEquals(Arrays.asList("a", "c"), Arrays.asList(small.top(2).get(0).getKey(), small.top(2).get(1).getKey()));
+        assertEquals(2L, small.top(2).get(1).getValue().longValue());
+    }
+
+    /**
+     * Tests that sources of closed windows are dropped from the dictionary while open windows keep
+     * their counts.
+     */
+    @Test
+    void testSourceDictionaryIsPruned() {
+        List<WindowResult> results = new ArrayList<>();
+        WindowedAggregator aggregator = new WindowedAggregator(HOUR, HOUR, 0, 4, 1, results::add);
+        long start = Instant.parse("2021-03-24T00:00:00Z").toEpochMilli();
+        for (int hour = 0; hour < 100; hour++) {
+            for (int i = 0; i < 10; i++) {
+                String publishedAt = Instant.ofEpochMilli(start + hour * HOUR + i).toString();
+                aggregator.accept(article("Source " + hour + "-" + i, "Title", publishedAt));
+            }
+            aggregator.accept(article("Steady", "Title", Instant.ofEpochMilli(start + hour * HOUR + 10).toString()));
+        }
+        assertTrue(aggregator.getDictionarySize() <= 64 + 11, "Dictionary of " + aggregator.getDictionarySize());
+
+        aggregator.flush();
+        assertEquals(100, results.size());
+        for (WindowResult result : results) {
+            assertEquals(11, result.getCount());
+            assertEquals(Long.valueOf(1), result.getCountsBySource().get("Steady"));
+            assertEquals(11, result.getCountsBySource().size());
+        }
+    }
+
+    private static Article article(String source, String title, String publishedAt) {
+        return new Article(new Source(null, source), null, title, "d", "u", null, publishedAt, null);
+    }
+}